@@ -36,6 +36,8 @@ import com.vaadin.shared.ui.Connect;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 
 /**
  * A connector for DataCommunicator class.
@@ -121,7 +123,8 @@ public class DataCommunicatorConnector extends AbstractExtensionConnector {
         }
 
         /**
-         * Updates row data based on row key.
+         * Updates row data based on row key. A row object that only contains
+         * some of the data of the row is merged into the previous row object.
          *
          * @param rowData
          *            new row object
@@ -130,12 +133,55 @@ public class DataCommunicatorConnector extends AbstractExtensionConnector {
             int index = indexOfKey(getRowKey(rowData));
             if (index >= 0) {
                 JsonObject oldRowData = getRow(index);
+                if (rowData.hasKey(DataCommunicatorConstants.PARTIAL)) {
+                    rowData = mergeRowData(rowData, oldRowData);
+                }
                 onRowDataUpdate(rowData, oldRowData);
 
                 setRowData(index, Collections.singletonList(rowData));
             }
         }
 
+        /**
+         * Creates a new row object with the data of the given partial row
+         * object added to the data of the previous row object. Values that are
+         * objects in both are merged by their keys.
+         *
+         * @param partialRowData
+         *            the partial row object
+         * @param oldRowData
+         *            the previous row object
+         * @return the merged row object
+         */
+        private JsonObject mergeRowData(JsonObject partialRowData,
+                JsonObject oldRowData) {
+            JsonObject rowData = Json.createObject();
+            for (String key : oldRowData.keys()) {
+                rowData.put(key, oldRowData.get(key));
+            }
+            for (String key : partialRowData.keys()) {
+                if (DataCommunicatorConstants.PARTIAL.equals(key)) {
+                    continue;
+                }
+                JsonValue value = partialRowData.get(key);
+                if (value.getType() == JsonType.OBJECT && rowData.hasKey(key)
+                        && rowData.get(key).getType() == JsonType.OBJECT) {
+                    JsonObject oldObject = rowData.getObject(key);
+                    JsonObject object = Json.createObject();
+                    for (String objectKey : oldObject.keys()) {
+                        object.put(objectKey, oldObject.get(objectKey));
+                    }
+                    JsonObject newObject = partialRowData.getObject(key);
+                    for (String objectKey : newObject.keys()) {
+                        object.put(objectKey, newObject.get(objectKey));
+                    }
+                    value = object;
+                }
+                rowData.put(key, value);
+            }
+            return rowData;
+        }
+
         /**
          * Inform the server of any dropped rows.
          */
@@ -96,7 +96,8 @@ public class ColumnConnector extends AbstractExtensionConnector {
                 final JsonObject rowData = row
                         .getObject(DataCommunicatorConstants.DATA);
 
-                if (rowData.hasKey(getConnectorId())) {
+                // Data of a column outside of the viewport may not be sent
+                if (rowData != null && rowData.hasKey(getConnectorId())) {
                     final JsonValue columnValue = rowData.get(getConnectorId());
 
                     return getRendererConnector().decode(columnValue);
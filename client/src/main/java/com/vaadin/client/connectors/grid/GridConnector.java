@@ -119,6 +119,9 @@ public class GridConnector extends AbstractListingConnector
     private List<ComponentConnector> childComponents;
     private ItemClickHandler itemClickHandler = new ItemClickHandler();
     private boolean rowHeightScheduled = false;
+    private boolean columnViewportScheduled = false;
+    /* Column ids last reported with columnViewportChanged */
+    private List<String> columnViewport = null;
 
     /**
      * Gets the string identifier of the given column in this grid.
@@ -299,6 +302,13 @@ public class GridConnector extends AbstractListingConnector
                     column.getWidthActual());
         });
 
+        // Report the horizontal viewport for column virtualization
+        grid.addScrollHandler(event -> updateColumnViewport());
+        grid.addColumnVisibilityChangeHandler(
+                event -> updateColumnViewport());
+        grid.addColumnReorderHandler(event -> updateColumnViewport());
+        grid.addColumnResizeHandler(event -> updateColumnViewport());
+
         // Handling row height changes
         grid.addRowHeightChangedHandler(event -> {
             getLayoutManager().setNeedsMeasureRecursively(GridConnector.this);
@@ -321,6 +331,67 @@ public class GridConnector extends AbstractListingConnector
                                 .toArray(size -> new Column[size])));
     }
 
+    /**
+     * Schedules sending the columns in or near the horizontal viewport to the
+     * server if column virtualization is enabled.
+     */
+    @OnStateChange({ "columnVirtualization", "frozenColumnCount" })
+    void updateColumnViewport() {
+        if (!getState().columnVirtualization) {
+            columnViewport = null;
+            return;
+        }
+        if (columnViewportScheduled) {
+            return;
+        }
+
+        Scheduler.get().scheduleFinally(() -> {
+            columnViewportScheduled = false;
+            List<String> viewport = getColumnViewport();
+            if (!viewport.equals(columnViewport)) {
+                columnViewport = viewport;
+                getRpcProxy(GridServerRpc.class)
+                        .columnViewportChanged(viewport);
+            }
+        });
+
+        columnViewportScheduled = true;
+    }
+
+    /**
+     * Gets the ids of the columns that intersect the horizontal viewport
+     * extended by half of its width on both sides, and of all frozen columns.
+     */
+    private List<String> getColumnViewport() {
+        Grid<JsonObject> grid = getWidget();
+        double width = grid.getOffsetWidth();
+        double start = grid.getScrollLeft() - width / 2;
+        double end = grid.getScrollLeft() + width * 1.5;
+        int frozenColumnCount = getState().frozenColumnCount;
+
+        List<String> viewport = new ArrayList<>();
+        double left = 0;
+        int index = 0;
+        for (Column<?, JsonObject> column : grid.getColumns()) {
+            String id = getColumnId(column);
+            if (id == null) {
+                // Selection column
+                left += column.getWidthActual();
+                continue;
+            }
+            boolean frozen = index++ < frozenColumnCount;
+            if (column.isHidden()) {
+                continue;
+            }
+            double right = left + column.getWidthActual();
+            if (frozen || (right >= start && left <= end)) {
+                viewport.add(id);
+            }
+            left = right;
+        }
+        return viewport;
+    }
+
     @OnStateChange("columnResizeMode")
     void updateColumnResizeMode() {
         getWidget().setColumnResizeMode(getState().columnResizeMode);
@@ -503,6 +574,7 @@ public class GridConnector extends AbstractListingConnector
         getWidget().addColumn(column);
         columnToIdMap.put(column, id);
         idToColumn.put(id, column);
+        updateColumnViewport();
     }
 
     /**
@@ -518,6 +590,7 @@ public class GridConnector extends AbstractListingConnector
         getWidget().removeColumn(column);
         String id = columnToIdMap.remove(column);
         idToColumn.remove(id);
+        updateColumnViewport();
     }
 
     /**
@@ -547,6 +620,7 @@ public class GridConnector extends AbstractListingConnector
     @Override
     public void layout() {
         getWidget().onResize();
+        updateColumnViewport();
     }
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A functional interface for validating values with slow checks, such as
+ * queries to a database or a remote service. Instead of the result itself, an
+ * asynchronous validator returns a future that is completed with the result
+ * once the validation is done.
+ * <p>
+ * Asynchronous validators are run by {@link Binder} outside of the session
+ * lock, so they must not access the UI or other session data. For instance,
+ * the following validator checks that a user name is not taken:
+ *
+ * <pre>
+ * AsyncValidator&lt;String&gt; v = (name, context) -&gt; CompletableFuture
+ *         .supplyAsync(() -&gt; userService.isTaken(name)
+ *                 ? ValidationResult.error("name is already taken")
+ *                 : ValidationResult.ok());
+ * </pre>
+ *
+ * @author Vaadin Ltd.
+ *
+ * @since 8.3
+ *
+ * @param <T>
+ *            the type of the value to validate
+ *
+ * @see Binder.BindingBuilder#withAsyncValidator(AsyncValidator)
+ */
+@FunctionalInterface
+public interface AsyncValidator<T> extends Serializable {
+
+    /**
+     * Starts validating the given value. Returns a future that is completed
+     * with the outcome of the validation. The method is not called while
+     * holding the session lock.
+     *
+     * @param value
+     *            the input value to validate
+     * @param context
+     *            the value context for validation
+     * @return the future validation result, not {@code null}
+     */
+    public CompletableFuture<ValidationResult> apply(T value,
+            ValueContext context);
+}
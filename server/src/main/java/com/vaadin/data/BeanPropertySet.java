@@ -19,8 +19,12 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,7 @@ import java.util.stream.Stream;
 
 import com.vaadin.data.util.BeanUtil;
 import com.vaadin.server.Setter;
+import com.vaadin.util.ReflectTools;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
@@ -106,6 +111,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
     private static class BeanPropertyDefinition<T, V>
             extends AbstractBeanPropertyDefinition<T, V> {
 
+        private transient PropertyAccessor accessor;
+
         public BeanPropertyDefinition(BeanPropertySet<T> propertySet,
                 Class<T> propertyHolderType, PropertyDescriptor descriptor) {
             super(propertySet, propertyHolderType, descriptor);
@@ -113,11 +120,7 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
-                return getType().cast(value);
-            };
+            return bean -> getType().cast(getAccessor().getValue(bean));
         }
 
         @Override
@@ -126,17 +129,18 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
-            };
+            Setter<T, V> setter = (bean, value) -> getAccessor()
+                    .setValue(bean, value);
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         private Object writeReplace() {
             /*
              * Instead of serializing this actual property definition, only
@@ -170,6 +174,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        private transient PropertyAccessor accessor;
+
         public NestedBeanPropertyDefinition(BeanPropertySet<T> propertySet,
                 PropertyDefinition<T, ?> parent,
                 PropertyDescriptor descriptor) {
@@ -179,12 +185,9 @@ public class BeanPropertySet<T> implements PropertySet<T> {
       
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
-                return getType().cast(value);
-            };
+            ValueProvider<T, ?> parentGetter = parent.getGetter();
+            return bean -> getType().cast(
+                    getAccessor().getValue(parentGetter.apply(bean)));
         }
 
         @Override
@@ -193,18 +196,19 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
-            };
+            ValueProvider<T, ?> parentGetter = parent.getGetter();
+            Setter<T, V> setter = (bean, value) -> getAccessor()
+                    .setValue(parentGetter.apply(bean), value);
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         @Override
         public String getName() {
             return parent.getName() + "." + super.getName();
@@ -236,6 +240,123 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         }
     }
 
+    /**
+     * Invokes the read and write methods of a bean property. When possible,
+     * the methods are called through functions generated with
+     * {@link LambdaMetafactory}, which are as fast as direct method calls.
+     * Otherwise, for instance if the bean class is not public, method handles
+     * are used instead. Both are considerably faster than reflection.
+     */
+    private static class PropertyAccessor implements Serializable {
+
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles
+                .lookup();
+
+        private final ValueProvider<Object, Object> getter;
+        private final Setter<Object, Object> setter;
+
+        private PropertyAccessor(PropertyDescriptor descriptor) {
+            try {
+                getter = createGetter(descriptor.getReadMethod());
+                Method writeMethod = descriptor.getWriteMethod();
+                setter = writeMethod == null ? null
+                        : createSetter(writeMethod);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private Object getValue(Object bean) {
+            return getter.apply(bean);
+        }
+
+        private void setValue(Object bean, Object value) {
+            setter.accept(bean, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ValueProvider<Object, Object> createGetter(Method method)
+                throws IllegalAccessException {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (canGenerate(method, method.getReturnType())) {
+                try {
+                    return (ValueProvider<Object, Object>) LambdaMetafactory
+                            .metafactory(LOOKUP, "apply",
+                                    MethodType.methodType(ValueProvider.class),
+                                    MethodType.methodType(Object.class,
+                                            Object.class),
+                                    handle,
+                                    MethodType.methodType(Object.class,
+                                            method.getDeclaringClass()))
+                            .getTarget().invoke();
+                } catch (Throwable e) {
+                    // Fall back to the method handle
+                }
+            }
+
+            MethodHandle getter = handle.asType(
+                    MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return getter.invokeExact(bean);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Setter<Object, Object> createSetter(Method method)
+                throws IllegalAccessException {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            Class<?> valueType = method.getParameterTypes()[0];
+            if (canGenerate(method, valueType)) {
+                try {
+                    return (Setter<Object, Object>) LambdaMetafactory
+                            .metafactory(LOOKUP, "accept",
+                                    MethodType.methodType(Setter.class),
+                                    MethodType.methodType(void.class,
+                                            Object.class, Object.class),
+                                    handle,
+                                    MethodType.methodType(void.class,
+                                            method.getDeclaringClass(),
+                                            ReflectTools.convertPrimitiveType(
+                                                    valueType)))
+                            .getTarget().invoke();
+                } catch (Throwable e) {
+                    // Fall back to the method handle
+                }
+            }
+
+            MethodHandle setter = handle.asType(MethodType
+                    .methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    setter.invokeExact(bean, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        /*
+         * The generated class is defined in the class loader of this class, so
+         * all types it refers to must be visible from there.
+         */
+        private static boolean canGenerate(Method method, Class<?> valueType) {
+            ClassLoader classLoader = BeanPropertySet.class.getClassLoader();
+            return Modifier.isPublic(method.getModifiers())
+                    && ReflectTools.isPublicAndVisible(
+                            method.getDeclaringClass(), classLoader)
+                    && ReflectTools.isPublicAndVisible(valueType,
+                            classLoader);
+        }
+    }
+
     /**
      * Key for identifying cached BeanPropertySet instances.
      *
@@ -491,15 +612,6 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 && readMethod.getDeclaringClass() != Object.class;
     }
 
-    private static Object invokeWrapExceptions(Method method, Object target,
-            Object... parameters) {
-        try {
-            return method.invoke(target, parameters);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     @Override
     public String toString() {
         return "Property set for bean " + beanType.getName();
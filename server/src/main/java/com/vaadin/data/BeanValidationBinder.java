@@ -15,6 +15,14 @@
  */
 package com.vaadin.data;
 
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
 import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.ConstraintDescriptor;
 import javax.validation.metadata.PropertyDescriptor;
@@ -32,6 +40,13 @@ import com.vaadin.data.validator.BeanValidator;
  */
 public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
 
+    /**
+     * The constraint annotations of the constrained properties of each bean
+     * type, shared by all binders. Looking them up from the JSR-303 metadata
+     * is slow compared to the rest of the binding configuration.
+     */
+    private static final ConcurrentMap<Class<?>, Map<String, List<Annotation>>> CONSTRAINT_ANNOTATIONS = new ConcurrentHashMap<>();
+
     private final Class<BEAN> beanType;
 
     private RequiredFieldConfigurator requiredConfigurator = RequiredFieldConfigurator.DEFAULT;
@@ -128,19 +143,27 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
     private void configureRequired(BindingBuilder<BEAN, ?> binding,
             PropertyDefinition<BEAN, ?> definition, BeanValidator validator) {
         assert requiredConfigurator != null;
-        Class<?> propertyHolderType = definition.getPropertyHolderType();
-        BeanDescriptor descriptor = validator.getJavaxBeanValidator()
-                .getConstraintsForClass(propertyHolderType);
-        PropertyDescriptor propertyDescriptor = descriptor
-                .getConstraintsForProperty(definition.getTopLevelName());
-        if (propertyDescriptor == null) {
-            return;
-        }
-        if (propertyDescriptor.getConstraintDescriptors().stream()
-                .map(ConstraintDescriptor::getAnnotation)
-                .anyMatch(requiredConfigurator)) {
+        Map<String, List<Annotation>> constraints = CONSTRAINT_ANNOTATIONS
+                .computeIfAbsent(definition.getPropertyHolderType(),
+                        type -> findConstraintAnnotations(type, validator));
+        List<Annotation> annotations = constraints.getOrDefault(
+                definition.getTopLevelName(), Collections.emptyList());
+        if (annotations.stream().anyMatch(requiredConfigurator)) {
             binding.getField().setRequiredIndicatorVisible(true);
         }
     }
 
+    private static Map<String, List<Annotation>> findConstraintAnnotations(
+            Class<?> propertyHolderType, BeanValidator validator) {
+        BeanDescriptor descriptor = validator.getJavaxBeanValidator()
+                .getConstraintsForClass(propertyHolderType);
+        return descriptor.getConstrainedProperties().stream()
+                .collect(Collectors.toMap(PropertyDescriptor::getPropertyName,
+                        property -> property.getConstraintDescriptors()
+                                .stream()
+                                .<Annotation> map(
+                                        ConstraintDescriptor::getAnnotation)
+                                .collect(Collectors.toList())));
+    }
+
 }
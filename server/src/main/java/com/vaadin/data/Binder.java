@@ -32,7 +32,18 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,6 +60,7 @@ import com.vaadin.server.SerializableFunction;
 import com.vaadin.server.SerializablePredicate;
 import com.vaadin.server.Setter;
 import com.vaadin.server.UserError;
+import com.vaadin.server.VaadinService;
 import com.vaadin.shared.Registration;
 import com.vaadin.shared.ui.ErrorLevel;
 import com.vaadin.ui.AbstractComponent;
@@ -415,6 +427,45 @@ public class Binder<BEAN> implements Serializable {
                     errorLevel));
         }
 
+        /**
+         * Adds an asynchronous validator to this binding. Asynchronous
+         * validators are meant for slow checks, such as queries to a backend
+         * service. They are run after all other validators and converters of
+         * the binding have passed.
+         * <p>
+         * Asynchronous validators are started using the
+         * {@link Binder#setAsyncValidationExecutor(Executor) executor} of the
+         * binder once the field value has not changed for the
+         * {@link Binder#setAsyncValidationDelay(long) validation delay}, and
+         * they run without holding the session lock. Until they complete, the
+         * validation status of the binding is
+         * {@link BindingValidationStatus.Status#PENDING PENDING} and the value
+         * is not written to the bean. Once they complete, the result is applied
+         * through {@link UI#access(Runnable)} if the field is attached to a UI.
+         * {@link Binder#writeBean(Object)} and
+         * {@link Binder#writeBeanIfValid(Object)} don't write pending values;
+         * they only wait for the asynchronous validators if a
+         * {@link Binder#setAsyncValidationTimeout(long) validation timeout} has
+         * been set. A validator that throws an exception fails with the
+         * {@link Binder#setAsyncValidationErrorMessage(String) error message}
+         * of the binder.
+         * <p>
+         * If a converter is added after an asynchronous validator, the
+         * validator is given the converted value converted back with
+         * {@link Converter#convertToPresentation(Object, ValueContext)}.
+         *
+         * @see AsyncValidator
+         *
+         * @param validator
+         *            the asynchronous validator to add, not null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         * @since 8.3
+         */
+        public BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator);
+
         /**
          * Maps the binding to another data type using the given
          * {@link Converter}.
@@ -703,6 +754,8 @@ public class Binder<BEAN> implements Serializable {
          */
         private Converter<FIELDVALUE, ?> converterValidatorChain;
 
+        private final List<AsyncValidator<? super TARGET>> asyncValidators = new ArrayList<>();
+
         /**
          * Creates a new binding builder associated with the given field.
          * Initializes the builder with the given converter chain and status
@@ -739,6 +792,8 @@ public class Binder<BEAN> implements Serializable {
             getBinder().bindings.add(binding);
             if (getBinder().getBean() != null) {
                 binding.initFieldValue(getBinder().getBean());
+            } else if (getBinder().lastReadBean != null) {
+                getBinder().unreadBindings.add(binding);
             }
             getBinder().fireStatusChangeEvent(false);
 
@@ -802,6 +857,16 @@ public class Binder<BEAN> implements Serializable {
             return this;
         }
 
+        @Override
+        public BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator) {
+            checkUnbound();
+            Objects.requireNonNull(validator, "validator cannot be null");
+
+            asyncValidators.add(validator);
+            return this;
+        }
+
         @Override
         public <NEWTARGET> BindingBuilder<BEAN, NEWTARGET> withConverter(
                 Converter<TARGET, NEWTARGET> converter) {
@@ -866,7 +931,19 @@ public class Binder<BEAN> implements Serializable {
             converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) converterValidatorChain)
                     .chain(converter);
 
-            return (BindingBuilder<BEAN, NEWTARGET>) this;
+            BindingBuilderImpl<BEAN, FIELDVALUE, NEWTARGET> builder = (BindingBuilderImpl<BEAN, FIELDVALUE, NEWTARGET>) this;
+            if (!asyncValidators.isEmpty()) {
+                // The validators check values of the previous type
+                List<AsyncValidator<? super TARGET>> validators = new ArrayList<>(
+                        asyncValidators);
+                builder.asyncValidators.clear();
+                validators.forEach(validator -> builder.asyncValidators
+                        .add((value, context) -> validator.apply(
+                                converter.convertToPresentation(value,
+                                        context),
+                                context)));
+            }
+            return builder;
         }
 
         /**
@@ -930,6 +1007,20 @@ public class Binder<BEAN> implements Serializable {
          */
         private final Converter<FIELDVALUE, TARGET> converterValidatorChain;
 
+        private final List<AsyncValidator<? super TARGET>> asyncValidators;
+
+        /*
+         * Incremented whenever pending asynchronous validation is cancelled,
+         * so that outdated validation tasks and results are ignored.
+         */
+        private transient volatile int asyncValidationRound;
+
+        private transient CompletableFuture<List<ValidationResult>> pendingAsyncValidation;
+        private transient TARGET pendingAsyncValue;
+
+        private transient TARGET asyncValidatedValue;
+        private transient List<ValidationResult> asyncValidationResults;
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 SerializableFunction<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -937,6 +1028,7 @@ public class Binder<BEAN> implements Serializable {
             this.field = builder.field;
             this.statusHandler = builder.statusHandler;
             converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) builder.converterValidatorChain);
+            asyncValidators = new ArrayList<>(builder.asyncValidators);
 
             onValueChange = getField()
                     .addValueChangeListener(this::handleFieldValueChange);
@@ -992,6 +1084,7 @@ public class Binder<BEAN> implements Serializable {
          */
         @Override
         public void unbind() {
+            cancelAsyncValidation();
             if (onValueChange != null) {
                 onValueChange.remove();
                 onValueChange = null;
@@ -1024,10 +1117,214 @@ public class Binder<BEAN> implements Serializable {
          * but doesn't pass the {@link BindingValidationStatus} to any status
          * handler.
          *
+         * The asynchronous validators are started if they have not yet
+         * validated the current value. The status is
+         * {@link BindingValidationStatus.Status#PENDING PENDING} until they
+         * complete.
+         *
          * @return the validation status
          */
         private BindingValidationStatus<TARGET> doValidation() {
-            return toValidationStatus(doConversion());
+            Result<TARGET> result = doConversion();
+            if (asyncValidators.isEmpty()) {
+                return toValidationStatus(result);
+            }
+            if (result.isError()) {
+                cancelAsyncValidation();
+                return toValidationStatus(result);
+            }
+
+            TARGET value = result.getOrThrow(IllegalStateException::new);
+            if (isAsyncValidated(value)) {
+                return toValidationStatus(
+                        withAsyncValidationResults(result));
+            }
+            if (pendingAsyncValidation == null
+                    || !Objects.equals(pendingAsyncValue, value)) {
+                startAsyncValidation(value);
+            }
+            return BindingValidationStatus.createPendingStatus(this);
+        }
+
+        private boolean isAsyncValidated(TARGET value) {
+            return asyncValidationResults != null
+                    && Objects.equals(asyncValidatedValue, value);
+        }
+
+        private Result<TARGET> withAsyncValidationResults(
+                Result<TARGET> result) {
+            for (ValidationResult validationResult : asyncValidationResults) {
+                result = result.flatMap(value -> new ValidationResultWrap<>(
+                        value, validationResult));
+            }
+            return result;
+        }
+
+        /**
+         * Starts the asynchronous validation of the given value after the
+         * validation delay of the binder. The result is applied through
+         * {@link UI#access(Runnable)} if a UI is available.
+         *
+         * @param value
+         *            the value to validate
+         */
+        private void startAsyncValidation(TARGET value) {
+            cancelAsyncValidation();
+            int round = asyncValidationRound;
+            CompletableFuture<List<ValidationResult>> validation = runAsyncValidators(
+                    value, round, getBinder().getAsyncValidationDelay());
+            completeWhenDone(validation, round, value);
+        }
+
+        /**
+         * Sets the given validation as the pending validation of the binding
+         * and applies its results once it completes.
+         *
+         * @param validation
+         *            the validation in progress
+         * @param round
+         *            the validation round of the validation
+         * @param value
+         *            the value being validated
+         */
+        private void completeWhenDone(
+                CompletableFuture<List<ValidationResult>> validation, int round,
+                TARGET value) {
+            pendingAsyncValue = value;
+            pendingAsyncValidation = validation;
+
+            UI ui = findUI();
+            validation.thenAccept(results -> {
+                if (ui != null && ui.getSession() != null) {
+                    ui.access(() -> completeAsyncValidation(round, value,
+                            results));
+                } else {
+                    completeAsyncValidation(round, value, results);
+                }
+            });
+        }
+
+        /**
+         * Runs the asynchronous validators for the current field value unless
+         * they have already validated it, and waits for them to complete. If
+         * they don't complete within the validation timeout of the binder, the
+         * validation is left pending and its results are applied once it
+         * completes. With no timeout, the validation is only started.
+         */
+        private void awaitAsyncValidation() {
+            if (asyncValidators.isEmpty()) {
+                return;
+            }
+            Result<TARGET> result = doConversion();
+            if (result.isError()) {
+                return;
+            }
+            TARGET value = result.getOrThrow(IllegalStateException::new);
+            if (isAsyncValidated(value)) {
+                return;
+            }
+
+            cancelAsyncValidation();
+            int round = asyncValidationRound;
+            CompletableFuture<List<ValidationResult>> validation = runAsyncValidators(
+                    value, round, 0);
+            long timeout = getBinder().getAsyncValidationTimeout();
+            if (timeout == 0 && !validation.isDone()) {
+                completeWhenDone(validation, round, value);
+                return;
+            }
+            List<ValidationResult> results;
+            try {
+                results = validation.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                completeWhenDone(validation, round, value);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                completeWhenDone(validation, round, value);
+                return;
+            } catch (ExecutionException e) {
+                // Validator failures are turned into results, see
+                // applyAsyncValidator
+                throw new IllegalStateException(e.getCause());
+            }
+            asyncValidatedValue = value;
+            asyncValidationResults = results;
+        }
+
+        private CompletableFuture<List<ValidationResult>> runAsyncValidators(
+                TARGET value, int round, long delay) {
+            ValueContext context = createValueContext();
+            String errorMessage = getBinder().getAsyncValidationErrorMessage();
+            CompletableFuture<List<ValidationResult>> validation = new CompletableFuture<>();
+            getBinder().scheduleAsyncValidation(() -> {
+                if (round != asyncValidationRound) {
+                    // The value has changed while waiting for the delay
+                    validation.cancel(false);
+                    return;
+                }
+                List<CompletableFuture<ValidationResult>> futures = asyncValidators
+                        .stream()
+                        .map(validator -> applyAsyncValidator(validator, value,
+                                context, errorMessage))
+                        .collect(Collectors.toList());
+                CompletableFuture
+                        .allOf(futures.toArray(
+                                new CompletableFuture<?>[futures.size()]))
+                        .thenRun(() -> validation.complete(futures.stream()
+                                .map(CompletableFuture::join)
+                                .collect(Collectors.toList())));
+            }, delay);
+            return validation;
+        }
+
+        private CompletableFuture<ValidationResult> applyAsyncValidator(
+                AsyncValidator<? super TARGET> validator, TARGET value,
+                ValueContext context, String errorMessage) {
+            CompletableFuture<ValidationResult> result;
+            try {
+                result = validator.apply(value, context);
+            } catch (RuntimeException e) {
+                result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+            }
+            return result.exceptionally(e -> {
+                getLogger().log(Level.WARNING,
+                        "Asynchronous validation failed", e);
+                return ValidationResult.error(errorMessage);
+            });
+        }
+
+        private void completeAsyncValidation(int round, TARGET value,
+                List<ValidationResult> results) {
+            if (round != asyncValidationRound || binder == null) {
+                return;
+            }
+            pendingAsyncValidation = null;
+            pendingAsyncValue = null;
+            asyncValidatedValue = value;
+            asyncValidationResults = results;
+            getBinder().handleAsyncValidationComplete(this);
+        }
+
+        /**
+         * Cancels any pending asynchronous validation.
+         */
+        private void cancelAsyncValidation() {
+            asyncValidationRound++;
+            pendingAsyncValidation = null;
+            pendingAsyncValue = null;
+        }
+
+        private UI findUI() {
+            UI ui = null;
+            if (getField() instanceof Component) {
+                ui = ((Component) getField()).getUI();
+            }
+            if (ui == null) {
+                ui = UI.getCurrent();
+            }
+            return ui;
         }
 
         /**
@@ -1054,6 +1351,9 @@ public class Binder<BEAN> implements Serializable {
         private void initFieldValue(BEAN bean) {
             assert bean != null;
             assert onValueChange != null;
+            cancelAsyncValidation();
+            asyncValidationResults = null;
+            asyncValidatedValue = null;
             onValueChange.remove();
             try {
                 getField().setValue(convertDataToFieldType(bean));
@@ -1197,6 +1497,30 @@ public class Binder<BEAN> implements Serializable {
         }
     }
 
+    /**
+     * The default delay in milliseconds before asynchronous validation is
+     * started after a field value has changed.
+     *
+     * @since 8.3
+     */
+    public static final long DEFAULT_ASYNC_VALIDATION_DELAY = 300;
+
+    /**
+     * The default time in milliseconds to wait for asynchronous validation
+     * when writing a bean. By default, pending validation is not waited for.
+     *
+     * @since 8.3
+     */
+    public static final long DEFAULT_ASYNC_VALIDATION_TIMEOUT = 0;
+
+    /**
+     * The default error message shown when an asynchronous validator fails
+     * with an exception.
+     *
+     * @since 8.3
+     */
+    public static final String DEFAULT_ASYNC_VALIDATION_ERROR_MESSAGE = "Validation failed";
+
     private final PropertySet<BEAN> propertySet;
 
     /**
@@ -1208,6 +1532,12 @@ public class Binder<BEAN> implements Serializable {
 
     private BEAN bean;
 
+    /**
+     * The bean last read with {@link #readBean(Object)}. Only the changed
+     * bindings need to be written back to it.
+     */
+    private BEAN lastReadBean;
+
     private final Collection<Binding<BEAN, ?>> bindings = new ArrayList<>();
 
     private final Map<HasValue<?>, BindingBuilder<BEAN, ?>> incompleteBindings = new IdentityHashMap<>();
@@ -1224,6 +1554,29 @@ public class Binder<BEAN> implements Serializable {
 
     private Set<Binding<BEAN, ?>> changedBindings = new LinkedHashSet<>();
 
+    /**
+     * Bindings created after the last {@link #readBean(Object)}. Their fields
+     * don't show the values of the bean, so they are written back to it like
+     * changed bindings.
+     */
+    private final Set<Binding<BEAN, ?>> unreadBindings = new LinkedHashSet<>();
+
+    private transient Executor asyncValidationExecutor;
+
+    private long asyncValidationDelay = DEFAULT_ASYNC_VALIDATION_DELAY;
+
+    private long asyncValidationTimeout = DEFAULT_ASYNC_VALIDATION_TIMEOUT;
+
+    private String asyncValidationErrorMessage = DEFAULT_ASYNC_VALIDATION_ERROR_MESSAGE;
+
+    /**
+     * Timers for starting asynchronous validation after the validation delay,
+     * by service. A timer is created lazily and shut down when its service is
+     * destroyed. The {@code null} key is used when there is no current
+     * service.
+     */
+    private static final Map<VaadinService, ScheduledExecutorService> ASYNC_VALIDATION_TIMERS = new WeakHashMap<>();
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1260,6 +1613,202 @@ public class Binder<BEAN> implements Serializable {
         }
     }
 
+    /**
+     * Handles the completion of the asynchronous validators of a binding.
+     * Writes the changed values to the bean if a bean is set with
+     * {@link #setBean(Object)}, otherwise validates the binding again so that
+     * the result is shown.
+     *
+     * @param binding
+     *            the binding whose asynchronous validation has completed
+     */
+    private void handleAsyncValidationComplete(Binding<BEAN, ?> binding) {
+        if (getBean() != null) {
+            doWriteIfValid(getBean(), changedBindings);
+        } else {
+            binding.validate();
+        }
+    }
+
+    /**
+     * Sets the executor used to run the asynchronous validators of the
+     * bindings. The validators are run without holding the session lock. By
+     * default, {@link ForkJoinPool#commonPool()} is used.
+     *
+     * @see BindingBuilder#withAsyncValidator(AsyncValidator)
+     *
+     * @param executor
+     *            the executor for asynchronous validation, not {@code null}
+     * @since 8.3
+     */
+    public void setAsyncValidationExecutor(Executor executor) {
+        Objects.requireNonNull(executor, "executor cannot be null");
+        asyncValidationExecutor = executor;
+    }
+
+    /**
+     * Gets the executor used to run the asynchronous validators of the
+     * bindings.
+     *
+     * @return the executor for asynchronous validation, not {@code null}
+     * @since 8.3
+     */
+    public Executor getAsyncValidationExecutor() {
+        if (asyncValidationExecutor == null) {
+            // Not serialized, falls back to the default after deserialization
+            return ForkJoinPool.commonPool();
+        }
+        return asyncValidationExecutor;
+    }
+
+    /**
+     * Sets the time to wait after a field value has changed before starting
+     * the asynchronous validators of its binding. If the value changes again
+     * during the delay, only the latest value is validated. The default delay
+     * is {@value #DEFAULT_ASYNC_VALIDATION_DELAY} milliseconds.
+     * <p>
+     * {@link #writeBean(Object)} and {@link #writeBeanIfValid(Object)} start
+     * pending validation immediately, regardless of the delay.
+     *
+     * @see BindingBuilder#withAsyncValidator(AsyncValidator)
+     *
+     * @param delay
+     *            the delay in milliseconds, zero to validate immediately
+     * @throws IllegalArgumentException
+     *             if the delay is negative
+     * @since 8.3
+     */
+    public void setAsyncValidationDelay(long delay) {
+        if (delay < 0) {
+            throw new IllegalArgumentException(
+                    "Validation delay cannot be negative: " + delay);
+        }
+        asyncValidationDelay = delay;
+    }
+
+    /**
+     * Gets the time to wait after a field value has changed before starting
+     * the asynchronous validators of its binding.
+     *
+     * @return the delay in milliseconds
+     * @since 8.3
+     */
+    public long getAsyncValidationDelay() {
+        return asyncValidationDelay;
+    }
+
+    /**
+     * Sets the maximum time {@link #writeBean(Object)} and
+     * {@link #writeBeanIfValid(Object)} wait for asynchronous validators to
+     * complete. By default, they don't wait at all but start any pending
+     * validation and report the write as failed while it is pending.
+     * <p>
+     * The bean is written while holding the session lock, so no other request
+     * of the session can be handled while waiting. If the validators don't
+     * complete in time, the validation is left pending: the bean is not
+     * written and the results are applied once the validators complete.
+     *
+     * @param timeout
+     *            the timeout in milliseconds, zero to not wait at all
+     * @throws IllegalArgumentException
+     *             if the timeout is negative
+     * @since 8.3
+     */
+    public void setAsyncValidationTimeout(long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException(
+                    "Validation timeout cannot be negative: " + timeout);
+        }
+        asyncValidationTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum time to wait for asynchronous validators to complete
+     * when writing a bean.
+     *
+     * @return the timeout in milliseconds
+     * @since 8.3
+     */
+    public long getAsyncValidationTimeout() {
+        return asyncValidationTimeout;
+    }
+
+    /**
+     * Sets the error message of the validation result used when an
+     * asynchronous validator fails with an exception or returns a future that
+     * completes exceptionally. The exception is logged. The default message is
+     * {@value #DEFAULT_ASYNC_VALIDATION_ERROR_MESSAGE}.
+     *
+     * @param errorMessage
+     *            the error message, not {@code null}
+     * @since 8.3
+     */
+    public void setAsyncValidationErrorMessage(String errorMessage) {
+        Objects.requireNonNull(errorMessage,
+                "error message cannot be null");
+        asyncValidationErrorMessage = errorMessage;
+    }
+
+    /**
+     * Gets the error message used when an asynchronous validator fails with
+     * an exception.
+     *
+     * @return the error message, not {@code null}
+     * @since 8.3
+     */
+    public String getAsyncValidationErrorMessage() {
+        return asyncValidationErrorMessage;
+    }
+
+    private void scheduleAsyncValidation(Runnable task, long delay) {
+        Executor executor = getAsyncValidationExecutor();
+        if (delay == 0) {
+            executor.execute(task);
+        } else {
+            getAsyncValidationTimer().schedule(() -> executor.execute(task),
+                    delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static ScheduledExecutorService getAsyncValidationTimer() {
+        VaadinService service = VaadinService.getCurrent();
+        synchronized (ASYNC_VALIDATION_TIMERS) {
+            ScheduledExecutorService timer = ASYNC_VALIDATION_TIMERS
+                    .get(service);
+            if (timer == null) {
+                ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                        1, runnable -> {
+                            Thread thread = new Thread(runnable,
+                                    "Binder async validation timer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                // The thread must not outlive the pending validations, even
+                // if the timer is never shut down
+                executor.setKeepAliveTime(1, TimeUnit.SECONDS);
+                executor.allowCoreThreadTimeOut(true);
+                timer = executor;
+                ASYNC_VALIDATION_TIMERS.put(service, timer);
+
+                if (service != null) {
+                    service.addServiceDestroyListener(
+                            event -> shutdownAsyncValidationTimer(service));
+                }
+            }
+            return timer;
+        }
+    }
+
+    private static void shutdownAsyncValidationTimer(VaadinService service) {
+        ScheduledExecutorService timer;
+        synchronized (ASYNC_VALIDATION_TIMERS) {
+            timer = ASYNC_VALIDATION_TIMERS.remove(service);
+        }
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
     /**
      * Creates a new binder that uses reflection based on the provided bean type
      * to resolve bean properties.
@@ -1569,7 +2118,9 @@ public class Binder<BEAN> implements Serializable {
             clearFields();
         } else {
             changedBindings.clear();
+            unreadBindings.clear();
             getBindings().forEach(binding -> binding.initFieldValue(bean));
+            lastReadBean = bean;
             getValidationStatusHandler().statusChange(
                     BinderValidationStatus.createUnresolvedStatus(this));
             fireStatusChangeEvent(false);
@@ -1587,6 +2138,14 @@ public class Binder<BEAN> implements Serializable {
      * level validators are run on the updated bean. If any bean level validator
      * fails, the bean updates are reverted and a {@code ValidationException} is
      * thrown.
+     * <p>
+     * If the bean is the one last read with {@link #readBean(Object)}, only
+     * the values of the fields that have changed since are written.
+     * <p>
+     * If asynchronous validation is still pending for some fields after the
+     * {@link #setAsyncValidationTimeout(long) validation timeout}, no values
+     * are written and a {@code ValidationException} listing the pending
+     * fields is thrown.
      *
      * @see #writeBeanIfValid(Object)
      * @see #readBean(Object)
@@ -1596,14 +2155,19 @@ public class Binder<BEAN> implements Serializable {
      *            the object to which to write the field values, not
      *            {@code null}
      * @throws ValidationException
-     *             if some of the bound field values fail to validate
+     *             if some of the bound field values fail to validate or their
+     *             validation is pending
      */
     public void writeBean(BEAN bean) throws ValidationException {
+        awaitAsyncValidation();
         BinderValidationStatus<BEAN> status = doWriteIfValid(bean,
-                new ArrayList<>(bindings));
-        if (status.hasErrors()) {
+                new ArrayList<>(bindings), getBindingsToWrite(bean));
+        if (!status.isOk()) {
             throw new ValidationException(status.getFieldValidationErrors(),
-                    status.getBeanValidationErrors());
+                    status.getBeanValidationErrors(),
+                    status.getFieldValidationStatuses().stream()
+                            .filter(BindingValidationStatus::isPending)
+                            .collect(Collectors.toList()));
         }
     }
 
@@ -1617,6 +2181,13 @@ public class Binder<BEAN> implements Serializable {
      * If all field level validators pass, the given bean is updated and bean
      * level validators are run on the updated bean. If any bean level validator
      * fails, the bean updates are reverted and <code>false</code> is returned.
+     * <p>
+     * If the bean is the one last read with {@link #readBean(Object)}, only
+     * the values of the fields that have changed since are written.
+     * <p>
+     * If asynchronous validation is still pending for some fields after the
+     * {@link #setAsyncValidationTimeout(long) validation timeout}, no values
+     * are written and <code>false</code> is returned.
      *
      * @see #writeBean(Object)
      * @see #readBean(Object)
@@ -1629,7 +2200,37 @@ public class Binder<BEAN> implements Serializable {
      *         updated, {@code false} otherwise
      */
     public boolean writeBeanIfValid(BEAN bean) {
-        return doWriteIfValid(bean, new ArrayList<>(bindings)).isOk();
+        awaitAsyncValidation();
+        return doWriteIfValid(bean, new ArrayList<>(bindings),
+                getBindingsToWrite(bean)).isOk();
+    }
+
+    /**
+     * Gets the bindings whose values to write to the given bean. The other
+     * properties of the bean last read with {@link #readBean(Object)} already
+     * have the values of the unchanged fields that were bound when it was
+     * read.
+     *
+     * @param bean
+     *            the bean to write to
+     * @return the bindings to write
+     */
+    private Collection<Binding<BEAN, ?>> getBindingsToWrite(BEAN bean) {
+        if (bean == lastReadBean) {
+            Set<Binding<BEAN, ?>> bindingsToWrite = new LinkedHashSet<>(
+                    changedBindings);
+            bindingsToWrite.addAll(unreadBindings);
+            return bindingsToWrite;
+        }
+        return new ArrayList<>(bindings);
+    }
+
+    /**
+     * Runs the pending asynchronous validators of all bindings and waits for
+     * them to complete, at most for the validation timeout.
+     */
+    private void awaitAsyncValidation() {
+        getBindings().forEach(BindingImpl::awaitAsyncValidation);
     }
 
     /**
@@ -1646,9 +2247,33 @@ public class Binder<BEAN> implements Serializable {
      * @return a list of field validation errors if such occur, otherwise a list
      *         of bean validation errors.
      */
-    @SuppressWarnings({ "unchecked" })
     private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
             Collection<Binding<BEAN, ?>> bindings) {
+        return doWriteIfValid(bean, bindings, bindings);
+    }
+
+    /**
+     * Writes the field values of the given bindings into the given bean if all
+     * field level validators of the validated bindings pass. Runs bean level
+     * validators on the bean after writing.
+     * <p>
+     * <strong>Note:</strong> The collection of validated bindings is cleared
+     * on successful save.
+     *
+     * @param bean
+     *            the bean to write field values into
+     * @param bindings
+     *            the set of bindings to validate
+     * @param bindingsToWrite
+     *            the set of bindings to write to the bean, a subset of the
+     *            validated bindings
+     * @return a list of field validation errors if such occur, otherwise a list
+     *         of bean validation errors.
+     */
+    @SuppressWarnings({ "unchecked" })
+    private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
+            Collection<Binding<BEAN, ?>> bindings,
+            Collection<Binding<BEAN, ?>> bindingsToWrite) {
         Objects.requireNonNull(bean, "bean cannot be null");
         List<ValidationResult> binderResults = Collections.emptyList();
 
@@ -1658,13 +2283,14 @@ public class Binder<BEAN> implements Serializable {
                 .map(b -> b.validate(false)).collect(Collectors.toList());
 
         if (bindingResults.stream()
-                .noneMatch(BindingValidationStatus::isError)) {
+                .noneMatch(status -> status.isError() || status.isPending())) {
             // Store old bean values so we can restore them if validators fail
             Map<Binding<BEAN, ?>, Object> oldValues = getBeanState(bean,
-                    bindings);
+                    bindingsToWrite);
 
-            bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                    .writeFieldValue(bean));
+            bindingsToWrite
+                    .forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
+                            .writeFieldValue(bean));
             // Now run bean level validation against the updated bean
             binderResults = validateBean(bean);
             if (binderResults.stream().anyMatch(ValidationResult::isError)) {
@@ -1683,6 +2309,9 @@ public class Binder<BEAN> implements Serializable {
                  * no longer "changed" when saved succesfully to any bean.
                  */
                 changedBindings.clear();
+                if (bean == lastReadBean) {
+                    unreadBindings.clear();
+                }
             }
         }
 
@@ -1818,6 +2447,8 @@ public class Binder<BEAN> implements Serializable {
      * Clear all the bound fields for this binder.
      */
     private void clearFields() {
+        lastReadBean = null;
+        unreadBindings.clear();
         bindings.forEach(binding -> {
             binding.getField().clear();
             clearError(binding.getField());
@@ -1869,7 +2500,7 @@ public class Binder<BEAN> implements Serializable {
 
         BinderValidationStatus<BEAN> validationStatus;
         if (validators.isEmpty() || bindingStatuses.stream()
-                .anyMatch(BindingValidationStatus::isError)) {
+                .anyMatch(status -> status.isError() || status.isPending())) {
             validationStatus = new BinderValidationStatus<>(this,
                     bindingStatuses, Collections.emptyList());
         } else {
@@ -2321,6 +2952,8 @@ public class Binder<BEAN> implements Serializable {
 
     private void doRemoveBean(boolean fireStatusEvent) {
         changedBindings.clear();
+        unreadBindings.clear();
+        lastReadBean = null;
         if (bean != null) {
             bean = null;
         }
@@ -2722,6 +3355,7 @@ public class Binder<BEAN> implements Serializable {
      */
     protected void removeBindingInternal(Binding<BEAN, ?> binding) {
         if (bindings.remove(binding)) {
+            unreadBindings.remove(binding);
             boundProperties.entrySet()
                     .removeIf(entry -> entry.getValue().equals(binding));
         }
@@ -2740,4 +3374,8 @@ public class Binder<BEAN> implements Serializable {
         Optional.ofNullable(boundProperties.get(propertyName))
                 .ifPresent(Binding::unbind);
     }
+
+    private static Logger getLogger() {
+        return Logger.getLogger(Binder.class.getName());
+    }
 }
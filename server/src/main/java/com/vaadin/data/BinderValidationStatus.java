@@ -102,10 +102,11 @@ public class BinderValidationStatus<BEAN> implements Serializable {
     /**
      * Gets whether validation for the binder passed or not.
      *
-     * @return {@code true} if validation has passed, {@code false} if not
+     * @return {@code true} if validation has passed, {@code false} if it
+     *         failed or is still pending
      */
     public boolean isOk() {
-        return !hasErrors();
+        return !hasErrors() && !isPending();
     }
 
     /**
@@ -122,6 +123,18 @@ public class BinderValidationStatus<BEAN> implements Serializable {
                         .isPresent();
     }
 
+    /**
+     * Gets whether the asynchronous validation of any field is still in
+     * progress.
+     *
+     * @return {@code true} if validation is pending, {@code false} otherwise
+     * @since 8.3
+     */
+    public boolean isPending() {
+        return bindingStatuses.stream()
+                .anyMatch(BindingValidationStatus::isPending);
+    }
+
     /**
      * Gets the source binder of the status.
      *
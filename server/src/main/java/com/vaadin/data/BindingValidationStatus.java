@@ -26,8 +26,9 @@ import com.vaadin.data.Binder.BindingBuilder;
 
 /**
  * Represents the status of field validation. Status can be {@code Status.OK},
- * {@code Status.ERROR} or {@code Status.UNRESOLVED}. Status OK and ERROR are
- * always associated with a ValidationResult {@link #getResult}.
+ * {@code Status.ERROR}, {@code Status.UNRESOLVED} or {@code Status.PENDING}.
+ * Status OK and ERROR are always associated with a ValidationResult
+ * {@link #getResult}.
  * <p>
  * Use
  * {@link BindingBuilder#withValidationStatusHandler(BindingValidationStatusHandler)}
@@ -68,7 +69,18 @@ public class BindingValidationStatus<TARGET> implements Serializable {
          * In practice this status means that the value might be invalid, but
          * validation errors should be hidden.
          */
-        UNRESOLVED;
+        UNRESOLVED,
+        /**
+         * Pending status, the field passed all synchronous validators but the
+         * asynchronous validators have not completed yet.
+         * <p>
+         * In practice this status means that the value might be invalid, and
+         * it must not be written to the bean until the validation completes.
+         *
+         * @see BindingBuilder#withAsyncValidator(AsyncValidator)
+         * @since 8.3
+         */
+        PENDING;
     }
 
     private final Status status;
@@ -92,6 +104,31 @@ public class BindingValidationStatus<TARGET> implements Serializable {
         return new BindingValidationStatus<TARGET>(null, source);
     }
 
+    /**
+     * Convenience method for creating a {@link Status#PENDING} validation
+     * status for the given binding.
+     *
+     * @param source
+     *            the source binding
+     * @return pending validation status
+     * @param <TARGET>
+     *            the target data type of the binding which is being validated
+     * @since 8.3
+     */
+    public static <TARGET> BindingValidationStatus<TARGET> createPendingStatus(
+            Binding<?, TARGET> source) {
+        return new BindingValidationStatus<TARGET>(source, Status.PENDING);
+    }
+
+    private BindingValidationStatus(Binding<?, TARGET> source, Status status) {
+        Objects.requireNonNull(source, "Event source may not be null");
+
+        binding = source;
+        this.status = status;
+        results = Collections.emptyList();
+        result = null;
+    }
+
     /**
      * Creates a new validation status for the given binding and validation
      * result.
@@ -179,6 +216,18 @@ public class BindingValidationStatus<TARGET> implements Serializable {
         return status == Status.ERROR;
     }
 
+    /**
+     * Gets whether the asynchronous validation of the value is still in
+     * progress.
+     *
+     * @return {@code true} if the validation is pending, {@code false}
+     *         otherwise
+     * @since 8.3
+     */
+    public boolean isPending() {
+        return status == Status.PENDING;
+    }
+
     /**
      * Gets error validation message if status is {@link Status#ERROR}.
      *
@@ -195,7 +244,7 @@ public class BindingValidationStatus<TARGET> implements Serializable {
     /**
      * Gets the validation result if status is either {@link Status#OK} or
      * {@link Status#ERROR} or an empty optional if status is
-     * {@link Status#UNRESOLVED}.
+     * {@link Status#UNRESOLVED} or {@link Status#PENDING}.
      *
      * @return the validation result
      */
@@ -16,14 +16,18 @@
 package com.vaadin.data;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,45 +46,33 @@ import com.vaadin.data.provider.TreeDataProvider;
  */
 public class TreeData<T> implements Serializable {
 
-    private static class HierarchyWrapper<T> implements Serializable {
-        private T parent;
-        private List<T> children;
+    private static final int NONE = -1;
+    private static final int ROOT = 0;
 
-        public HierarchyWrapper(T parent) {
-            this.parent = parent;
-            children = new ArrayList<>();
-        }
-
-        public T getParent() {
-            return parent;
-        }
-
-        public void setParent(T parent) {
-            this.parent = parent;
-        }
-
-        public List<T> getChildren() {
-            return children;
-        }
-
-        public void addChild(T child) {
-            children.add(child);
-        }
-
-        public void removeChild(T child) {
-            children.remove(child);
-        }
-    }
-
-    private final Map<T, HierarchyWrapper<T>> itemToWrapperMap;
+    /*
+     * The hierarchy is stored in parallel arrays indexed by the position of
+     * each item, with the root at position 0. Children of an item form a
+     * doubly linked list through the sibling arrays. Positions of removed
+     * items are reused, linked through the next sibling array.
+     */
+    private Object[] items;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] lastChildren;
+    private int[] nextSiblings;
+    private int[] previousSiblings;
+    private int[] childCounts;
+    private int size;
+    private int firstFree;
+
+    private final Map<T, Integer> itemToIndex = new HashMap<>();
 
     /**
      * Creates an initially empty hierarchical data representation to which
      * items can be added or removed.
      */
     public TreeData() {
-        itemToWrapperMap = new LinkedHashMap<>();
-        itemToWrapperMap.put(null, new HierarchyWrapper<>(null));
+        reset(16);
     }
 
     /**
@@ -166,7 +158,7 @@ public class TreeData<T> implements Serializable {
             throw new IllegalArgumentException(
                     "Cannot add the same item multiple times: " + item);
         }
-        putItem(item, parent);
+        putItem(item, indexOf(parent));
         return this;
     }
 
@@ -287,6 +279,81 @@ public class TreeData<T> implements Serializable {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * Adds all the items of the given stream, using the given value provider
+     * to find the parent of each item. A {@code null} parent makes the item a
+     * root item. Parents must either be already in this structure or among
+     * the given items, but they can appear after their children in the
+     * stream. Children are added to their parents in the order of the stream.
+     * <p>
+     * This is an efficient way to load a large hierarchy from a flat source,
+     * such as database rows with a parent reference. Nothing is added if any
+     * of the items is invalid.
+     *
+     * @param items
+     *            the stream of items to add
+     * @param parentProvider
+     *            the value provider giving the parent of an item, or
+     *            {@code null} for root items
+     * @return this
+     *
+     * @throws IllegalArgumentException
+     *             if any of the given items have already been added to this
+     *             structure or appear more than once, if the parent of an
+     *             item cannot be found, or if the parents form a cycle
+     * @throws NullPointerException
+     *             if any of the items are null
+     * @since 8.3
+     */
+    public TreeData<T> addItemsWithParents(Stream<T> items,
+            ValueProvider<T, T> parentProvider) {
+        Objects.requireNonNull(parentProvider,
+                "Parent provider cannot be null");
+        List<T> newItems = new ArrayList<>();
+        Map<T, T> newParents = new HashMap<>();
+        items.forEach(item -> {
+            Objects.requireNonNull(item, "Item cannot be null");
+            if (contains(item) || newParents.containsKey(item)) {
+                throw new IllegalArgumentException(
+                        "Cannot add the same item multiple times: " + item);
+            }
+            newItems.add(item);
+            newParents.put(item, parentProvider.apply(item));
+        });
+
+        // Every new item must be connected to the existing hierarchy
+        Set<T> connected = new HashSet<>();
+        for (T item : newItems) {
+            List<T> path = new ArrayList<>();
+            T current = item;
+            while (current != null && !connected.contains(current)
+                    && newParents.containsKey(current)) {
+                if (path.size() > newItems.size()) {
+                    throw new IllegalArgumentException(
+                            "The parents of item " + item + " form a cycle");
+                }
+                path.add(current);
+                current = newParents.get(current);
+            }
+            if (current != null && !connected.contains(current)
+                    && !contains(current)) {
+                throw new IllegalArgumentException("Parent " + current
+                        + " of item " + path.get(path.size() - 1)
+                        + " is not in the hierarchy");
+            }
+            connected.addAll(path);
+        }
+
+        ensureCapacity(size + newItems.size());
+        for (T item : newItems) {
+            putItem(item, NONE);
+        }
+        for (T item : newItems) {
+            link(itemToIndex.get(item), indexOf(newParents.get(item)));
+        }
+        return this;
+    }
+
     /**
      * Remove a given item from this structure. Additionally, this will
      * recursively remove any descendants of the item.
@@ -303,12 +370,28 @@ public class TreeData<T> implements Serializable {
             throw new IllegalArgumentException(
                     "Item '" + item + "' not in the hierarchy");
         }
-        new ArrayList<>(getChildren(item)).forEach(child -> removeItem(child));
-        itemToWrapperMap.get(itemToWrapperMap.get(item).getParent())
-                .removeChild(item);
-        if (item != null) {
-            // remove non root item from backing map
-            itemToWrapperMap.remove(item);
+        if (item == null) {
+            itemToIndex.clear();
+            reset(16);
+            return this;
+        }
+        int index = indexOf(item);
+        unlink(index);
+
+        // Free the positions of the item and all its descendants
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(index);
+        while (!pending.isEmpty()) {
+            int removed = pending.pop();
+            for (int child = firstChildren[removed]; child != NONE;
+                    child = nextSiblings[child]) {
+                pending.push(child);
+            }
+            itemToIndex.remove(items[removed]);
+            items[removed] = null;
+            parents[removed] = NONE;
+            nextSiblings[removed] = firstFree;
+            firstFree = removed;
         }
         return this;
     }
@@ -349,8 +432,33 @@ public class TreeData<T> implements Serializable {
             throw new IllegalArgumentException(
                     "Item '" + item + "' not in the hierarchy");
         }
-        return Collections
-                .unmodifiableList(itemToWrapperMap.get(item).getChildren());
+        int index = indexOf(item);
+        List<T> children = new ArrayList<>(childCounts[index]);
+        for (int child = firstChildren[index]; child != NONE;
+                child = nextSiblings[child]) {
+            children.add(getItem(child));
+        }
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Gets the number of immediate child items for the given item.
+     *
+     * @param item
+     *            the item for which to count child items, null to count root
+     *            items
+     * @return the number of child items
+     *
+     * @throws IllegalArgumentException
+     *             if the item does not exist in this structure
+     * @since 8.3
+     */
+    public int getChildCount(T item) {
+        if (!contains(item)) {
+            throw new IllegalArgumentException(
+                    "Item '" + item + "' not in the hierarchy");
+        }
+        return childCounts[indexOf(item)];
     }
 
     /**
@@ -369,7 +477,7 @@ public class TreeData<T> implements Serializable {
             throw new IllegalArgumentException(
                     "Item '" + item + "' not in hierarchy");
         }
-        return itemToWrapperMap.get(item).getParent();
+        return item == null ? null : getItem(parents[indexOf(item)]);
     }
 
     /**
@@ -402,17 +510,12 @@ public class TreeData<T> implements Serializable {
                     "Item cannot be the parent of itself");
         }
 
-        T oldParent = itemToWrapperMap.get(item).getParent();
-
-        if (!Objects.equals(oldParent, parent)) {
-            // Remove item from old parent's children
-            itemToWrapperMap.get(oldParent).removeChild(item);
-
-            // Add item to parent's children
-            itemToWrapperMap.get(parent).addChild(item);
-
-            // Set item's new parent
-            itemToWrapperMap.get(item).setParent(parent);
+        int index = indexOf(item);
+        int parentIndex = indexOf(parent);
+        if (parents[index] != parentIndex) {
+            // Move the item last among the children of the new parent
+            unlink(index);
+            link(index, parentIndex);
         }
     }
 
@@ -434,33 +537,30 @@ public class TreeData<T> implements Serializable {
                     "Item '" + item + "' not in the hierarchy");
         }
 
+        int index = indexOf(item);
+        int parent = parents[index];
         if (sibling == null) {
-            List<T> children = itemToWrapperMap.get(getParent(item))
-                    .getChildren();
-
             // Move item to first position
-            children.remove(item);
-            children.add(0, item);
+            unlink(index);
+            insertAfter(index, parent, NONE);
         } else {
             if (!contains(sibling)) {
                 throw new IllegalArgumentException(
                         "Item '" + sibling + "' not in the hierarchy");
             }
 
-            T parent = itemToWrapperMap.get(item).getParent();
-
-            if (!Objects.equals(parent,
-                    itemToWrapperMap.get(sibling).getParent())) {
+            int siblingIndex = indexOf(sibling);
+            if (parent != parents[siblingIndex]) {
                 throw new IllegalArgumentException(
                         "Items '" + item + "' and '" + sibling
                                 + "' don't have the same parent");
             }
 
-            List<T> children = itemToWrapperMap.get(parent).getChildren();
-
             // Move item to the position after the sibling
-            children.remove(item);
-            children.add(children.indexOf(sibling) + 1, item);
+            if (index != siblingIndex) {
+                unlink(index);
+                insertAfter(index, parent, siblingIndex);
+            }
         }
     }
 
@@ -473,15 +573,116 @@ public class TreeData<T> implements Serializable {
      *         not
      */
     public boolean contains(T item) {
-        return itemToWrapperMap.containsKey(item);
+        return item == null || itemToIndex.containsKey(item);
+    }
+
+    private int indexOf(T item) {
+        return item == null ? ROOT : itemToIndex.get(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getItem(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Stores an item at a free position and links it as the last child of the
+     * given parent.
+     *
+     * @param item
+     *            the item to store
+     * @param parent
+     *            the position of the parent, or {@code NONE} to leave the item
+     *            unlinked
+     */
+    private void putItem(T item, int parent) {
+        int index = firstFree;
+        if (index != NONE) {
+            firstFree = nextSiblings[index];
+        } else {
+            ensureCapacity(size + 1);
+            index = size++;
+        }
+        items[index] = item;
+        firstChildren[index] = NONE;
+        lastChildren[index] = NONE;
+        childCounts[index] = 0;
+        itemToIndex.put(item, index);
+        if (parent != NONE) {
+            link(index, parent);
+        }
+    }
+
+    private void link(int index, int parent) {
+        insertAfter(index, parent, lastChildren[parent]);
     }
 
-    private void putItem(T item, T parent) {
-        HierarchyWrapper<T> wrappedItem = new HierarchyWrapper<>(parent);
-        if (itemToWrapperMap.containsKey(parent)) {
-            itemToWrapperMap.get(parent).addChild(item);
+    /**
+     * Links the item at the given position as a child of the given parent,
+     * after the given sibling or first if the sibling is {@code NONE}.
+     */
+    private void insertAfter(int index, int parent, int sibling) {
+        int next = sibling == NONE ? firstChildren[parent]
+                : nextSiblings[sibling];
+        parents[index] = parent;
+        previousSiblings[index] = sibling;
+        nextSiblings[index] = next;
+        if (sibling == NONE) {
+            firstChildren[parent] = index;
+        } else {
+            nextSiblings[sibling] = index;
+        }
+        if (next == NONE) {
+            lastChildren[parent] = index;
+        } else {
+            previousSiblings[next] = index;
         }
-        itemToWrapperMap.put(item, wrappedItem);
+        childCounts[parent]++;
+    }
+
+    private void unlink(int index) {
+        int parent = parents[index];
+        int previous = previousSiblings[index];
+        int next = nextSiblings[index];
+        if (previous == NONE) {
+            firstChildren[parent] = next;
+        } else {
+            nextSiblings[previous] = next;
+        }
+        if (next == NONE) {
+            lastChildren[parent] = previous;
+        } else {
+            previousSiblings[next] = previous;
+        }
+        childCounts[parent]--;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newCapacity = Math.max(capacity, items.length * 2);
+            items = Arrays.copyOf(items, newCapacity);
+            parents = Arrays.copyOf(parents, newCapacity);
+            firstChildren = Arrays.copyOf(firstChildren, newCapacity);
+            lastChildren = Arrays.copyOf(lastChildren, newCapacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, newCapacity);
+            previousSiblings = Arrays.copyOf(previousSiblings, newCapacity);
+            childCounts = Arrays.copyOf(childCounts, newCapacity);
+        }
+    }
+
+    private void reset(int capacity) {
+        items = new Object[capacity];
+        parents = new int[capacity];
+        firstChildren = new int[capacity];
+        lastChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        previousSiblings = new int[capacity];
+        childCounts = new int[capacity];
+        parents[ROOT] = NONE;
+        firstChildren[ROOT] = NONE;
+        lastChildren[ROOT] = NONE;
+        size = 1;
+        firstFree = NONE;
     }
 
     private void addItemsRecursively(Collection<T> items,
@@ -34,6 +34,7 @@ public class ValidationException extends Exception {
 
     private final List<BindingValidationStatus<?>> fieldValidationErrors;
     private final List<ValidationResult> beanValidationErrors;
+    private final List<BindingValidationStatus<?>> pendingFieldValidations;
 
     /**
      * Constructs a new exception with validation {@code errors} list.
@@ -46,11 +47,36 @@ public class ValidationException extends Exception {
     public ValidationException(
             List<BindingValidationStatus<?>> fieldValidationErrors,
             List<ValidationResult> beanValidationErrors) {
-        super("Validation has failed for some fields");
+        this(fieldValidationErrors, beanValidationErrors,
+                Collections.emptyList());
+    }
+
+    /**
+     * Constructs a new exception with validation {@code errors} list and the
+     * statuses of the fields whose asynchronous validation is still pending.
+     *
+     * @param fieldValidationErrors
+     *            binding validation errors list
+     * @param beanValidationErrors
+     *            binder validation errors list
+     * @param pendingFieldValidations
+     *            pending binding validation statuses list
+     * @since 8.3
+     */
+    public ValidationException(
+            List<BindingValidationStatus<?>> fieldValidationErrors,
+            List<ValidationResult> beanValidationErrors,
+            List<BindingValidationStatus<?>> pendingFieldValidations) {
+        super(fieldValidationErrors.isEmpty()
+                && beanValidationErrors.isEmpty()
+                        ? "Validation is pending for some fields"
+                        : "Validation has failed for some fields");
         this.fieldValidationErrors = Collections
                 .unmodifiableList(fieldValidationErrors);
         this.beanValidationErrors = Collections
                 .unmodifiableList(beanValidationErrors);
+        this.pendingFieldValidations = Collections
+                .unmodifiableList(pendingFieldValidations);
     }
 
     /**
@@ -88,4 +114,18 @@ public class ValidationException extends Exception {
     public List<ValidationResult> getBeanValidationErrors() {
         return beanValidationErrors;
     }
+
+    /**
+     * Returns a list of the field level validation statuses whose
+     * asynchronous validation was still pending, or an empty list if no
+     * validation was pending.
+     *
+     * @see AsyncValidator
+     *
+     * @return pending binding validation statuses list
+     * @since 8.3
+     */
+    public List<BindingValidationStatus<?>> getPendingFieldValidations() {
+        return pendingFieldValidations;
+    }
 }
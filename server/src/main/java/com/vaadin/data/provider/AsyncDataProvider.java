@@ -0,0 +1,112 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * A data provider that fetches items and the item count asynchronously.
+ * <p>
+ * {@link DataCommunicator} starts the asynchronous operations while preparing
+ * a response and returns without waiting for them, so that the session is not
+ * locked while the back end is being queried. The results are delivered to
+ * the client using {@link com.vaadin.ui.UI#access(Runnable)}, i.e. through
+ * server push if it is enabled, or otherwise with the next round trip. Results
+ * for a filter, sorting or data that has changed in the meantime are
+ * discarded.
+ * <p>
+ * If a future completes exceptionally, the failure is reported to the
+ * {@link com.vaadin.server.ErrorHandler ErrorHandler} of the component and the
+ * component shows no items until it is reset, e.g. when the data or the filter
+ * changes.
+ * <p>
+ * The filter wrappers created with
+ * {@link #withConvertedFilter(com.vaadin.server.SerializableFunction)
+ * withConvertedFilter} and {@link #withConfigurableFilter()
+ * withConfigurableFilter} keep the data provider asynchronous for
+ * {@link DataCommunicator}.
+ * <p>
+ * The futures must not be completed while holding the lock of a session that
+ * uses this data provider, since delivering the results requires that lock.
+ * <p>
+ * The synchronous {@link #fetch(Query)} and {@link #size(Query)} methods wait
+ * for the results of the asynchronous ones.
+ *
+ * @see #ofDataProvider(DataProvider, Executor)
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @since 8.3
+ */
+public interface AsyncDataProvider<T, F> extends DataProvider<T, F> {
+
+    /**
+     * Fetches data asynchronously using the given query.
+     *
+     * @see #fetch(Query)
+     *
+     * @param query
+     *            given query to request data, not <code>null</code>
+     * @return a future completed with the requested data
+     */
+    public CompletableFuture<List<T>> fetchAsync(Query<T, F> query);
+
+    /**
+     * Gets the amount of data in this data provider asynchronously.
+     *
+     * @see #size(Query)
+     *
+     * @param query
+     *            query with sorting and filtering, not <code>null</code>
+     * @return a future completed with the size of the data provider
+     */
+    public CompletableFuture<Integer> sizeAsync(Query<T, F> query);
+
+    @Override
+    public default Stream<T> fetch(Query<T, F> query) {
+        return fetchAsync(query).join().stream();
+    }
+
+    @Override
+    public default int size(Query<T, F> query) {
+        return sizeAsync(query).join().intValue();
+    }
+
+    /**
+     * Creates an asynchronous data provider that runs the fetch and size
+     * operations of the given data provider using the given executor.
+     * Filtering, identifiers and data change listeners are handled by the
+     * wrapped data provider.
+     * <p>
+     * The executor is referenced by the returned data provider, so it should
+     * be serializable if the session is serialized.
+     *
+     * @param dataProvider
+     *            the data provider to wrap, not <code>null</code>
+     * @param executor
+     *            the executor to run queries with, not <code>null</code>
+     * @return an asynchronous data provider
+     */
+    public static <T, F> AsyncDataProvider<T, F> ofDataProvider(
+            DataProvider<T, F> dataProvider, Executor executor) {
+        return new AsyncDataProviderWrapper<>(dataProvider, executor);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous data provider that runs the queries of a synchronous data
+ * provider using an {@link Executor}.
+ *
+ * @see AsyncDataProvider#ofDataProvider(DataProvider, Executor)
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @since 8.3
+ */
+public class AsyncDataProviderWrapper<T, F>
+        extends DataProviderWrapper<T, F, F>
+        implements AsyncDataProvider<T, F> {
+
+    private final Executor executor;
+
+    /**
+     * Constructs an asynchronous wrapper for a data provider.
+     *
+     * @param dataProvider
+     *            the wrapped data provider, not <code>null</code>
+     * @param executor
+     *            the executor to run queries with, not <code>null</code>
+     */
+    public AsyncDataProviderWrapper(DataProvider<T, F> dataProvider,
+            Executor executor) {
+        super(dataProvider);
+        this.executor = Objects.requireNonNull(executor,
+                "The executor cannot be null.");
+    }
+
+    @Override
+    public CompletableFuture<List<T>> fetchAsync(Query<T, F> query) {
+        return CompletableFuture.supplyAsync(() -> dataProvider.fetch(query)
+                .collect(Collectors.toList()), executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> sizeAsync(Query<T, F> query) {
+        return CompletableFuture.supplyAsync(() -> dataProvider.size(query),
+                executor);
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, F> query) {
+        return dataProvider.fetch(query);
+    }
+
+    @Override
+    public int size(Query<T, F> query) {
+        return dataProvider.size(query);
+    }
+
+    @Override
+    protected F getFilter(Query<T, F> query) {
+        return query.getFilter().orElse(null);
+    }
+}
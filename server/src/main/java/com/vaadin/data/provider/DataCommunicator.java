@@ -15,6 +15,7 @@
  */
 package com.vaadin.data.provider;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,7 +25,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,14 +36,19 @@ import java.util.stream.Stream;
 import com.vaadin.data.ValueProvider;
 import com.vaadin.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.server.AbstractExtension;
-import com.vaadin.server.KeyMapper;
+import com.vaadin.server.ClientConnector.ConnectorErrorEvent;
+import com.vaadin.server.DefaultErrorHandler;
+import com.vaadin.server.ErrorEvent;
+import com.vaadin.server.ErrorHandler;
 import com.vaadin.server.SerializableConsumer;
+import com.vaadin.server.SerializableFunction;
 import com.vaadin.shared.Range;
 import com.vaadin.shared.Registration;
 import com.vaadin.shared.data.DataCommunicatorClientRpc;
 import com.vaadin.shared.data.DataCommunicatorConstants;
 import com.vaadin.shared.data.DataRequestRpc;
 import com.vaadin.shared.extension.datacommunicator.DataCommunicatorState;
+import com.vaadin.ui.UI;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
@@ -90,6 +99,9 @@ public class DataCommunicator<T> extends AbstractExtension {
      * with the same parameter. In the clean up method any dropped data objects
      * that are not in the given collection will be cleaned up and
      * {@link DataGenerator#destroyData(Object)} will be called for them.
+     * <p>
+     * The keys of each pushed row range are resolved only once, and the
+     * bookkeeping for a push only touches the pushed and dropped rows.
      */
     protected class ActiveDataHandler
             implements DataGenerator<T> {
@@ -112,9 +124,12 @@ public class DataCommunicator<T> extends AbstractExtension {
          *            collection of new active data objects
          */
         public void addActiveData(Stream<T> dataObjects) {
-            dataObjects.map(getKeyMapper()::key)
-                    .filter(key -> !activeData.contains(key))
-                    .forEach(activeData::add);
+            addActiveKeys(dataObjects.map(getKeyMapper()::key)
+                    .collect(Collectors.toList()));
+        }
+
+        private void addActiveKeys(List<String> keys) {
+            activeData.addAll(keys);
         }
 
         /**
@@ -130,11 +145,18 @@ public class DataCommunicator<T> extends AbstractExtension {
          *            collection of most recently sent data to the client
          */
         public void cleanUp(Stream<T> dataObjects) {
-            Collection<String> keys = dataObjects.map(getKeyMapper()::key)
-                    .collect(Collectors.toSet());
+            cleanUpKeys(dataObjects.map(getKeyMapper()::key)
+                    .collect(Collectors.toList()));
+        }
 
+        private void cleanUpKeys(List<String> keys) {
+            if (droppedData.isEmpty()) {
+                return;
+            }
             // Remove still active rows that were dropped by the client
-            droppedData.removeAll(keys);
+            for (String key : keys) {
+                droppedData.remove(key);
+            }
             // Do data clean up for object no longer needed.
             dropData(droppedData);
             droppedData.clear();
@@ -164,6 +186,40 @@ public class DataCommunicator<T> extends AbstractExtension {
                     .collect(Collectors.toMap(getId, i -> i));
         }
 
+        /**
+         * Gets the number of data objects that are currently active on the
+         * client.
+         *
+         * @return the number of active data objects
+         * @since 8.3
+         */
+        public int getActiveDataCount() {
+            return activeData.size();
+        }
+
+        /**
+         * Gets the number of data objects that have been dropped by the client
+         * but not yet cleaned up.
+         *
+         * @return the number of dropped data objects waiting for clean up
+         * @since 8.3
+         */
+        public int getDroppedDataCount() {
+            return droppedData.size();
+        }
+
+        /**
+         * Gets the active data object with the same identity as the given data
+         * object without creating a key for it.
+         */
+        private T getActiveItem(T data) {
+            if (!getKeyMapper().has(data)) {
+                return null;
+            }
+            String key = getKeyMapper().key(data);
+            return activeData.contains(key) ? getKeyMapper().get(key) : null;
+        }
+
         @Override
         public void generateData(T data, JsonObject jsonObject) {
             // Make sure KeyMapper is up to date
@@ -187,10 +243,39 @@ public class DataCommunicator<T> extends AbstractExtension {
             droppedData.clear();
             activeData.clear();
             updatedData.clear();
+            partialUpdates.clear();
             getKeyMapper().removeAll();
         }
     }
 
+    /**
+     * A data request made to an {@link AsyncDataProvider}. The results are
+     * stored here when they arrive and are sent to the client with the next
+     * response, unless the request has become stale.
+     */
+    private static class AsyncDataRequest<T> implements Serializable {
+        private final int generation;
+        private final boolean reset;
+        private final Range rows;
+
+        private boolean done = false;
+        private boolean failed = false;
+        private Integer size;
+        private List<T> items;
+
+        private AsyncDataRequest(int generation, boolean reset, Range rows) {
+            this.generation = generation;
+            this.reset = reset;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Whether a subclass of DataCommunicator overrides
+     * {@link #getDataObject(Object)}, by class.
+     */
+    private static final Map<Class<?>, Boolean> GET_DATA_OBJECT_OVERRIDDEN = new ConcurrentHashMap<>();
+
     private final Collection<DataGenerator<T>> generators = new LinkedHashSet<>();
     private final ActiveDataHandler handler = new ActiveDataHandler();
 
@@ -202,6 +287,11 @@ public class DataCommunicator<T> extends AbstractExtension {
     /** Boolean for pending hard reset. */
     protected boolean reset = true;
     private final Set<T> updatedData = new HashSet<>();
+    /*
+     * Generators whose data is resent for all active rows without the rest of
+     * the row data
+     */
+    private final Set<DataGenerator<T>> partialUpdates = new LinkedHashSet<>();
     private int minPushSize = 40;
     private Range pushRows = Range.withLength(0, minPushSize);
 
@@ -210,6 +300,13 @@ public class DataCommunicator<T> extends AbstractExtension {
     private final List<QuerySortOrder> backEndSorting = new ArrayList<>();
     private final DataCommunicatorClientRpc rpc;
 
+    /**
+     * Counter that is increased whenever the results of pending asynchronous
+     * requests become stale.
+     */
+    private int asyncGeneration = 0;
+    private transient List<AsyncDataRequest<T>> asyncRequests;
+
     public DataCommunicator() {
         addDataGenerator(handler);
         rpc = getRpcProxy(DataCommunicatorClientRpc.class);
@@ -227,6 +324,7 @@ public class DataCommunicator<T> extends AbstractExtension {
     public void detach() {
         super.detach();
         detachDataProviderListener();
+        discardAsyncRequests();
     }
 
     /**
@@ -324,6 +422,61 @@ public class DataCommunicator<T> extends AbstractExtension {
             return;
         }
 
+        // All rows are sent again after a reset
+        boolean rowsResent = initial || reset;
+        boolean triggerReset = false;
+        if (isAsyncDataProvider()) {
+            requestAsyncData(initial);
+        } else {
+            triggerReset = sendSyncData(initial);
+        }
+
+        if (!updatedData.isEmpty()) {
+            JsonArray dataArray = Json.createArray();
+            int i = 0;
+            for (JsonObject dataObject : getDataObjects(
+                    new ArrayList<>(updatedData))) {
+                dataArray.set(i++, dataObject);
+            }
+            rpc.updateData(dataArray);
+        }
+
+        if (!partialUpdates.isEmpty() && !rowsResent) {
+            sendPartialUpdates();
+        }
+
+        setPushRows(Range.withLength(0, 0));
+        reset = triggerReset;
+        updatedData.clear();
+        partialUpdates.clear();
+    }
+
+    /**
+     * Sends the data of the pending partial updates for the active rows that
+     * were not already sent in full.
+     */
+    private void sendPartialUpdates() {
+        JsonArray dataArray = Json.createArray();
+        int i = 0;
+        for (T item : handler.getActiveData().values()) {
+            if (updatedData.contains(item)) {
+                continue;
+            }
+            JsonObject dataObject = Json.createObject();
+            dataObject.put(DataCommunicatorConstants.KEY,
+                    getKeyMapper().key(item));
+            dataObject.put(DataCommunicatorConstants.PARTIAL, true);
+            for (DataGenerator<T> generator : partialUpdates) {
+                generator.generateData(item, dataObject);
+            }
+            dataArray.set(i++, dataObject);
+        }
+        if (i > 0) {
+            rpc.updateData(dataArray);
+        }
+    }
+
+    private boolean sendSyncData(boolean initial) {
         if (initial || reset) {
             rpc.reset(getDataProviderSize());
         }
@@ -342,19 +495,170 @@ public class DataCommunicator<T> extends AbstractExtension {
 
             pushData(offset, rowsToPush);
         }
+        return triggerReset;
+    }
 
-        if (!updatedData.isEmpty()) {
-            JsonArray dataArray = Json.createArray();
-            int i = 0;
-            for (T data : updatedData) {
-                dataArray.set(i++, getDataObject(data));
+    /**
+     * Sends the results of completed asynchronous requests to the client and
+     * starts new requests for a pending reset and the requested rows.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void requestAsyncData(boolean initial) {
+        boolean needsReset = sendAsyncResults() || initial || reset;
+        Range requestedRows = getPushRows();
+        UI ui = getUI();
+        if (ui == null || !needsReset && requestedRows.isEmpty()) {
+            return;
+        }
+
+        AsyncDataRequest<T> request = new AsyncDataRequest<>(asyncGeneration,
+                needsReset, requestedRows);
+        getAsyncRequests().add(request);
+
+        CompletableFuture<Integer> size = needsReset
+                ? sizeAsync(getDataProvider(), new Query(getFilter()))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<T>> items = requestedRows.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : fetchAsync(getDataProvider(),
+                        new Query(requestedRows.getStart(),
+                                requestedRows.length(),
+                                new ArrayList<>(backEndSorting),
+                                inMemorySorting, filter));
+
+        CompletableFuture.allOf(size, items)
+                .whenComplete((ignore, throwable) -> ui.access(() -> {
+                    // Only touch the request while holding the session lock
+                    request.done = true;
+                    markAsDirty();
+                    if (throwable != null) {
+                        request.failed = true;
+                        reportAsyncFailure(throwable);
+                    } else {
+                        request.size = size.join();
+                        request.items = items.join();
+                    }
+                }));
+    }
+
+    /**
+     * Reports a failed asynchronous request to the error handler of this
+     * connector.
+     */
+    private void reportAsyncFailure(Throwable throwable) {
+        ErrorHandler errorHandler = ErrorEvent.findErrorHandler(this);
+        if (errorHandler == null) {
+            errorHandler = new DefaultErrorHandler();
+        }
+        errorHandler.error(new ConnectorErrorEvent(this, new RuntimeException(
+                "Fetching data asynchronously failed", throwable)));
+    }
+
+    /**
+     * Checks whether the data provider is asynchronous, either directly or
+     * through the filter converting wrappers created by e.g.
+     * {@link DataProvider#withConvertedFilter(SerializableFunction)} and
+     * {@link DataProvider#withConfigurableFilter()}.
+     */
+    private boolean isAsyncDataProvider() {
+        DataProvider<?, ?> provider = getDataProvider();
+        while (!(provider instanceof AsyncDataProvider)) {
+            if (!(provider instanceof DataProviderWrapper)) {
+                return false;
             }
-            rpc.updateData(dataArray);
+            provider = ((DataProviderWrapper<?, ?, ?>) provider).dataProvider;
         }
+        return true;
+    }
 
-        setPushRows(Range.withLength(0, 0));
-        reset = triggerReset;
-        updatedData.clear();
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static CompletableFuture<Integer> sizeAsync(
+            DataProvider provider, Query query) {
+        while (!(provider instanceof AsyncDataProvider)) {
+            DataProviderWrapper wrapper = (DataProviderWrapper) provider;
+            query = unwrapQuery(wrapper, query);
+            provider = wrapper.dataProvider;
+        }
+        return ((AsyncDataProvider) provider).sizeAsync(query);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static <T> CompletableFuture<List<T>> fetchAsync(
+            DataProvider provider, Query query) {
+        while (!(provider instanceof AsyncDataProvider)) {
+            DataProviderWrapper wrapper = (DataProviderWrapper) provider;
+            query = unwrapQuery(wrapper, query);
+            provider = wrapper.dataProvider;
+        }
+        return ((AsyncDataProvider) provider).fetchAsync(query);
+    }
+
+    /**
+     * Creates the query that the given wrapper would pass to the data provider
+     * it wraps. The filter is converted right away so that any state of the
+     * wrapper, such as a configured filter, is read while holding the session
+     * lock.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Query unwrapQuery(DataProviderWrapper wrapper,
+            Query query) {
+        return new Query(query.getOffset(), query.getLimit(),
+                query.getSortOrders(), query.getInMemorySorting(),
+                wrapper.getFilter(query));
+    }
+
+    /**
+     * Sends the results of the completed asynchronous requests to the client in
+     * the order the requests were made, skipping any stale requests.
+     *
+     * @return {@code true} if an empty result for a non-reset request requires
+     *         a reset, {@code false} otherwise
+     */
+    private boolean sendAsyncResults() {
+        boolean triggerReset = false;
+        List<AsyncDataRequest<T>> requests = getAsyncRequests();
+        while (!requests.isEmpty()) {
+            AsyncDataRequest<T> request = requests.get(0);
+            if (request.generation != asyncGeneration) {
+                requests.remove(0);
+                continue;
+            }
+            if (!request.done) {
+                break;
+            }
+            requests.remove(0);
+
+            if (request.failed) {
+                // The client would otherwise keep waiting for the rows. The
+                // failure has been reported, so show no items until the next
+                // reset, e.g. when the data or the filter changes.
+                discardAsyncRequests();
+                rpc.reset(0);
+                return false;
+            }
+            if (request.reset && request.size != null) {
+                rpc.reset(request.size.intValue());
+            }
+            if (request.items != null) {
+                if (!request.reset && request.items.isEmpty()) {
+                    triggerReset = true;
+                }
+                pushData(request.rows.getStart(), request.items);
+            }
+        }
+        return triggerReset;
+    }
+
+    private List<AsyncDataRequest<T>> getAsyncRequests() {
+        if (asyncRequests == null) {
+            asyncRequests = new ArrayList<>();
+        }
+        return asyncRequests;
+    }
+
+    private void discardAsyncRequests() {
+        asyncGeneration++;
+        getAsyncRequests().clear();
     }
 
     /**
@@ -424,33 +728,86 @@ public class DataCommunicator<T> extends AbstractExtension {
      */
     protected void pushData(int firstIndex, List<T> data) {
         JsonArray dataArray = Json.createArray();
+        List<String> keys = new ArrayList<>(data.size());
 
         int i = 0;
-        for (T item : data) {
-            dataArray.set(i++, getDataObject(item));
+        for (JsonObject dataObject : getDataObjects(data)) {
+            dataArray.set(i, dataObject);
+            keys.add(dataObject.getString(DataCommunicatorConstants.KEY));
+            i++;
         }
 
         rpc.setData(firstIndex, dataArray);
-        handler.addActiveData(data.stream());
-        handler.cleanUp(data.stream());
+        handler.addActiveKeys(keys);
+        handler.cleanUpKeys(keys);
     }
 
     /**
      * Creates the JsonObject for given data object. This method calls all data
      * generators for it.
+     * <p>
+     * If a subclass overrides this method, {@link #getDataObjects(List)} calls
+     * it for each data object instead of calling the data generators once for
+     * the whole page.
      *
      * @param data
      *            data object to be made into a json object
      * @return json object representing the data object
      */
     protected JsonObject getDataObject(T data) {
-        JsonObject dataObject = Json.createObject();
+        return generateDataObjects(Collections.singletonList(data)).get(0);
+    }
+
+    /**
+     * Creates the JsonObjects for the given data objects. Each data generator
+     * is called once with all of the data objects, so that it can do any
+     * preparations only once for the whole page of data. If
+     * {@link #getDataObject(Object)} is overridden, it is called for each data
+     * object instead.
+     *
+     * @param data
+     *            data objects to be made into json objects, not {@code null}
+     * @return json objects representing the data objects, in the same order
+     * @since 8.3
+     */
+    protected List<JsonObject> getDataObjects(List<T> data) {
+        if (isGetDataObjectOverridden(getClass())) {
+            return data.stream().map(this::getDataObject)
+                    .collect(Collectors.toList());
+        }
+        return generateDataObjects(data);
+    }
+
+    private List<JsonObject> generateDataObjects(List<T> data) {
+        List<T> items = data instanceof RandomAccess ? data
+                : new ArrayList<>(data);
+        List<JsonObject> dataObjects = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            dataObjects.add(Json.createObject());
+        }
 
         for (DataGenerator<T> generator : generators) {
-            generator.generateData(data, dataObject);
+            generator.generateData(items, dataObjects);
         }
 
-        return dataObject;
+        return dataObjects;
+    }
+
+    private static boolean isGetDataObjectOverridden(
+            Class<?> communicatorClass) {
+        return GET_DATA_OBJECT_OVERRIDDEN.computeIfAbsent(communicatorClass,
+                type -> {
+                    for (Class<?> c = type; c != DataCommunicator.class; c = c
+                            .getSuperclass()) {
+                        try {
+                            c.getDeclaredMethod("getDataObject", Object.class);
+                            return Boolean.TRUE;
+                        } catch (NoSuchMethodException e) {
+                            // Check the superclass
+                        }
+                    }
+                    return Boolean.FALSE;
+                }).booleanValue();
     }
 
     /**
@@ -498,10 +855,18 @@ public class DataCommunicator<T> extends AbstractExtension {
      * full data update.
      */
     public void reset() {
+        // Results of pending asynchronous requests are no longer valid
+        asyncGeneration++;
+
         // Only needed if a full reset is not pending.
         if (!reset) {
-            // Soft reset through client-side re-request.
-            getClientRpc().reset(getDataProviderSize());
+            if (isAsyncDataProvider()) {
+                // The size is fetched asynchronously for the next response
+                hardReset();
+            } else {
+                // Soft reset through client-side re-request.
+                getClientRpc().reset(getDataProviderSize());
+            }
         }
     }
 
@@ -514,20 +879,71 @@ public class DataCommunicator<T> extends AbstractExtension {
     public void refresh(T data) {
         Objects.requireNonNull(data,
                 "DataCommunicator can not refresh null object");
-        Object id = getDataProvider().getId(data);
 
         // ActiveDataHandler has always the latest data through KeyMapper.
-        Map<Object, T> activeData = getActiveDataHandler().getActiveData();
+        T activeItem = handler.getActiveItem(data);
 
-        if (activeData.containsKey(id)) {
+        if (activeItem != null) {
             // Item is currently available at the client-side
             if (updatedData.isEmpty()) {
                 markAsDirty();
             }
-            updatedData.add(activeData.get(id));
+            updatedData.add(activeItem);
+        }
+    }
+
+    /**
+     * Resends all data objects that are currently active on the client-side.
+     * This is needed when the generated data changes for all rows, for
+     * instance when a column that was not sent before becomes visible.
+     *
+     * @since 8.3
+     */
+    public void refreshActiveData() {
+        Collection<T> activeItems = handler.getActiveData().values();
+        if (!activeItems.isEmpty()) {
+            if (updatedData.isEmpty()) {
+                markAsDirty();
+            }
+            updatedData.addAll(activeItems);
         }
     }
 
+    /**
+     * Resends the data generated by the given generator for all data objects
+     * that are currently active on the client-side. Unlike
+     * {@link #refreshActiveData()}, the rest of the row data is not generated
+     * again, as the client merges the new data into the rows it already has.
+     * This is useful when only some of the data changes for all rows, for
+     * instance when a column that was not sent before becomes visible.
+     * <p>
+     * The generator does not need to be added to this communicator, and it
+     * is only used for the next response.
+     *
+     * @param generator
+     *            the generator of the data to resend, not {@code null}
+     * @since 8.3
+     */
+    public void refreshActiveData(DataGenerator<T> generator) {
+        Objects.requireNonNull(generator, "generator cannot be null");
+        if (handler.getActiveDataCount() > 0) {
+            partialUpdates.add(generator);
+            markAsDirty();
+        }
+    }
+
+    /**
+     * Gets the number of data objects that are currently active on the
+     * client-side. This can be used for monitoring how much data this
+     * communicator keeps track of.
+     *
+     * @return the number of active data objects
+     * @since 8.3
+     */
+    public int getActiveDataCount() {
+        return handler.getActiveDataCount();
+    }
+
     /**
      * Returns the currently set updated data.
      *
@@ -598,7 +1014,7 @@ public class DataCommunicator<T> extends AbstractExtension {
      */
     protected DataKeyMapper<T> createKeyMapper(
             ValueProvider<T, Object> identifierGetter) {
-        return new KeyMapper<T>(identifierGetter);
+        return new IntKeyMapper<>(identifierGetter);
     }
 
     /**
@@ -768,6 +1184,7 @@ public class DataCommunicator<T> extends AbstractExtension {
     }
 
     private void hardReset() {
+        asyncGeneration++;
         reset = true;
         markAsDirty();
     }
@@ -788,6 +1205,7 @@ public class DataCommunicator<T> extends AbstractExtension {
      */
     protected void setDataProvider(DataProvider<T, ?> dataProvider) {
         detachDataProviderListener();
+        discardAsyncRequests();
         dropAllData();
         this.dataProvider = dataProvider;
         getKeyMapper().setIdentifierGetter(dataProvider::getId);
@@ -16,6 +16,7 @@
 package com.vaadin.data.provider;
 
 import java.io.Serializable;
+import java.util.List;
 
 import elemental.json.JsonObject;
 
@@ -45,6 +46,30 @@ public interface DataGenerator<T> extends Serializable {
      */
     void generateData(T item, JsonObject jsonObject);
 
+    /**
+     * Adds custom data for a page of items to their serialized
+     * {@code JsonObject} representations. The JSON objects will be sent to
+     * client-side DataProvider.
+     * <p>
+     * The default implementation calls {@link #generateData(Object, JsonObject)}
+     * for each item. Generators that repeat the same preparations for every
+     * item can override this method to do them only once per page. The
+     * generated data must be the same as when generating it item by item.
+     *
+     * @param items
+     *            the data items being serialized, not {@code null}
+     * @param jsonObjects
+     *            the JSON objects being sent to the client, in the same order
+     *            as the items, not {@code null}
+     * @since 8.3
+     */
+    public default void generateData(List<T> items,
+            List<JsonObject> jsonObjects) {
+        for (int i = 0; i < items.size(); i++) {
+            generateData(items.get(i), jsonObjects.get(i));
+        }
+    }
+
     /**
      * Informs the {@code DataGenerator} that the given data item has been
      * dropped and is no longer needed. This method should clean up any unneeded
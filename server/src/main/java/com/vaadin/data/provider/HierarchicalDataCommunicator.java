@@ -15,6 +15,8 @@
  */
 package com.vaadin.data.provider;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -73,6 +75,23 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    protected void sendDataToClient(boolean initial) {
+        if ((initial || reset) && mapper != null) {
+            // The hierarchy may have changed since it was indexed
+            mapper.invalidateHierarchy();
+        }
+        super.sendDataToClient(initial);
+    }
+
+    @Override
+    public void reset() {
+        if (mapper != null) {
+            mapper.invalidateHierarchy();
+        }
+        super.reset();
+    }
+
     @Override
     public HierarchicalDataProvider<T, ?> getDataProvider() {
         return (HierarchicalDataProvider<T, ?>) super.getDataProvider();
@@ -222,14 +241,70 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
             if (!reset && !addedRows.isEmpty()) {
                 int start = addedRows.getStart();
                 getClientRpc().insertRows(start, addedRows.length());
-                Stream<T> children = mapper.fetchItems(item,
-                        Range.withLength(0, addedRows.length()));
+                // The client requests any further rows it needs, so a wide
+                // node does not have to be fetched in full
+                Stream<T> children = mapper.fetchItems(item, Range.withLength(0,
+                        Math.min(addedRows.length(), getMinPushSize())));
                 pushData(start, children.collect(Collectors.toList()));
             }
             refresh(item);
         }
     }
 
+    /**
+     * Expands the given items at once. Instead of a separate update for each
+     * item, the client is sent a single reset with the new size of the
+     * hierarchy. Items that are already expanded or do not have children are
+     * ignored.
+     *
+     * @param items
+     *            the items to expand
+     * @return the items that were expanded
+     * @since 8.3
+     */
+    public List<T> expandItems(Collection<T> items) {
+        if (items.size() == 1) {
+            // A single item can be expanded in place
+            T item = items.iterator().next();
+            if (mapper.isExpanded(item) || !mapper.hasChildren(item)) {
+                return Collections.emptyList();
+            }
+            expand(item);
+            return Collections.singletonList(item);
+        }
+        List<T> expanded = mapper.doExpand(items);
+        if (!expanded.isEmpty()) {
+            reset();
+        }
+        return expanded;
+    }
+
+    /**
+     * Collapses the given items at once. Instead of a separate update for each
+     * item, the client is sent a single reset with the new size of the
+     * hierarchy. Items that are not expanded are ignored.
+     *
+     * @param items
+     *            the items to collapse
+     * @return the items that were collapsed
+     * @since 8.3
+     */
+    public List<T> collapseItems(Collection<T> items) {
+        if (items.size() == 1) {
+            T item = items.iterator().next();
+            if (!mapper.isExpanded(item)) {
+                return Collections.emptyList();
+            }
+            collapse(item);
+            return Collections.singletonList(item);
+        }
+        List<T> collapsed = mapper.doCollapse(items);
+        if (!collapsed.isEmpty()) {
+            reset();
+        }
+        return collapsed;
+    }
+
     /**
      * Returns whether given item has children.
      *
@@ -15,14 +15,17 @@
  */
 package com.vaadin.data.provider;
 
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -56,10 +59,19 @@ import elemental.json.JsonObject;
  */
 public class HierarchyMapper<T, F> implements DataGenerator<T> {
 
-    // childMap is only used for finding parents of items and clean up on
-    // removing children of expanded nodes.
-    private Map<T, Set<T>> childMap = new HashMap<>();
+    /**
+     * The maximum amount of children fetched at once for an expanded node.
+     */
+    private static final int CHILD_PAGE_SIZE = 100;
+
+    // childIdMap is only used for clean up on removing children of expanded
+    // nodes, parentIdMap for finding parents of items. Both are keyed by item
+    // ids, with null as the id of the root.
+    private Map<Object, Set<Object>> childIdMap = new HashMap<>();
     private Map<Object, T> parentIdMap = new HashMap<>();
+    // Parents of expanded items that are hidden under a collapsed ancestor,
+    // used for finding the expanded items again without fetching everything
+    private Map<Object, T> hiddenParentIdMap = new HashMap<>();
 
     private final HierarchicalDataProvider<T, F> provider;
     private F filter;
@@ -68,6 +80,137 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
     private ItemCollapseAllowedProvider<T> itemCollapseAllowedProvider = t -> true;
 
     private Set<Object> expandedItemIds = new HashSet<>();
+    // Items expanded since the hierarchy was last indexed. All of their
+    // children are fetched when indexing if some expanded items have no
+    // known parent, as those may be among the children.
+    private Set<Object> newlyExpandedItemIds = new HashSet<>();
+
+    // Index of the currently visible hierarchy, built lazily and discarded
+    // whenever the filter, sorting or underlying data changes.
+    private transient HierarchyNode<T> root;
+    private transient Map<Object, HierarchyNode<T>> visibleNodes;
+    // Expanded nodes with children that have not been fetched yet
+    private transient Set<HierarchyNode<T>> partiallyLoadedNodes;
+
+    /**
+     * A visible node of the hierarchy. The children of an expanded node keep
+     * their row counts in a Fenwick tree, which allows finding an item by its
+     * index and the index of an item in logarithmic time for each level.
+     * <p>
+     * The child count of an expanded node is cached, but the children
+     * themselves are fetched a page at a time when they are needed. Children
+     * that have not been fetched yet are {@code null}, and always collapsed.
+     */
+    private static final class HierarchyNode<T> implements Serializable {
+        private T item;
+        private final Object id;
+        private final HierarchyNode<T> parent;
+        private final int indexInParent;
+
+        private List<HierarchyNode<T>> children;
+        private int loadedChildCount;
+        private int[] rowCounts;
+        private int descendantCount;
+
+        private HierarchyNode(T item, Object id, HierarchyNode<T> parent,
+                int indexInParent) {
+            this.item = item;
+            this.id = id;
+            this.parent = parent;
+            this.indexInParent = indexInParent;
+        }
+
+        /**
+         * Initializes the children of this node with the given child count.
+         * Each child takes a single row until it is expanded.
+         */
+        private void initChildren(int childCount) {
+            children = new ArrayList<>(Collections.nCopies(childCount, null));
+            loadedChildCount = 0;
+            rowCounts = new int[childCount + 1];
+            for (int i = 1; i < rowCounts.length; ++i) {
+                // Fenwick tree of ones
+                rowCounts[i] = i & -i;
+            }
+            descendantCount = childCount;
+        }
+
+        private boolean isFullyLoaded() {
+            return loadedChildCount == children.size();
+        }
+
+        /**
+         * Drops the children from the given index on, for when the child
+         * count has turned out to be smaller than cached. The row counts are
+         * built again from the remaining children.
+         */
+        private void truncateChildren(int childCount) {
+            children.subList(childCount, children.size()).clear();
+            rowCounts = new int[childCount + 1];
+            loadedChildCount = 0;
+            descendantCount = 0;
+            for (int i = 1; i <= childCount; ++i) {
+                HierarchyNode<T> child = children.get(i - 1);
+                int rows = 1;
+                if (child != null) {
+                    ++loadedChildCount;
+                    if (child.children != null) {
+                        rows += child.descendantCount;
+                    }
+                }
+                descendantCount += rows;
+                // Fenwick tree built in linear time
+                rowCounts[i] += rows;
+                int next = i + (i & -i);
+                if (next <= childCount) {
+                    rowCounts[next] += rowCounts[i];
+                }
+            }
+        }
+
+        private void clearChildren() {
+            children = null;
+            loadedChildCount = 0;
+            rowCounts = null;
+            descendantCount = 0;
+        }
+
+        private void addRows(int childIndex, int delta) {
+            for (int i = childIndex + 1; i < rowCounts.length; i += i & -i) {
+                rowCounts[i] += delta;
+            }
+            descendantCount += delta;
+        }
+
+        /**
+         * Gets the amount of rows before the child in the given index, counted
+         * from the first child.
+         */
+        private int getRowsBefore(int childIndex) {
+            int rows = 0;
+            for (int i = childIndex; i > 0; i -= i & -i) {
+                rows += rowCounts[i];
+            }
+            return rows;
+        }
+
+        /**
+         * Gets the index of the child whose subtree contains the given row,
+         * counted from the first child.
+         */
+        private int findChild(int row) {
+            int index = 0;
+            for (int step = Integer.highestOneBit(
+                    rowCounts.length - 1); step > 0; step >>= 1) {
+                int next = index + step;
+                if (next < rowCounts.length && rowCounts[next] <= row) {
+                    index = next;
+                    row -= rowCounts[next];
+                }
+            }
+            return index;
+        }
+    }
 
     /**
      * Constructs a new HierarchyMapper.
@@ -85,7 +228,7 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getIndex().descendantCount;
     }
 
     /**
@@ -97,9 +240,11 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      *
      */
     public Integer getParentIndex(T item) {
-        // TODO: This can be optimized.
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        getIndex();
+        T parent = getParentOfItem(item);
+        HierarchyNode<T> node = parent == null ? null
+                : visibleNodes.get(getDataProvider().getId(parent));
+        return node == null ? -1 : getIndexOf(node);
     }
 
     /**
@@ -131,9 +276,20 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
         if (!isExpanded(item) && hasChildren(item)) {
             Object id = getDataProvider().getId(item);
             expandedItemIds.add(id);
+            if (root == null) {
+                newlyExpandedItemIds.add(id);
+            }
+            HierarchyNode<T> node = root == null ? null : findNode(id);
+            if (node != null) {
+                loadChildren(node);
+                if (node.children != null && hasUnlocatedExpandedItems()) {
+                    loadRemainingChildren(node);
+                }
+                updateRowCounts(node, node.descendantCount);
+            }
             if (position.isPresent()) {
                 rows = Range.withLength(position.get() + 1,
-                        (int) getHierarchy(item, false).count());
+                        getDescendantCount(item));
             }
         }
         return rows;
@@ -154,15 +310,76 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
         if (isExpanded(item)) {
             Object id = getDataProvider().getId(item);
             if (position.isPresent()) {
-                long childCount = getHierarchy(item, false).count();
                 removedRows = Range.withLength(position.get() + 1,
-                        (int) childCount);
+                        getDescendantCount(item));
             }
             expandedItemIds.remove(id);
+            hiddenParentIdMap.remove(id);
+            HierarchyNode<T> node = root == null ? null : visibleNodes.get(id);
+            if (node != null && node.children != null) {
+                int removed = node.descendantCount;
+                removeVisibleNodes(node);
+                node.clearChildren();
+                updateRowCounts(node, -removed);
+            }
+            // Registered again when expanded
+            removeDescendants(id, false);
         }
         return removedRows;
     }
 
+    /**
+     * Expands the given items in a single pass. Items that are already
+     * expanded or do not have children are ignored. The visible hierarchy is
+     * indexed again when it is next needed.
+     *
+     * @param items
+     *            the items to expand
+     * @return the items that were expanded, in the given order
+     * @since 8.3
+     */
+    public List<T> doExpand(Collection<T> items) {
+        List<T> expanded = new ArrayList<>();
+        for (T item : items) {
+            if (!isExpanded(item) && hasChildren(item)) {
+                Object id = getDataProvider().getId(item);
+                expandedItemIds.add(id);
+                newlyExpandedItemIds.add(id);
+                expanded.add(item);
+            }
+        }
+        if (!expanded.isEmpty()) {
+            invalidateHierarchy();
+        }
+        return expanded;
+    }
+
+    /**
+     * Collapses the given items in a single pass. Items that are not expanded
+     * are ignored. The visible hierarchy is indexed again when it is next
+     * needed.
+     *
+     * @param items
+     *            the items to collapse
+     * @return the items that were collapsed, in the given order
+     * @since 8.3
+     */
+    public List<T> doCollapse(Collection<T> items) {
+        List<T> collapsed = new ArrayList<>();
+        for (T item : items) {
+            Object id = getDataProvider().getId(item);
+            if (expandedItemIds.remove(id)) {
+                hiddenParentIdMap.remove(id);
+                removeDescendants(id, false);
+                collapsed.add(item);
+            }
+        }
+        if (!collapsed.isEmpty()) {
+            invalidateHierarchy();
+        }
+        return collapsed;
+    }
+
     @Override
     public void generateData(T item, JsonObject jsonObject) {
         JsonObject hierarchyData = Json.createObject();
@@ -232,6 +449,7 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        invalidateHierarchy();
     }
 
     /**
@@ -252,6 +470,7 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        invalidateHierarchy();
     }
 
     /**
@@ -272,6 +491,20 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        invalidateHierarchy();
+    }
+
+    /**
+     * Discards the index of the currently visible hierarchy. The index is
+     * built again from the data provider when it is next needed. This should
+     * be called when the hierarchy provided by the data provider has changed.
+     *
+     * @since 8.3
+     */
+    public void invalidateHierarchy() {
+        root = null;
+        visibleNodes = null;
+        partiallyLoadedNodes = null;
     }
 
     /**
@@ -306,7 +539,7 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      * @return the stream of items
      */
     public Stream<T> fetchItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return fetchItems(getIndex(), range);
     }
 
     /**
@@ -320,8 +553,31 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
      * @return the stream of items
      */
     public Stream<T> fetchItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        HierarchyNode<T> node = getVisibleNode(parent);
+        if (node == null) {
+            // Not visible, so the subtree has not been indexed
+            return getHierarchy(parent, false).skip(range.getStart())
+                    .limit(range.length());
+        }
+        return fetchItems(node, range);
+    }
+
+    /**
+     * Fetches the given range of rows from the visible subtree of the given
+     * node, excluding the node itself.
+     */
+    private Stream<T> fetchItems(HierarchyNode<T> parent, Range range) {
+        int end = Math.min(range.getEnd(), parent.descendantCount);
+        if (range.getStart() >= end) {
+            return Stream.empty();
+        }
+        List<T> items = new ArrayList<>(end - range.getStart());
+        HierarchyNode<T> node = getNodeAt(parent, range.getStart());
+        for (int i = range.getStart(); i < end && node != null; ++i) {
+            items.add(node.item);
+            node = getNextNode(node, parent);
+        }
+        return items.stream();
     }
 
     /* Methods for providing information on the hierarchy. */
@@ -365,29 +621,51 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
     /**
      * Removes all children of an item identified by a given id. Items removed
      * by this method as well as the original item are all marked to be
-     * collapsed.
+     * collapsed. All the registered descendants of the item are removed by a
+     * single call.
      * May be overridden in subclasses for removing obsolete data to avoid memory leaks.
      *
      * @param id
      *            the item id
      */
     protected void removeChildren(Object id) {
-        // Clean up removed nodes from child map
-        Iterator<Entry<T, Set<T>>> iterator = childMap.entrySet().iterator();
-        Set<T> invalidatedChildren = new HashSet<>();
-        while (iterator.hasNext()) {
-            Entry<T, Set<T>> entry = iterator.next();
-            T key = entry.getKey();
-            if (key != null && getDataProvider().getId(key).equals(id)) {
-                invalidatedChildren.addAll(entry.getValue());
-                iterator.remove();
+        expandedItemIds.remove(id);
+        hiddenParentIdMap.remove(id);
+        removeDescendants(id, true);
+    }
+
+    /**
+     * Removes the registered descendants of an item from the inner
+     * structures. The time taken depends only on the size of the removed
+     * subtree.
+     *
+     * @param id
+     *            the item id
+     * @param collapse
+     *            {@code true} to mark the descendants collapsed as well;
+     *            {@code false} to keep them expanded and remember their
+     *            parents
+     */
+    private void removeDescendants(Object id, boolean collapse) {
+        Set<Object> children = childIdMap.remove(id);
+        if (children == null) {
+            return;
+        }
+        Deque<Object> pending = new ArrayDeque<>(children);
+        while (!pending.isEmpty()) {
+            Object childId = pending.pop();
+            T parent = parentIdMap.remove(childId);
+            if (collapse) {
+                expandedItemIds.remove(childId);
+                hiddenParentIdMap.remove(childId);
+            } else if (expandedItemIds.contains(childId)) {
+                hiddenParentIdMap.put(childId, parent);
+            }
+            children = childIdMap.remove(childId);
+            if (children != null) {
+                pending.addAll(children);
             }
         }
-        expandedItemIds.remove(id);
-        invalidatedChildren.stream().map(getDataProvider()::getId).forEach(x -> {
-            removeChildren(x);
-            parentIdMap.remove(x);
-        });
     }
 
     /**
@@ -403,10 +681,450 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
-        return Optional.ofNullable(index < 0 ? null : index);
+        HierarchyNode<T> node = getVisibleNode(target);
+        return Optional.ofNullable(node == null ? null : getIndexOf(node));
+    }
+
+    /**
+     * Gets the root of the index for the visible hierarchy, building the index
+     * if needed.
+     *
+     * @return the root node of the index
+     */
+    private HierarchyNode<T> getIndex() {
+        if (root == null) {
+            visibleNodes = new HashMap<>();
+            partiallyLoadedNodes = new HashSet<>();
+            root = new HierarchyNode<>(null, null, null, -1);
+            loadChildren(root);
+            resolveExpandedItems();
+        }
+        return root;
+    }
+
+    private HierarchyNode<T> getVisibleNode(T item) {
+        if (item == null) {
+            return null;
+        }
+        getIndex();
+        return findNode(getDataProvider().getId(item));
+    }
+
+    /**
+     * Finds the visible node with the given id. If the parent of the item is
+     * known from an earlier fetch, only the pages of children of that parent
+     * are fetched, and nothing is fetched if the parent is not visible or
+     * collapsed. Otherwise, or if the item is no longer a child of that
+     * parent, the children of all partially loaded nodes are fetched until
+     * the node is found.
+     *
+     * @param id
+     *            the item id
+     * @return the visible node, or {@code null} if the item is not visible
+     */
+    private HierarchyNode<T> findNode(Object id) {
+        return findNode(id, new HashSet<>(), true);
+    }
+
+    /**
+     * Finds the visible node with the given id.
+     *
+     * @param id
+     *            the item id
+     * @param visited
+     *            the ids visited while following the known parents
+     * @param searchAll
+     *            {@code true} to fetch the children of all partially loaded
+     *            nodes if the node cannot be found through its known parent;
+     *            {@code false} to only follow the known parents
+     * @return the visible node, or {@code null} if the item is not visible or
+     *         could not be found
+     */
+    private HierarchyNode<T> findNode(Object id, Set<Object> visited,
+            boolean searchAll) {
+        HierarchyNode<T> node = visibleNodes.get(id);
+        if (node != null || partiallyLoadedNodes.isEmpty()) {
+            return node;
+        }
+
+        // Registered parents may form a cycle if the hierarchy has changed
+        Map<Object, T> parents = visited.add(id) ? getParentIdMap(id) : null;
+        if (parents != null) {
+            T parent = parents.get(id);
+            HierarchyNode<T> parentNode = parent == null ? root
+                    : findNode(getDataProvider().getId(parent), visited,
+                            false);
+            if (parentNode == null || parentNode.children == null) {
+                // Under a collapsed item
+                return null;
+            }
+            node = loadChildrenUntilFound(parentNode, id);
+            if (node != null || !searchAll) {
+                return node;
+            }
+        } else if (!searchAll) {
+            return null;
+        }
+
+        while (node == null && !partiallyLoadedNodes.isEmpty()) {
+            loadPendingChildren();
+            node = visibleNodes.get(id);
+        }
+        return node;
+    }
+
+    /**
+     * Fetches the children of the given expanded node a page at a time until
+     * the child with the given id is found.
+     *
+     * @return the child node, or {@code null} if the node has no such child
+     */
+    private HierarchyNode<T> loadChildrenUntilFound(HierarchyNode<T> node,
+            Object id) {
+        HierarchyNode<T> child = visibleNodes.get(id);
+        for (int index = 0; child == null
+                && index < node.children.size(); ++index) {
+            if (node.children.get(index) == null) {
+                getChild(node, index);
+                child = visibleNodes.get(id);
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Gets the map that holds the known parent of the item with the given id.
+     *
+     * @return the map with the parent, or {@code null} if the parent is not
+     *         known
+     */
+    private Map<Object, T> getParentIdMap(Object id) {
+        if (parentIdMap.containsKey(id)) {
+            return parentIdMap;
+        }
+        return hiddenParentIdMap.containsKey(id) ? hiddenParentIdMap : null;
+    }
+
+    /**
+     * Checks whether some expanded items have never been fetched, so that their
+     * parents are not known. Such items are expanded before their ancestors.
+     */
+    private boolean hasUnlocatedExpandedItems() {
+        for (Object id : expandedItemIds) {
+            if (getParentIdMap(id) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes sure that expanded items are not hidden among children that have
+     * not been fetched, as the row counts of those children would be wrong.
+     * Only the pages of children of the known parents of the expanded items
+     * are fetched. Expanded items with no known parent are found when the
+     * children of a newly expanded item are fetched, and expanded items that
+     * are no longer children of their known parent are not searched for again
+     * until they are fetched.
+     */
+    private void resolveExpandedItems() {
+        if (!newlyExpandedItemIds.isEmpty() && hasUnlocatedExpandedItems()) {
+            Set<Object> pending = new HashSet<>(newlyExpandedItemIds);
+            boolean found = true;
+            while (found) {
+                // Fetching the children of an item may reveal another one
+                found = false;
+                for (Object id : new ArrayList<>(pending)) {
+                    HierarchyNode<T> node = findNode(id, new HashSet<>(),
+                            false);
+                    if (node != null) {
+                        pending.remove(id);
+                        found = true;
+                        if (node.children != null) {
+                            updateRowCounts(node,
+                                    loadRemainingChildren(node));
+                        }
+                    }
+                }
+            }
+        }
+        newlyExpandedItemIds.clear();
+
+        // Finding the items may collapse the ones without children
+        for (Object id : new ArrayList<>(expandedItemIds)) {
+            if (partiallyLoadedNodes.isEmpty()) {
+                return;
+            }
+            if (findNode(id, new HashSet<>(), false) == null) {
+                forgetStaleParent(id);
+            }
+        }
+    }
+
+    /**
+     * Forgets the known parent of an item if the item is no longer among the
+     * children of that parent.
+     */
+    private void forgetStaleParent(Object id) {
+        Map<Object, T> parents = getParentIdMap(id);
+        if (parents == null) {
+            return;
+        }
+        T parent = parents.get(id);
+        HierarchyNode<T> parentNode = parent == null ? root
+                : visibleNodes.get(getDataProvider().getId(parent));
+        if (parentNode != null && parentNode.children != null
+                && parentNode.isFullyLoaded()) {
+            parents.remove(id);
+            Set<Object> siblings = childIdMap.get(parentNode.id);
+            if (siblings != null) {
+                siblings.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Fetches all children of the currently partially loaded nodes.
+     */
+    private void loadPendingChildren() {
+        for (HierarchyNode<T> node : new ArrayList<>(partiallyLoadedNodes)) {
+            updateRowCounts(node, loadRemainingChildren(node));
+        }
+    }
+
+    /**
+     * Fetches all children of the given expanded node that have not been
+     * fetched yet. The row counts of the ancestors of the node are not
+     * updated.
+     *
+     * @return the amount of rows added to the node by expanded children
+     */
+    private int loadRemainingChildren(HierarchyNode<T> node) {
+        int addedRows = 0;
+        int index = node.children.indexOf(null);
+        while (index >= 0) {
+            int end = index;
+            while (end < node.children.size()
+                    && node.children.get(end) == null) {
+                ++end;
+            }
+            addedRows += loadChildRange(node, index, end);
+            end = Math.min(end, node.children.size());
+            index = node.children.subList(end, node.children.size())
+                    .indexOf(null);
+            index = index < 0 ? index : end + index;
+        }
+        return addedRows;
+    }
+
+    /**
+     * Fetches the child count of the given expanded node and indexes the first
+     * page of its children, including the subtrees of the children that are
+     * expanded as well. The row counts of the ancestors are not updated.
+     *
+     * @param node
+     *            the expanded node
+     */
+    private void loadChildren(HierarchyNode<T> node) {
+        int childCount = getDataProvider()
+                .getChildCount(new HierarchicalQuery<>(filter, node.item));
+        if (childCount <= 0) {
+            removeChildren(node.id);
+            return;
+        }
+        childIdMap.remove(node.id);
+        node.initChildren(childCount);
+        loadChildRange(node, 0, Math.min(childCount, CHILD_PAGE_SIZE));
+        if (node.children.isEmpty()) {
+            // The child count was outdated
+            node.clearChildren();
+            removeChildren(node.id);
+        }
+    }
+
+    /**
+     * Gets the child in the given index of an expanded node, fetching a page
+     * of children if needed.
+     *
+     * @return the child, or {@code null} if the node has fewer children than
+     *         its cached child count
+     */
+    private HierarchyNode<T> getChild(HierarchyNode<T> node, int index) {
+        if (index >= node.children.size()) {
+            return null;
+        }
+        HierarchyNode<T> child = node.children.get(index);
+        if (child == null) {
+            int end = index + 1;
+            while (end < node.children.size() && end - index < CHILD_PAGE_SIZE
+                    && node.children.get(end) == null) {
+                ++end;
+            }
+            updateRowCounts(node, loadChildRange(node, index, end));
+            child = index < node.children.size() ? node.children.get(index)
+                    : null;
+        }
+        return child;
+    }
+
+    /**
+     * Fetches and indexes the children of the given node in the given range.
+     * The row counts of the ancestors of the node are not updated. If the
+     * data provider returns fewer children than its child count, the cached
+     * child count of the node is corrected.
+     *
+     * @param node
+     *            the expanded node
+     * @param start
+     *            the index of the first child to fetch
+     * @param end
+     *            the index after the last child to fetch
+     * @return the change in the amount of rows of the node
+     */
+    private int loadChildRange(HierarchyNode<T> node, int start, int end) {
+        List<T> childList = doFetchDirectChildren(node.item,
+                Range.between(start, end)).collect(Collectors.toList());
+        int addedRows = 0;
+        if (childList.size() < end - start) {
+            // The child count was outdated or approximate
+            end = start + childList.size();
+            addedRows -= truncateChildren(node, end);
+        } else if (childList.size() > end - start) {
+            childList = childList.subList(0, end - start);
+        }
+        registerChildren(node.item, childList);
+
+        for (int i = start; i < end; ++i) {
+            T item = childList.get(i - start);
+            Object id = getDataProvider().getId(item);
+            HierarchyNode<T> child = new HierarchyNode<>(item, id, node, i);
+            node.children.set(i, child);
+            visibleNodes.put(id, child);
+            if (isExpanded(item)) {
+                loadChildren(child);
+                node.addRows(i, child.descendantCount);
+                addedRows += child.descendantCount;
+            }
+        }
+        node.loadedChildCount += childList.size();
+        if (node.isFullyLoaded()) {
+            partiallyLoadedNodes.remove(node);
+        } else {
+            partiallyLoadedNodes.add(node);
+        }
+        return addedRows;
+    }
+
+    /**
+     * Drops the children of an expanded node from the given index on.
+     *
+     * @return the amount of rows removed from the node
+     */
+    private int truncateChildren(HierarchyNode<T> node, int childCount) {
+        int rows = node.descendantCount;
+        for (HierarchyNode<T> child : node.children.subList(childCount,
+                node.children.size())) {
+            if (child != null) {
+                visibleNodes.remove(child.id);
+                if (child.children != null) {
+                    removeVisibleNodes(child);
+                }
+            }
+        }
+        node.truncateChildren(childCount);
+        return rows - node.descendantCount;
+    }
+
+    private void removeVisibleNodes(HierarchyNode<T> node) {
+        Deque<HierarchyNode<T>> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            HierarchyNode<T> expanded = pending.pop();
+            partiallyLoadedNodes.remove(expanded);
+            for (HierarchyNode<T> child : expanded.children) {
+                if (child != null) {
+                    visibleNodes.remove(child.id);
+                    if (child.children != null) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the row counts of all the ancestors of a node after the visible
+     * subtree of the node has changed.
+     *
+     * @param node
+     *            the changed node
+     * @param delta
+     *            the change in the amount of visible rows
+     */
+    private void updateRowCounts(HierarchyNode<T> node, int delta) {
+        for (; node.parent != null; node = node.parent) {
+            node.parent.addRows(node.indexInParent, delta);
+        }
+    }
+
+    private int getDescendantCount(T item) {
+        HierarchyNode<T> node = getVisibleNode(item);
+        if (node == null) {
+            return (int) getHierarchy(item, false).count();
+        }
+        return node.descendantCount;
+    }
+
+    private int getIndexOf(HierarchyNode<T> node) {
+        int index = 0;
+        for (; node.parent != null; node = node.parent) {
+            index += node.parent.getRowsBefore(node.indexInParent);
+            if (node.parent != root) {
+                // Row of the parent itself
+                ++index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Finds the node in the given row of the visible subtree of a node, not
+     * counting the node itself.
+     *
+     * @return the node, or {@code null} if the row no longer exists
+     */
+    private HierarchyNode<T> getNodeAt(HierarchyNode<T> node, int row) {
+        while (true) {
+            int index = node.findChild(row);
+            row -= node.getRowsBefore(index);
+            node = getChild(node, index);
+            if (node == null || row == 0) {
+                return node;
+            }
+            if (node.children == null) {
+                // The child count of the node was outdated
+                return null;
+            }
+            // Skip the row of the child itself
+            --row;
+        }
+    }
+
+    /**
+     * Gets the node following the given one in the flattened hierarchy, or
+     * {@code null} if it is the last node of the subtree of {@code ancestor}.
+     */
+    private HierarchyNode<T> getNextNode(HierarchyNode<T> node,
+            HierarchyNode<T> ancestor) {
+        if (node.children != null) {
+            return getChild(node, 0);
+        }
+        for (; node != ancestor; node = node.parent) {
+            if (node.indexInParent + 1 < node.parent.children.size()) {
+                return getChild(node.parent, node.indexInParent + 1);
+            }
+        }
+        return null;
     }
 
     /**
@@ -489,15 +1207,24 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
     }
 
     /**
-     * Register parent and children items into inner structures.
+     * Register parent and children items into inner structures. Children of
+     * the same parent may be registered in several calls, as they are fetched
+     * one page at a time.
      * May be overridden in subclasses.
      *
      * @param parent the parent item
      * @param childList list of parents children to be registered.
      */
     protected void registerChildren(T parent, List<T> childList) {
-        childMap.put(parent, new HashSet<>(childList));
-        childList.forEach(x -> parentIdMap.put(getDataProvider().getId(x), parent));
+        Set<Object> childIds = childIdMap.computeIfAbsent(
+                parent == null ? null : getDataProvider().getId(parent),
+                key -> new HashSet<>());
+        childList.forEach(x -> {
+            Object id = getDataProvider().getId(x);
+            childIds.add(id);
+            parentIdMap.put(id, parent);
+            hiddenParentIdMap.remove(id);
+        });
     }
 
     /**
@@ -522,9 +1249,39 @@ public class HierarchyMapper<T, F> implements DataGenerator<T> {
         return Stream.concat(parentStream, children);
     }
 
+    @Override
+    public void refreshData(T item) {
+        HierarchyNode<T> node = root == null ? null
+                : visibleNodes.get(getDataProvider().getId(item));
+        if (node != null) {
+            node.item = item;
+            if (node.children != null) {
+                // The cached child count may be outdated
+                int removedRows = node.descendantCount;
+                removeVisibleNodes(node);
+                removeDescendants(node.id, false);
+                node.clearChildren();
+                loadChildren(node);
+                updateRowCounts(node, node.descendantCount - removedRows);
+                resolveExpandedItems();
+            }
+        }
+    }
+
     @Override
     public void destroyAllData() {
-        childMap.clear();
-        parentIdMap.clear();
+        // Remember where the expanded items were so that they can be found
+        // again without fetching the whole hierarchy
+        Map<Object, T> expandedParents = new HashMap<>();
+        for (Object id : expandedItemIds) {
+            Map<Object, T> parents = getParentIdMap(id);
+            if (parents != null) {
+                expandedParents.put(id, parents.get(id));
+            }
+        }
+        childIdMap = new HashMap<>();
+        parentIdMap = new HashMap<>();
+        hiddenParentIdMap = expandedParents;
+        invalidateHierarchy();
     }
 }
@@ -15,9 +15,19 @@
  */
 package com.vaadin.data.provider;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import com.vaadin.data.ValueProvider;
 import com.vaadin.server.SerializableBiPredicate;
@@ -26,6 +36,7 @@ import com.vaadin.server.SerializablePredicate;
 import com.vaadin.server.SerializableSupplier;
 import com.vaadin.shared.data.sort.SortDirection;
 import com.vaadin.ui.UI;
+import com.vaadin.util.CurrentInstance;
 
 /**
  * A class containing a number of static helper methods for implementing
@@ -50,6 +61,11 @@ public class InMemoryDataProviderHelpers {
         return Locale.getDefault();
     };
 
+    /**
+     * The smallest number of items processed by a single parallel task.
+     */
+    private static final int MIN_PARALLEL_CHUNK_SIZE = 1024;
+
     /**
      * Wraps a given data provider so that its filter ignores null items
      * returned by the given value provider.
@@ -181,4 +197,156 @@ public class InMemoryDataProviderHelpers {
 
         return item -> Objects.equals(valueProvider.apply(item), requiredValue);
     }
+
+    /**
+     * Filters and sorts the given items. Either the filter or the comparator
+     * may be {@code null}, in which case that step is skipped.
+     * <p>
+     * If the parallel threshold is positive and there are at least that many
+     * items, the work is split into chunks that are filtered and sorted in the
+     * common fork/join pool, and the sorted chunks are then merged. If the
+     * pool does not accept the work, the items are processed in the calling
+     * thread instead. The result is always the same as for
+     * the sequential case: filtering keeps the original item order and the
+     * sort is stable. The current {@link UI} and other
+     * {@link CurrentInstance}s are made available to the filter and comparator
+     * also in the parallel case, but both of them must be safe to call from
+     * several threads at the same time.
+     *
+     * @param items
+     *            the items to process, not {@code null}
+     * @param filter
+     *            the filter to apply, or {@code null} to include all items
+     * @param comparator
+     *            the comparator to sort with, or {@code null} to keep the
+     *            original order
+     * @param parallelThreshold
+     *            the minimum number of items for processing them in parallel,
+     *            or {@code 0} to always process them in the calling thread
+     * @return a new list containing the filtered and sorted items
+     * @since 8.3
+     */
+    public static <T> List<T> filterAndSort(Collection<T> items,
+            Predicate<? super T> filter, Comparator<? super T> comparator,
+            int parallelThreshold) {
+        Objects.requireNonNull(items, "Items cannot be null");
+
+        if (parallelThreshold <= 0 || items.size() < parallelThreshold) {
+            return filterAndSortSequentially(items, filter, comparator);
+        }
+
+        List<T> source = items instanceof List && items instanceof RandomAccess
+                ? (List<T>) items
+                : new ArrayList<>(items);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE,
+                source.size() / (pool.getParallelism() * 4));
+
+        try {
+            return pool.invoke(new FilterAndSortTask<>(source, 0,
+                    source.size(), chunkSize, filter, comparator,
+                    CurrentInstance.getInstances()));
+        } catch (RejectedExecutionException e) {
+            return filterAndSortSequentially(source, filter, comparator);
+        }
+    }
+
+    private static <T> List<T> filterAndSortSequentially(Collection<T> items,
+            Predicate<? super T> filter, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (filter == null || filter.test(item)) {
+                result.add(item);
+            }
+        }
+        if (comparator instanceof SortKeyComparator) {
+            // Extract the sort keys of each item only once
+            ((SortKeyComparator<? super T>) comparator).sort(result);
+        } else if (comparator != null) {
+            result.sort(comparator);
+        }
+        return result;
+    }
+
+    /**
+     * Fork/join task that filters and sorts a range of a list by splitting it
+     * in halves until the ranges are small enough, and then merging the sorted
+     * halves back together.
+     */
+    private static class FilterAndSortTask<T> extends RecursiveTask<List<T>> {
+        private final List<T> source;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Predicate<? super T> filter;
+        private final Comparator<? super T> comparator;
+        private final Map<Class<?>, CurrentInstance> instances;
+
+        private FilterAndSortTask(List<T> source, int from, int to,
+                int chunkSize, Predicate<? super T> filter,
+                Comparator<? super T> comparator,
+                Map<Class<?>, CurrentInstance> instances) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.filter = filter;
+            this.comparator = comparator;
+            this.instances = instances;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= chunkSize) {
+                return withInstances(() -> filterAndSortSequentially(
+                        source.subList(from, to), filter, comparator));
+            }
+
+            int middle = (from + to) >>> 1;
+            FilterAndSortTask<T> first = new FilterAndSortTask<>(source, from,
+                    middle, chunkSize, filter, comparator, instances);
+            FilterAndSortTask<T> second = new FilterAndSortTask<>(source,
+                    middle, to, chunkSize, filter, comparator, instances);
+            first.fork();
+            List<T> secondResult = second.compute();
+            List<T> firstResult = first.join();
+
+            return withInstances(() -> merge(firstResult, secondResult));
+        }
+
+        private List<T> merge(List<T> first, List<T> second) {
+            List<T> result = new ArrayList<>(first.size() + second.size());
+            if (comparator == null) {
+                result.addAll(first);
+                result.addAll(second);
+                return result;
+            }
+
+            int i = 0;
+            int j = 0;
+            while (i < first.size() && j < second.size()) {
+                // Prefer the first list on ties to keep the sort stable
+                if (comparator.compare(first.get(i), second.get(j)) <= 0) {
+                    result.add(first.get(i++));
+                } else {
+                    result.add(second.get(j++));
+                }
+            }
+            result.addAll(first.subList(i, first.size()));
+            result.addAll(second.subList(j, second.size()));
+            return result;
+        }
+
+        private List<T> withInstances(Supplier<List<T>> work) {
+            Map<Class<?>, CurrentInstance> old = CurrentInstance.getInstances();
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(instances);
+            try {
+                return work.get();
+            } finally {
+                CurrentInstance.clearAll();
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+    }
 }
@@ -0,0 +1,731 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializablePredicate;
+
+/**
+ * {@link ListDataProvider} that can resolve filters through indexes declared
+ * on item properties instead of testing every item.
+ * <p>
+ * Indexes are declared for a {@link ValueProvider} instance using
+ * {@link #addEqualityIndex(ValueProvider)},
+ * {@link #addRangeIndex(ValueProvider)} and
+ * {@link #addPrefixIndex(ValueProvider, Locale)}. Filters created through
+ * {@link #setFilterByValue(ValueProvider, Object)},
+ * {@link #addFilterByValue(ValueProvider, Object)},
+ * {@link #setFilterByRange(ValueProvider, Comparable, Comparable)},
+ * {@link #setFilterByPrefix(ValueProvider, String)},
+ * {@link #filteringByEquals(ValueProvider)} and
+ * {@link #filteringByPrefix(ValueProvider, Locale)} are resolved through an
+ * index if one has been declared for the same value provider instance, and
+ * tested for each item otherwise. Any other filters are only tested for the
+ * items that pass the indexed filters.
+ * <p>
+ * The indexes are built lazily when first needed. The provider cannot detect
+ * changes to the backing collection or its items, so {@link #refreshAll()}
+ * must be called after adding, removing, replacing or reordering items, which
+ * rebuilds the indexes. {@link #refreshItem(Object)} must be called whenever
+ * an indexed property of an item changes, which updates the indexes for that
+ * item. Until then, indexed filters are resolved against the old values.
+ *
+ * @param <T>
+ *            data type
+ * @since 8.3
+ */
+public class IndexedListDataProvider<T> extends ListDataProvider<T> {
+
+    private final Map<ValueProvider<T, ?>, EqualityIndex<T>> equalityIndexes = new HashMap<>();
+    private final Map<ValueProvider<T, ?>, RangeIndex<T, ?>> rangeIndexes = new HashMap<>();
+    private final Map<ValueProvider<T, String>, PrefixIndex<T>> prefixIndexes = new HashMap<>();
+
+    private transient boolean indexesValid;
+
+    private transient Object[] indexedItems;
+
+    private transient Map<Object, Integer> positions;
+
+    /**
+     * Constructs a new indexed list data provider.
+     * <p>
+     * No protective copy is made of the list. {@link #refreshAll()} must be
+     * called after changing the provided backing Collection for the changes to
+     * be visible via the indexes of this data provider. The caller should copy
+     * the list if necessary.
+     *
+     * @param items
+     *            the initial data, not null
+     */
+    public IndexedListDataProvider(Collection<T> items) {
+        super(items);
+    }
+
+    /**
+     * Declares a hash index for the given property. The index is used by
+     * equality filters for the same value provider instance.
+     *
+     * @param valueProvider
+     *            the value provider of the indexed property, not
+     *            <code>null</code>
+     */
+    public <V> void addEqualityIndex(ValueProvider<T, V> valueProvider) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        addIndex(equalityIndexes, valueProvider,
+                new EqualityIndex<>(valueProvider));
+    }
+
+    /**
+     * Declares a sorted index for the given property. The index is used by
+     * range filters for the same value provider instance. Items for which the
+     * property is <code>null</code> never pass range filters.
+     *
+     * @param valueProvider
+     *            the value provider of the indexed property, not
+     *            <code>null</code>
+     */
+    public <V extends Comparable<? super V>> void addRangeIndex(
+            ValueProvider<T, V> valueProvider) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        addIndex(rangeIndexes, valueProvider, new RangeIndex<>(valueProvider));
+    }
+
+    /**
+     * Declares a prefix index for the given string property. The index is used
+     * by case insensitive prefix filters for the same value provider instance.
+     * Items for which the property is <code>null</code> never pass prefix
+     * filters.
+     *
+     * @param valueProvider
+     *            the value provider of the indexed property, not
+     *            <code>null</code>
+     * @param locale
+     *            the locale to use for converting strings to lower case, not
+     *            <code>null</code>
+     */
+    public void addPrefixIndex(ValueProvider<T, String> valueProvider,
+            Locale locale) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        addIndex(prefixIndexes, valueProvider,
+                new PrefixIndex<>(valueProvider, locale));
+    }
+
+    private synchronized <K, I extends PropertyIndex<T, ?>> void addIndex(
+            Map<K, I> indexes, K valueProvider, I index) {
+        indexes.put(valueProvider, index);
+        if (indexesValid) {
+            index.build(indexedItems);
+        }
+    }
+
+    @Override
+    public void addFilter(SerializablePredicate<T> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+
+        SerializablePredicate<T> oldFilter = getFilter();
+        if (oldFilter == null) {
+            setFilter(filter);
+        } else {
+            // Keep the parts visible so that indexed parts can be resolved
+            setFilter(new AllFilter<>(oldFilter, filter));
+        }
+    }
+
+    @Override
+    public <V> void setFilterByValue(ValueProvider<T, V> valueProvider,
+            V requiredValue) {
+        setFilter(createEqualsFilter(valueProvider, requiredValue));
+    }
+
+    @Override
+    public <V> void addFilterByValue(ValueProvider<T, V> valueProvider,
+            V requiredValue) {
+        addFilter(createEqualsFilter(valueProvider, requiredValue));
+    }
+
+    /**
+     * Sets a filter that requires an item property to be within the given
+     * range. The filter replaces any filter that has been set or added
+     * previously.
+     *
+     * @param valueProvider
+     *            value provider of the property, resolved through a range
+     *            index if one has been added for it, not <code>null</code>
+     * @param min
+     *            the smallest accepted value, or <code>null</code> for no
+     *            lower bound
+     * @param max
+     *            the largest accepted value, or <code>null</code> for no upper
+     *            bound
+     */
+    public <V extends Comparable<? super V>> void setFilterByRange(
+            ValueProvider<T, V> valueProvider, V min, V max) {
+        setFilter(createRangeFilter(valueProvider, min, max));
+    }
+
+    /**
+     * Adds a filter that requires an item property to be within the given
+     * range. The filter will be used in addition to any filter that has been
+     * set or added previously.
+     *
+     * @param valueProvider
+     *            value provider of the property, resolved through a range
+     *            index if one has been added for it, not <code>null</code>
+     * @param min
+     *            the smallest accepted value, or <code>null</code> for no
+     *            lower bound
+     * @param max
+     *            the largest accepted value, or <code>null</code> for no upper
+     *            bound
+     */
+    public <V extends Comparable<? super V>> void addFilterByRange(
+            ValueProvider<T, V> valueProvider, V min, V max) {
+        addFilter(createRangeFilter(valueProvider, min, max));
+    }
+
+    /**
+     * Sets a filter that requires a string property to start with the given
+     * prefix, ignoring case. The filter replaces any filter that has been set
+     * or added previously.
+     *
+     * @param valueProvider
+     *            value provider of the property, resolved through a prefix
+     *            index if one has been added for it, not <code>null</code>
+     * @param prefix
+     *            the required prefix, not <code>null</code>
+     */
+    public void setFilterByPrefix(ValueProvider<T, String> valueProvider,
+            String prefix) {
+        setFilter(createPrefixFilter(valueProvider, prefix));
+    }
+
+    /**
+     * Adds a filter that requires a string property to start with the given
+     * prefix, ignoring case. The filter will be used in addition to any filter
+     * that has been set or added previously.
+     *
+     * @param valueProvider
+     *            value provider of the property, resolved through a prefix
+     *            index if one has been added for it, not <code>null</code>
+     * @param prefix
+     *            the required prefix, not <code>null</code>
+     */
+    public void addFilterByPrefix(ValueProvider<T, String> valueProvider,
+            String prefix) {
+        addFilter(createPrefixFilter(valueProvider, prefix));
+    }
+
+    @Override
+    public <V> DataProvider<T, V> filteringByEquals(
+            ValueProvider<T, V> valueProvider) {
+        if (!equalityIndexes.containsKey(valueProvider)) {
+            return super.filteringByEquals(valueProvider);
+        }
+        return withConvertedFilter(
+                filterValue -> createEqualsFilter(valueProvider, filterValue));
+    }
+
+    @Override
+    public DataProvider<T, String> filteringByPrefix(
+            ValueProvider<T, String> valueProvider, Locale locale) {
+        PrefixIndex<T> index = prefixIndexes.get(valueProvider);
+        if (index == null || !index.locale.equals(locale)) {
+            return super.filteringByPrefix(valueProvider, locale);
+        }
+        return withConvertedFilter(
+                prefix -> new IndexFilter<>(index, prefix, null));
+    }
+
+    private <V> SerializablePredicate<T> createEqualsFilter(
+            ValueProvider<T, V> valueProvider, V requiredValue) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+
+        EqualityIndex<T> index = equalityIndexes.get(valueProvider);
+        if (index == null) {
+            return InMemoryDataProviderHelpers.createEqualsFilter(valueProvider,
+                    requiredValue);
+        }
+        return new IndexFilter<>(index, requiredValue, null);
+    }
+
+    private <V extends Comparable<? super V>> SerializablePredicate<T> createRangeFilter(
+            ValueProvider<T, V> valueProvider, V min, V max) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+
+        RangeIndex<T, ?> index = rangeIndexes.get(valueProvider);
+        if (index == null) {
+            return item -> {
+                V value = valueProvider.apply(item);
+                return value != null
+                        && (min == null || value.compareTo(min) >= 0)
+                        && (max == null || value.compareTo(max) <= 0);
+            };
+        }
+        return new IndexFilter<>(index, min, max);
+    }
+
+    private SerializablePredicate<T> createPrefixFilter(
+            ValueProvider<T, String> valueProvider, String prefix) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        Objects.requireNonNull(prefix, "Prefix cannot be null");
+
+        PrefixIndex<T> index = prefixIndexes.get(valueProvider);
+        if (index == null) {
+            Locale locale = InMemoryDataProviderHelpers.CURRENT_LOCALE_SUPPLIER
+                    .get();
+            String lowerCasePrefix = prefix.toLowerCase(locale);
+            return item -> {
+                String value = valueProvider.apply(item);
+                return value != null && value.toLowerCase(locale)
+                        .startsWith(lowerCasePrefix);
+            };
+        }
+        return new IndexFilter<>(index, prefix, null);
+    }
+
+    @Override
+    public void refreshAll() {
+        synchronized (this) {
+            indexesValid = false;
+        }
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        synchronized (this) {
+            if (indexesValid) {
+                Integer position = positions.get(getId(item));
+                if (position == null || position < 0) {
+                    // Unknown or ambiguous item, index from scratch next time
+                    indexesValid = false;
+                } else {
+                    indexedItems[position] = item;
+                    getIndexes().forEach(index -> index.update(position, item));
+                }
+            }
+        }
+        super.refreshItem(item);
+    }
+
+    @Override
+    List<T> filterItems(SerializablePredicate<T> queryFilter) {
+        // Provider filters are tested before query filters
+        List<SerializablePredicate<T>> filters = new ArrayList<>();
+        collectFilters(getFilter(), filters);
+        collectFilters(queryFilter, filters);
+
+        List<T> candidates;
+        List<SerializablePredicate<T>> remaining = new ArrayList<>();
+        synchronized (this) {
+            BitSet matches = null;
+            for (SerializablePredicate<T> filter : filters) {
+                if (filter instanceof IndexFilter
+                        && isOwnIndex(((IndexFilter<T>) filter).index)) {
+                    ensureIndexes();
+                    BitSet found = ((IndexFilter<T>) filter).lookup();
+                    if (matches == null) {
+                        matches = (BitSet) found.clone();
+                    } else {
+                        matches.and(found);
+                    }
+                } else {
+                    remaining.add(filter);
+                }
+            }
+            if (matches == null) {
+                return super.filterItems(queryFilter);
+            }
+
+            candidates = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches
+                    .nextSetBit(i + 1)) {
+                candidates.add((T) indexedItems[i]);
+            }
+        }
+
+        SerializablePredicate<T> remainingFilter = remaining.stream()
+                .reduce((f1, f2) -> item -> f1.test(item) && f2.test(item))
+                .orElse(null);
+        return InMemoryDataProviderHelpers.filterAndSort(candidates,
+                remainingFilter, null, getParallelThreshold());
+    }
+
+    private static <T> void collectFilters(SerializablePredicate<T> filter,
+            List<SerializablePredicate<T>> filters) {
+        if (filter instanceof AllFilter) {
+            for (SerializablePredicate<T> part : ((AllFilter<T>) filter).parts) {
+                collectFilters(part, filters);
+            }
+        } else if (filter != null) {
+            filters.add(filter);
+        }
+    }
+
+    private boolean isOwnIndex(PropertyIndex<T, ?> index) {
+        return getIndexes().anyMatch(ownIndex -> ownIndex == index);
+    }
+
+    private Stream<PropertyIndex<T, ?>> getIndexes() {
+        return Stream.of(equalityIndexes.values(),
+                rangeIndexes.values(), prefixIndexes.values())
+                .flatMap(Collection::stream);
+    }
+
+    private void ensureIndexes() {
+        // Items added or removed without refreshAll are a programming error,
+        // but a changed size is cheap to detect
+        if (indexesValid && indexedItems.length == getItems().size()) {
+            return;
+        }
+
+        indexedItems = getItems().toArray();
+        positions = new HashMap<>();
+        for (int i = 0; i < indexedItems.length; i++) {
+            Integer previous = positions.put(getId((T) indexedItems[i]), i);
+            if (previous != null) {
+                // Several equal items, refreshing any of them rebuilds
+                positions.put(getId((T) indexedItems[i]), -1);
+            }
+        }
+        getIndexes().forEach(index -> index.build(indexedItems));
+        indexesValid = true;
+    }
+
+    /**
+     * A filter that is the conjunction of other filters.
+     */
+    private static class AllFilter<T> implements SerializablePredicate<T> {
+        private final List<SerializablePredicate<T>> parts;
+
+        private AllFilter(SerializablePredicate<T> first,
+                SerializablePredicate<T> second) {
+            parts = Arrays.asList(first, second);
+        }
+
+        @Override
+        public boolean test(T item) {
+            for (SerializablePredicate<T> part : parts) {
+                if (!part.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A filter that can be resolved through an index. It can still be tested
+     * item by item, e.g. when combined with other filters by the caller.
+     */
+    private static class IndexFilter<T> implements SerializablePredicate<T> {
+        private final PropertyIndex<T, ?> index;
+        private final Object value;
+        private final Object secondValue;
+
+        private IndexFilter(PropertyIndex<T, ?> index, Object value,
+                Object secondValue) {
+            this.index = index;
+            this.value = value;
+            this.secondValue = secondValue;
+        }
+
+        private BitSet lookup() {
+            return index.lookup(value, secondValue);
+        }
+
+        @Override
+        public boolean test(T item) {
+            return index.matches(item, value, secondValue);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            // Equal filters let the snapshot of the provider be reused when
+            // e.g. a new filter instance is created for each query
+            IndexFilter<?> other = (IndexFilter<?>) obj;
+            return index == other.index && Objects.equals(value, other.value)
+                    && Objects.equals(secondValue, other.secondValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(index), value,
+                    secondValue);
+        }
+    }
+
+    /**
+     * Base class for an index mapping the values of a property to the positions
+     * of the items in the backing collection.
+     */
+    private abstract static class PropertyIndex<T, V> implements Serializable {
+        protected final ValueProvider<T, V> valueProvider;
+
+        private transient Object[] keys;
+
+        protected PropertyIndex(ValueProvider<T, V> valueProvider) {
+            this.valueProvider = valueProvider;
+        }
+
+        protected Object getKey(T item) {
+            return valueProvider.apply(item);
+        }
+
+        void build(Object[] items) {
+            clear();
+            keys = new Object[items.length];
+            for (int i = 0; i < items.length; i++) {
+                keys[i] = getKey((T) items[i]);
+                add(i, keys[i]);
+            }
+        }
+
+        void update(int position, T item) {
+            Object key = getKey(item);
+            if (!Objects.equals(keys[position], key)) {
+                remove(position, keys[position]);
+                add(position, key);
+                keys[position] = key;
+            }
+        }
+
+        protected abstract void clear();
+
+        protected abstract void add(int position, Object key);
+
+        protected abstract void remove(int position, Object key);
+
+        protected abstract BitSet lookup(Object value, Object secondValue);
+
+        protected abstract boolean matches(T item, Object value,
+                Object secondValue);
+    }
+
+    private static class EqualityIndex<T> extends PropertyIndex<T, Object> {
+        private transient Map<Object, BitSet> positions;
+
+        private EqualityIndex(ValueProvider<T, ?> valueProvider) {
+            super((ValueProvider<T, Object>) valueProvider);
+        }
+
+        @Override
+        protected void clear() {
+            positions = new HashMap<>();
+        }
+
+        @Override
+        protected void add(int position, Object key) {
+            positions.computeIfAbsent(key, k -> new BitSet()).set(position);
+        }
+
+        @Override
+        protected void remove(int position, Object key) {
+            removePosition(positions, key, position);
+        }
+
+        @Override
+        protected BitSet lookup(Object value, Object secondValue) {
+            return positions.getOrDefault(value, new BitSet());
+        }
+
+        @Override
+        protected boolean matches(T item, Object value, Object secondValue) {
+            return Objects.equals(valueProvider.apply(item), value);
+        }
+    }
+
+    private static class RangeIndex<T, V extends Comparable<? super V>>
+            extends PropertyIndex<T, V> {
+        private transient NavigableMap<V, BitSet> positions;
+
+        private RangeIndex(ValueProvider<T, V> valueProvider) {
+            super(valueProvider);
+        }
+
+        @Override
+        protected void clear() {
+            positions = new TreeMap<>();
+        }
+
+        @Override
+        protected void add(int position, Object key) {
+            if (key != null) {
+                positions.computeIfAbsent((V) key, k -> new BitSet())
+                        .set(position);
+            }
+        }
+
+        @Override
+        protected void remove(int position, Object key) {
+            if (key != null) {
+                removePosition(positions, key, position);
+            }
+        }
+
+        @Override
+        protected BitSet lookup(Object min, Object max) {
+            NavigableMap<V, BitSet> range = positions;
+            if (min != null) {
+                range = range.tailMap((V) min, true);
+            }
+            if (max != null) {
+                range = range.headMap((V) max, true);
+            }
+            BitSet result = new BitSet();
+            range.values().forEach(result::or);
+            return result;
+        }
+
+        @Override
+        protected boolean matches(T item, Object min, Object max) {
+            V value = valueProvider.apply(item);
+            return value != null
+                    && (min == null || value.compareTo((V) min) >= 0)
+                    && (max == null || value.compareTo((V) max) <= 0);
+        }
+    }
+
+    private static class PrefixIndex<T> extends PropertyIndex<T, String> {
+        private final Locale locale;
+
+        private transient TrieNode root;
+
+        private PrefixIndex(ValueProvider<T, String> valueProvider,
+                Locale locale) {
+            super(valueProvider);
+            this.locale = locale;
+        }
+
+        @Override
+        protected Object getKey(T item) {
+            String value = valueProvider.apply(item);
+            return value == null ? null : value.toLowerCase(locale);
+        }
+
+        @Override
+        protected void clear() {
+            root = new TrieNode();
+        }
+
+        @Override
+        protected void add(int position, Object key) {
+            if (key == null) {
+                return;
+            }
+            TrieNode node = root;
+            String string = (String) key;
+            for (int i = 0; i < string.length(); i++) {
+                node = node.children.computeIfAbsent(string.charAt(i),
+                        c -> new TrieNode());
+            }
+            node.positions.set(position);
+        }
+
+        @Override
+        protected void remove(int position, Object key) {
+            if (key == null) {
+                return;
+            }
+            String string = (String) key;
+            TrieNode[] path = new TrieNode[string.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < string.length(); i++) {
+                path[i + 1] = path[i].children.get(string.charAt(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+            path[string.length()].positions.clear(position);
+
+            // Prune the nodes that no longer lead to any item
+            for (int i = string.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].children.remove(string.charAt(i - 1));
+            }
+        }
+
+        @Override
+        protected BitSet lookup(Object prefix, Object secondValue) {
+            BitSet result = new BitSet();
+            TrieNode node = find(((String) prefix).toLowerCase(locale));
+            if (node != null) {
+                node.collect(result);
+            }
+            return result;
+        }
+
+        @Override
+        protected boolean matches(T item, Object prefix, Object secondValue) {
+            String value = valueProvider.apply(item);
+            return value != null && value.toLowerCase(locale)
+                    .startsWith(((String) prefix).toLowerCase(locale));
+        }
+
+        private TrieNode find(String string) {
+            TrieNode node = root;
+            for (int i = 0; i < string.length() && node != null; i++) {
+                node = node.children.get(string.charAt(i));
+            }
+            return node;
+        }
+    }
+
+    private static class TrieNode implements Serializable {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final BitSet positions = new BitSet();
+
+        private boolean isEmpty() {
+            return positions.isEmpty() && children.isEmpty();
+        }
+
+        private void collect(BitSet result) {
+            result.or(positions);
+            children.values().forEach(child -> child.collect(result));
+        }
+    }
+
+    private static <K> void removePosition(Map<K, BitSet> positions, Object key,
+            int position) {
+        BitSet bits = positions.get(key);
+        if (bits != null) {
+            bits.clear(position);
+            if (bits.isEmpty()) {
+                positions.remove(key);
+            }
+        }
+    }
+}
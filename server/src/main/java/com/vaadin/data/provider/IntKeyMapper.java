@@ -0,0 +1,358 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.vaadin.data.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} that identifies data objects with integer keys.
+ * <p>
+ * Mappings are kept in parallel arrays indexed through two open addressing
+ * hash tables, one by the data object identifier and one by the integer key,
+ * so a mapping needs no entry objects, boxed integers or cached key strings.
+ * The string form of a key is its decimal representation, which is created
+ * on demand and parsed back in {@link #get(String)} without allocation.
+ * <p>
+ * Keys are handed out in increasing order. A dropped key is not handed out
+ * again until all other positive {@code int} values have been used, so keys
+ * that the client still refers to after dropping them can not resolve to a
+ * different data object. The storage of dropped mappings is reused.
+ *
+ * @author Vaadin Ltd
+ * @since 8.3
+ *
+ * @param <T>
+ *            the data object type
+ */
+public class IntKeyMapper<T> implements DataKeyMapper<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ValueProvider<T, Object> identifierGetter;
+
+    private int lastKey = 0;
+
+    private int size;
+
+    /*
+     * Mappings, stored in parallel arrays. The key of a free position holds
+     * the negated index of the next free position minus one.
+     */
+    private Object[] objects;
+    private Object[] ids;
+    private int[] keys;
+    private int positionCount;
+    private int firstFree;
+
+    /*
+     * Open addressing tables holding the position of a mapping plus one, or
+     * zero for an empty slot.
+     */
+    private int[] idTable;
+    private int[] keyTable;
+
+    /**
+     * Constructs a new mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public IntKeyMapper(ValueProvider<T, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+        reset();
+    }
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}.
+     */
+    public IntKeyMapper() {
+        this(v -> v);
+    }
+
+    @Override
+    public String key(T dataObject) {
+        if (dataObject == null) {
+            return "null";
+        }
+        return Integer.toString(intKey(dataObject));
+    }
+
+    /**
+     * Gets the integer key for a data object. If no key exists beforehand, a
+     * new key is created.
+     *
+     * @param dataObject
+     *            data object for key mapping, not {@code null}
+     * @return key for given data object, always positive
+     */
+    public int intKey(T dataObject) {
+        Objects.requireNonNull(dataObject, "Data object cannot be null");
+        Object id = identifierGetter.apply(dataObject);
+        int slot = findIdSlot(id);
+        if (slot >= 0) {
+            return keys[idTable[slot] - 1];
+        }
+
+        if ((size + 1) * 2 > idTable.length) {
+            rehash(idTable.length * 2);
+        }
+        int position = allocatePosition();
+        int key = nextKey();
+        objects[position] = dataObject;
+        ids[position] = id;
+        keys[position] = key;
+        insert(idTable, hashId(id), position);
+        insert(keyTable, hashKey(key), position);
+        size++;
+        return key;
+    }
+
+    @Override
+    public boolean has(T dataObject) {
+        return findIdSlot(identifierGetter.apply(dataObject)) >= 0;
+    }
+
+    @Override
+    public T get(String key) {
+        int intKey = parseKey(key);
+        return intKey > 0 ? get(intKey) : null;
+    }
+
+    /**
+     * Gets the data object identified by given integer key.
+     *
+     * @param key
+     *            key of a data object
+     * @return identified data object; <code>null</code> if invalid key
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int key) {
+        int slot = findKeySlot(key);
+        return slot >= 0 ? (T) objects[keyTable[slot] - 1] : null;
+    }
+
+    /**
+     * Checks if the given key is mapped to a data object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        int intKey = parseKey(key);
+        return intKey > 0 && findKeySlot(intKey) >= 0;
+    }
+
+    /**
+     * Gets the number of data objects in this key mapper.
+     *
+     * @return the number of mapped data objects
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void remove(T dataObject) {
+        int slot = findIdSlot(identifierGetter.apply(dataObject));
+        if (slot < 0) {
+            return;
+        }
+        int position = idTable[slot] - 1;
+        delete(idTable, slot, true);
+        delete(keyTable, findKeySlot(keys[position]), false);
+
+        objects[position] = null;
+        ids[position] = null;
+        keys[position] = -firstFree - 1;
+        firstFree = position;
+        size--;
+    }
+
+    @Override
+    public void removeAll() {
+        reset();
+    }
+
+    @Override
+    public void refresh(T dataObject) {
+        int slot = findIdSlot(identifierGetter.apply(dataObject));
+        if (slot >= 0) {
+            objects[idTable[slot] - 1] = dataObject;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setIdentifierGetter(ValueProvider<T, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            Arrays.fill(idTable, 0);
+            for (int position = 0; position < positionCount; position++) {
+                if (keys[position] > 0) {
+                    Object id = identifierGetter.apply((T) objects[position]);
+                    ids[position] = id;
+                    insert(idTable, hashId(id), position);
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        objects = new Object[INITIAL_CAPACITY];
+        ids = new Object[INITIAL_CAPACITY];
+        keys = new int[INITIAL_CAPACITY];
+        idTable = new int[INITIAL_CAPACITY * 2];
+        keyTable = new int[INITIAL_CAPACITY * 2];
+        positionCount = 0;
+        firstFree = -1;
+        size = 0;
+    }
+
+    private int nextKey() {
+        do {
+            lastKey = lastKey == Integer.MAX_VALUE ? 1 : lastKey + 1;
+        } while (findKeySlot(lastKey) >= 0);
+        return lastKey;
+    }
+
+    private int allocatePosition() {
+        if (firstFree >= 0) {
+            int position = firstFree;
+            firstFree = -keys[position] - 1;
+            return position;
+        }
+        if (positionCount == keys.length) {
+            int capacity = keys.length * 2;
+            objects = Arrays.copyOf(objects, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        return positionCount++;
+    }
+
+    private int findIdSlot(Object id) {
+        int mask = idTable.length - 1;
+        int slot = hashId(id) & mask;
+        int entry;
+        while ((entry = idTable[slot]) != 0) {
+            if (Objects.equals(id, ids[entry - 1])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int findKeySlot(int key) {
+        int mask = keyTable.length - 1;
+        int slot = hashKey(key) & mask;
+        int entry;
+        while ((entry = keyTable[slot]) != 0) {
+            if (keys[entry - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int tableSize) {
+        idTable = new int[tableSize];
+        keyTable = new int[tableSize];
+        for (int position = 0; position < positionCount; position++) {
+            if (keys[position] > 0) {
+                insert(idTable, hashId(ids[position]), position);
+                insert(keyTable, hashKey(keys[position]), position);
+            }
+        }
+    }
+
+    private static void insert(int[] table, int hash, int position) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = position + 1;
+    }
+
+    /*
+     * Empties the given slot and moves later entries of the same probe
+     * sequence back so that no tombstones are needed.
+     */
+    private void delete(int[] table, int slot, boolean idHashes) {
+        int mask = table.length - 1;
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            int entry = table[current];
+            if (entry == 0) {
+                break;
+            }
+            int home = (idHashes ? hashId(ids[entry - 1])
+                    : hashKey(keys[entry - 1])) & mask;
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                table[hole] = entry;
+                hole = current;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private static int hashId(Object id) {
+        return mix(Objects.hashCode(id));
+    }
+
+    private static int hashKey(int key) {
+        return mix(key);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Parses a decimal key, returning zero for anything that is not a valid
+     * key.
+     */
+    private static int parseKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > 10) {
+            return 0;
+        }
+        if (key.length() > 1 && key.charAt(0) == '0') {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+}
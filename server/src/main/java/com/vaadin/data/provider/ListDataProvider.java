@@ -15,10 +15,13 @@
  */
 package com.vaadin.data.provider;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.vaadin.server.SerializableComparator;
@@ -41,6 +44,60 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    private int parallelThreshold = 0;
+
+    private boolean snapshotEnabled = false;
+
+    private transient volatile Snapshot<T> snapshot;
+
+    /**
+     * Immutable filtered and optionally sorted view of the backing collection.
+     * A new instance is created whenever the view changes so that concurrent
+     * readers never see a partially built result.
+     */
+    private static final class Snapshot<T> implements Serializable {
+        private final SerializablePredicate<T> queryFilter;
+        private final int backendSize;
+        private final List<T> filtered;
+        private final Comparator<T> inMemorySorting;
+        private final List<QuerySortOrder> sortOrders;
+        private final List<T> sorted;
+
+        private Snapshot(SerializablePredicate<T> queryFilter, int backendSize,
+                List<T> filtered, Comparator<T> inMemorySorting,
+                List<QuerySortOrder> sortOrders, List<T> sorted) {
+            this.queryFilter = queryFilter;
+            this.backendSize = backendSize;
+            this.filtered = filtered;
+            this.inMemorySorting = inMemorySorting;
+            this.sortOrders = sortOrders;
+            this.sorted = sorted;
+        }
+
+        private boolean isFilteredBy(SerializablePredicate<T> filter,
+                int size) {
+            return Objects.equals(queryFilter, filter) && backendSize == size;
+        }
+
+        private boolean isSortedBy(Comparator<T> comparator,
+                List<QuerySortOrder> orders) {
+            if (sorted == null
+                    || !Objects.equals(inMemorySorting, comparator)
+                    || sortOrders.size() != orders.size()) {
+                return false;
+            }
+            for (int i = 0; i < orders.size(); i++) {
+                QuerySortOrder order = orders.get(i);
+                QuerySortOrder other = sortOrders.get(i);
+                if (!Objects.equals(order.getSorted(), other.getSorted())
+                        || order.getDirection() != other.getDirection()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -68,38 +125,196 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
+        List<T> items = getSortedItems(query);
+
+        int size = items.size();
+        int from = Math.min(query.getOffset(), size);
+        int to = (int) Math.min(size, (long) from + query.getLimit());
 
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(c -> c != null)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        return items.subList(from, to).stream();
+    }
 
-        if (comparing.isPresent()) {
-            stream = stream.sorted(comparing.get());
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        if (!snapshotEnabled) {
+            return filterItems(query.getFilter().orElse(null)).size();
         }
+        return getFilteredSnapshot(query).filtered.size();
+    }
 
-        return stream.skip(query.getOffset()).limit(query.getLimit());
+    /**
+     * Gets whether the filtered and sorted items of the latest query are kept
+     * as a snapshot.
+     *
+     * @return {@code true} if snapshots are enabled, {@code false} otherwise
+     * @see #setSnapshotEnabled(boolean)
+     * @since 8.3
+     */
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    /**
+     * Sets whether the filtered and sorted items of the latest query are kept
+     * as a snapshot. When enabled, consecutive page and size requests with an
+     * equal filter and sorting do not re-filter and re-sort the backing
+     * collection. The default is {@code false}, in which case every request is
+     * evaluated against the backing collection as it is.
+     * <p>
+     * The snapshot is only discarded by {@link #refreshAll()},
+     * {@link #refreshItem(Object)}, {@link #setFilter(SerializablePredicate)},
+     * {@link #setSortComparator(SerializableComparator)} and changes in the
+     * size of the backing collection. When snapshots are enabled,
+     * {@link #refreshAll()} or {@link #refreshItem(Object)} must thus be
+     * called after replacing or reordering items of the backing collection or
+     * changing properties of items that are filtered or sorted by. The
+     * snapshot is only reused for query filters that are equal to the previous
+     * one, so a filter created anew for each query is evaluated every time.
+     *
+     * @param snapshotEnabled
+     *            {@code true} to keep a snapshot, {@code false} to evaluate
+     *            every request against the backing collection
+     * @since 8.3
+     */
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+        snapshot = null;
     }
 
     @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+    public void refreshAll() {
+        snapshot = null;
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        // The item may have changed in a way that affects filtering or sorting
+        snapshot = null;
+        super.refreshItem(item);
     }
 
-    private Stream<T> getFilteredStream(
+    private List<T> getSortedItems(Query<T, SerializablePredicate<T>> query) {
+        Comparator<T> inMemorySorting = query.getInMemorySorting();
+        if (!snapshotEnabled) {
+            List<T> filtered = filterItems(query.getFilter().orElse(null));
+            Comparator<T> comparing = getComparator(inMemorySorting);
+            if (comparing == null) {
+                return filtered;
+            }
+            return InMemoryDataProviderHelpers.filterAndSort(filtered, null,
+                    comparing, parallelThreshold);
+        }
+
+        Snapshot<T> current = getFilteredSnapshot(query);
+        if (inMemorySorting == null && sortOrder == null) {
+            return current.filtered;
+        }
+        List<QuerySortOrder> sortOrders = query.getSortOrders();
+        if (current.isSortedBy(inMemorySorting, sortOrders)) {
+            return current.sorted;
+        }
+
+        List<T> sorted = Collections
+                .unmodifiableList(InMemoryDataProviderHelpers.filterAndSort(
+                        current.filtered, null,
+                        getComparator(inMemorySorting), parallelThreshold));
+
+        snapshot = new Snapshot<>(current.queryFilter, current.backendSize,
+                current.filtered, inMemorySorting,
+                new ArrayList<>(sortOrders), sorted);
+        return sorted;
+    }
+
+    private Comparator<T> getComparator(Comparator<T> inMemorySorting) {
+        Comparator<T> comparing;
+        if (inMemorySorting == null) {
+            comparing = sortOrder;
+        } else if (sortOrder == null) {
+            comparing = inMemorySorting;
+        } else {
+            comparing = inMemorySorting.thenComparing(sortOrder);
+        }
+        return comparing;
+    }
+
+    private Snapshot<T> getFilteredSnapshot(
             Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = backend.stream();
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        int backendSize = backend.size();
+
+        Snapshot<T> current = snapshot;
+        if (current != null && current.isFilteredBy(queryFilter, backendSize)) {
+            return current;
+        }
+
+        List<T> filtered = Collections
+                .unmodifiableList(filterItems(queryFilter));
+        current = new Snapshot<>(queryFilter, backendSize, filtered, null,
+                Collections.emptyList(), null);
+        snapshot = current;
+        return current;
+    }
 
+    /**
+     * Filters the backing collection with the filter of this data provider and
+     * the given query filter, keeping the original order of the items.
+     *
+     * @param queryFilter
+     *            the query filter, or {@code null} if the query has no filter
+     * @return a new list of the items that pass the filters
+     */
+    List<T> filterItems(SerializablePredicate<T> queryFilter) {
+        return InMemoryDataProviderHelpers.filterAndSort(backend,
+                getCombinedFilter(queryFilter), null, parallelThreshold);
+    }
+
+    private SerializablePredicate<T> getCombinedFilter(
+            SerializablePredicate<T> queryFilter) {
         // Apply our own filters first so that query filters never see the items
         // that would already have been filtered out
-        if (filter != null) {
-            stream = stream.filter(filter);
+        if (filter == null) {
+            return queryFilter;
+        } else if (queryFilter == null) {
+            return filter;
         }
+        SerializablePredicate<T> ownFilter = filter;
+        return item -> ownFilter.test(item) && queryFilter.test(item);
+    }
 
-        stream = query.getFilter().map(stream::filter).orElse(stream);
+    /**
+     * Gets the number of items from which on filtering and sorting is done in
+     * parallel.
+     *
+     * @return the parallel processing threshold, or {@code 0} if parallel
+     *         processing is disabled
+     * @see #setParallelThreshold(int)
+     * @since 8.3
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-        return stream;
+    /**
+     * Sets the number of items from which on filtering and sorting is done in
+     * parallel using the common fork/join pool. The default is {@code 0},
+     * which disables parallel processing.
+     * <p>
+     * The results are the same as without parallel processing, but the filters
+     * and comparators of this data provider and its queries may be called from
+     * several threads at the same time and must thus be thread safe.
+     *
+     * @param parallelThreshold
+     *            the minimum number of items for parallel processing, or
+     *            {@code 0} to disable parallel processing
+     * @since 8.3
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Parallel threshold cannot be negative");
+        }
+        this.parallelThreshold = parallelThreshold;
     }
 
     @Override
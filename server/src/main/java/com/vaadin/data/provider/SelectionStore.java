@@ -0,0 +1,521 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.vaadin.data.ValueProvider;
+
+/**
+ * Storage for the selected items of a multiselection component. The items are
+ * kept in selection order and hashed by their identifier, typically provided
+ * by {@link DataProvider#getId(Object)}, so checking whether an item is
+ * selected takes constant time.
+ * <p>
+ * {@link #getSelectedItems()} returns an unmodifiable set that is never
+ * changed afterwards, so it can be handed out without copying. The selection
+ * is not copied when it changes either: an earlier set only records the
+ * items that were changed after it, and reads everything else from the
+ * current selection. An earlier set is copied when it is first iterated.
+ * <p>
+ * This class is framework internal implementation details, and can be changed
+ * / moved at any point. This means that you should not directly use this for
+ * anything.
+ *
+ * @author Vaadin Ltd
+ * @since 8.3
+ *
+ * @param <T>
+ *            the item type
+ */
+public class SelectionStore<T> implements Serializable {
+
+    /**
+     * A selected item with its position in selection order.
+     */
+    private static class SelectedItem<T> implements Serializable {
+
+        private final Object id;
+        private final T item;
+        private final long position;
+
+        private SelectedItem(Object id, T item, long position) {
+            this.id = id;
+            this.item = item;
+            this.position = position;
+        }
+    }
+
+    /**
+     * An unmodifiable version of the selection. The current version reads the
+     * selected items of the store directly. When the selection is changed, the
+     * version records the old state of the changed items and refers to the
+     * next version for the rest. A version copies the items it contains when
+     * it is iterated.
+     */
+    private class Version extends AbstractSet<T> implements Serializable {
+
+        private final ValueProvider<T, Object> itemIdGetter;
+        private final int size;
+
+        private Version next;
+        private Map<Object, SelectedItem<T>> changes;
+        private LinkedHashMap<Object, SelectedItem<T>> copy;
+
+        private Version(ValueProvider<T, Object> itemIdGetter, int size) {
+            this.itemIdGetter = itemIdGetter;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object o) {
+            return o != null && get(itemIdGetter.apply((T) o)) != null;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<SelectedItem<T>> iterator = Collections
+                    .unmodifiableCollection(getCopy().values()).iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return iterator.next().item;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            throw new UnsupportedOperationException(
+                    "The selected items cannot be modified");
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            throw new UnsupportedOperationException(
+                    "The selected items cannot be modified");
+        }
+
+        /**
+         * Records the state of the item with the given id before it is
+         * changed, unless this version has its own copy of the items.
+         */
+        private void recordChange(Object id) {
+            if (copy == null && !changes.containsKey(id)) {
+                changes.put(id, items.get(id));
+            }
+        }
+
+        private SelectedItem<T> get(Object id) {
+            Version version = this;
+            while (version.copy == null) {
+                if (version.changes != null
+                        && version.changes.containsKey(id)) {
+                    return version.changes.get(id);
+                }
+                if (version.next == null) {
+                    break;
+                }
+                version = version.next;
+            }
+            if (version.copy != null) {
+                return version.copy.get(id);
+            }
+            return items.get(id);
+        }
+
+        private LinkedHashMap<Object, SelectedItem<T>> getCopy() {
+            if (copy != null) {
+                return copy;
+            }
+            // The first recorded state of an item is the one in this version
+            Map<Object, SelectedItem<T>> changed = new HashMap<>();
+            Version version = this;
+            while (version.copy == null) {
+                if (version.changes != null) {
+                    version.changes.forEach((id, item) -> {
+                        if (!changed.containsKey(id)) {
+                            changed.put(id, item);
+                        }
+                    });
+                }
+                if (version.next == null) {
+                    break;
+                }
+                version = version.next;
+            }
+            Map<Object, SelectedItem<T>> base = version.copy != null
+                    ? version.copy
+                    : items;
+
+            // Merge the changed items back by their positions
+            List<SelectedItem<T>> restored = new ArrayList<>();
+            changed.values().stream().filter(Objects::nonNull)
+                    .forEach(restored::add);
+            restored.sort(Comparator.comparingLong(item -> item.position));
+            Iterator<SelectedItem<T>> restoredIterator = restored.iterator();
+            SelectedItem<T> nextRestored = restoredIterator.hasNext()
+                    ? restoredIterator.next()
+                    : null;
+
+            LinkedHashMap<Object, SelectedItem<T>> result = new LinkedHashMap<>();
+            for (SelectedItem<T> item : base.values()) {
+                if (changed.containsKey(item.id)) {
+                    continue;
+                }
+                while (nextRestored != null
+                        && nextRestored.position < item.position) {
+                    result.put(nextRestored.id, nextRestored);
+                    nextRestored = restoredIterator.hasNext()
+                            ? restoredIterator.next()
+                            : null;
+                }
+                result.put(item.id, item);
+            }
+            while (nextRestored != null) {
+                result.put(nextRestored.id, nextRestored);
+                nextRestored = restoredIterator.hasNext()
+                        ? restoredIterator.next()
+                        : null;
+            }
+
+            copy = result;
+            next = null;
+            changes = null;
+            return copy;
+        }
+    }
+
+    /**
+     * The modifiable selection passed to the handler of
+     * {@link SelectionStore#update(Consumer)}. Changes are made directly to
+     * the selected items of the store and recorded in the current version.
+     * Items are always compared by their identifiers.
+     */
+    private class Editor extends AbstractSet<T> implements Serializable {
+
+        private final Version version;
+        private boolean closed = false;
+
+        private Editor(Version version) {
+            this.version = version;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object o) {
+            return o != null && items.containsKey(getId((T) o));
+        }
+
+        @Override
+        public boolean add(T item) {
+            checkNotClosed();
+            Objects.requireNonNull(item, "Selected item cannot be null");
+            Object id = getId(item);
+            if (items.containsKey(id)) {
+                return false;
+            }
+            version.recordChange(id);
+            items.put(id, new SelectedItem<>(id, item, nextPosition++));
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean remove(Object o) {
+            checkNotClosed();
+            if (o == null) {
+                return false;
+            }
+            Object id = getId((T) o);
+            if (!items.containsKey(id)) {
+                return false;
+            }
+            version.recordChange(id);
+            items.remove(id);
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            boolean changed = false;
+            for (Object o : c) {
+                changed |= remove(o);
+            }
+            return changed;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            Set<Object> retainedIds = new HashSet<>();
+            for (Object o : c) {
+                if (o != null) {
+                    retainedIds.add(getId((T) o));
+                }
+            }
+            return removeIf(item -> !retainedIds.contains(getId(item)));
+        }
+
+        @Override
+        public void clear() {
+            checkNotClosed();
+            if (version.copy == null && version.changes.isEmpty()) {
+                // Hand the items over to the version instead of recording
+                // each of them
+                version.copy = items;
+                version.next = null;
+                version.changes = null;
+                items = new LinkedHashMap<>();
+            } else {
+                items.keySet().forEach(version::recordChange);
+                items.clear();
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<Entry<Object, SelectedItem<T>>> iterator = items
+                    .entrySet().iterator();
+            return new Iterator<T>() {
+                private Object currentId;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    Entry<Object, SelectedItem<T>> entry = iterator.next();
+                    currentId = entry.getKey();
+                    return entry.getValue().item;
+                }
+
+                @Override
+                public void remove() {
+                    checkNotClosed();
+                    if (currentId != null) {
+                        version.recordChange(currentId);
+                    }
+                    iterator.remove();
+                    currentId = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        private void checkNotClosed() {
+            if (closed) {
+                throw new UnsupportedOperationException(
+                        "The selected items cannot be modified");
+            }
+        }
+    }
+
+    private ValueProvider<T, Object> identifierGetter;
+
+    /**
+     * The selected items by their identifiers, in selection order.
+     */
+    private LinkedHashMap<Object, SelectedItem<T>> items = new LinkedHashMap<>();
+
+    private long nextPosition = 0;
+
+    private Version selection;
+
+    /**
+     * Creates a new empty selection store.
+     *
+     * @param identifierGetter
+     *            the function that provides the identifier of an item, not
+     *            {@code null}. The identifier has to follow the general
+     *            {@code hashCode()} and {@code equals()} contract.
+     */
+    public SelectionStore(ValueProvider<T, Object> identifierGetter) {
+        Objects.requireNonNull(identifierGetter,
+                "Identifier getter cannot be null");
+        this.identifierGetter = identifierGetter;
+        selection = new Version(identifierGetter, 0);
+    }
+
+    /**
+     * Sets the function that provides the identifiers of the items, and
+     * hashes the selected items again by their new identifiers. If several
+     * selected items get the same identifier, only the first one in selection
+     * order is kept.
+     * <p>
+     * The selected items are found by the identifiers they had when they were
+     * selected, so this must be called whenever the identifiers may have
+     * changed, for instance when the data provider used by the identifier
+     * getter is replaced. The getter can be the same as before in that case.
+     *
+     * @param identifierGetter
+     *            the function that provides the identifier of an item, not
+     *            {@code null}
+     */
+    public void setIdentifierGetter(
+            ValueProvider<T, Object> identifierGetter) {
+        Objects.requireNonNull(identifierGetter,
+                "Identifier getter cannot be null");
+        // Earlier versions keep their own copy with the old identifiers
+        Collection<SelectedItem<T>> oldItems = selection.getCopy().values();
+        this.identifierGetter = identifierGetter;
+        items = new LinkedHashMap<>();
+        for (SelectedItem<T> item : oldItems) {
+            Object id = getId(item.item);
+            if (!items.containsKey(id)) {
+                items.put(id, new SelectedItem<>(id, item.item,
+                        item.position));
+            }
+        }
+        selection = new Version(identifierGetter, items.size());
+    }
+
+    /**
+     * Gets the currently selected items in selection order. The returned set
+     * is unmodifiable and does not reflect later changes to the selection.
+     *
+     * @return the selected items, not {@code null}
+     */
+    public Set<T> getSelectedItems() {
+        return selection;
+    }
+
+    /**
+     * Returns whether no items are selected.
+     *
+     * @return {@code true} if the selection is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Returns whether an item with the same identifier as the given item is
+     * selected.
+     *
+     * @param item
+     *            the item to check, not {@code null}
+     * @return {@code true} if the item is selected, {@code false} otherwise
+     */
+    public boolean contains(T item) {
+        return containsId(getId(item));
+    }
+
+    /**
+     * Returns whether an item with the given identifier is selected.
+     *
+     * @param id
+     *            the identifier to check
+     * @return {@code true} if an item with the identifier is selected,
+     *         {@code false} otherwise
+     */
+    public boolean containsId(Object id) {
+        return items.containsKey(id);
+    }
+
+    /**
+     * Changes the selection. The given handler receives a modifiable view of
+     * the selection, which compares items by their identifiers. Items added
+     * to it keep their position if an item with the same identifier is
+     * already selected. The view cannot be modified after the handler
+     * returns. The time taken is proportional to the number of changed items.
+     *
+     * @param handler
+     *            the handler that modifies the selection, not {@code null}
+     * @return the selected items before the change
+     */
+    public Set<T> update(Consumer<Collection<T>> handler) {
+        Version oldSelection = startChange();
+        Editor editor = new Editor(oldSelection);
+        try {
+            handler.accept(editor);
+        } finally {
+            editor.closed = true;
+            finishChange(oldSelection);
+        }
+        return oldSelection;
+    }
+
+    /**
+     * Replaces the selected item that has the same identifier as the given
+     * item with the given instance. Does nothing if no such item is selected.
+     *
+     * @param item
+     *            the up to date item, not {@code null}
+     */
+    public void refresh(T item) {
+        Object id = getId(item);
+        SelectedItem<T> selected = items.get(id);
+        if (selected != null && selected.item != item) {
+            Version oldSelection = startChange();
+            oldSelection.recordChange(id);
+            // Replacing the value keeps the selection order
+            items.put(id, new SelectedItem<>(id, item, selected.position));
+            finishChange(oldSelection);
+        }
+    }
+
+    private Version startChange() {
+        Version oldSelection = selection;
+        if (oldSelection.copy == null) {
+            oldSelection.changes = new HashMap<>();
+        }
+        return oldSelection;
+    }
+
+    private void finishChange(Version oldSelection) {
+        selection = new Version(identifierGetter, items.size());
+        if (oldSelection.copy == null) {
+            oldSelection.next = selection;
+        }
+    }
+
+    private Object getId(T item) {
+        return identifierGetter.apply(item);
+    }
+}
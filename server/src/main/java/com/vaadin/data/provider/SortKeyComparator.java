@@ -0,0 +1,226 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializableComparator;
+
+/**
+ * A comparator that compares items by a sequence of sort keys extracted from
+ * the items. Each sort key has its own comparator, and later keys are only
+ * used for items with equal earlier keys.
+ * <p>
+ * When used as a regular comparator, the sort keys are extracted from both
+ * items for every comparison. {@link #sort(List)} instead extracts the keys of
+ * each item only once, which is considerably faster when the keys are
+ * expensive to compute. In-memory data providers such as
+ * {@link ListDataProvider} sort this way automatically when given this
+ * comparator.
+ *
+ * @author Vaadin Ltd
+ * @since 8.3
+ *
+ * @param <T>
+ *            the item type
+ */
+public class SortKeyComparator<T> implements SerializableComparator<T> {
+
+    private static class SortKey<T> implements Serializable {
+        private final ValueProvider<T, ?> keyGetter;
+        private final SerializableComparator<Object> keyComparator;
+
+        private SortKey(ValueProvider<T, ?> keyGetter,
+                SerializableComparator<Object> keyComparator) {
+            this.keyGetter = keyGetter;
+            this.keyComparator = keyComparator;
+        }
+    }
+
+    /* Ranges of item indexes at most this long are sorted by insertion */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final List<SortKey<T>> sortKeys;
+
+    /**
+     * Creates a new comparator without sort keys. It considers all items
+     * equal.
+     */
+    public SortKeyComparator() {
+        this(Collections.emptyList());
+    }
+
+    private SortKeyComparator(List<SortKey<T>> sortKeys) {
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Creates a new comparator that compares items with this comparator and
+     * then by the given sort key.
+     *
+     * @param <K>
+     *            the sort key type
+     * @param keyGetter
+     *            the function that extracts the sort key from an item, not
+     *            {@code null}
+     * @param keyComparator
+     *            the comparator for the sort keys, not {@code null}
+     * @return a new comparator with the added sort key
+     */
+    @SuppressWarnings("unchecked")
+    public <K> SortKeyComparator<T> thenComparingKey(
+            ValueProvider<T, K> keyGetter,
+            SerializableComparator<? super K> keyComparator) {
+        Objects.requireNonNull(keyGetter, "Key getter cannot be null");
+        Objects.requireNonNull(keyComparator, "Key comparator cannot be null");
+
+        List<SortKey<T>> keys = new ArrayList<>(sortKeys);
+        keys.add(new SortKey<>(keyGetter,
+                (SerializableComparator<Object>) keyComparator));
+        return new SortKeyComparator<>(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned comparator uses the items themselves as the last sort key,
+     * so that it can still be used with {@link #sort(List)}.
+     */
+    @Override
+    public SortKeyComparator<T> thenComparing(Comparator<? super T> other) {
+        Objects.requireNonNull(other, "Comparator cannot be null");
+        SerializableComparator<T> comparator = other::compare;
+        return thenComparingKey(ValueProvider.identity(), comparator);
+    }
+
+    @Override
+    public int compare(T item1, T item2) {
+        for (SortKey<T> sortKey : sortKeys) {
+            int result = sortKey.keyComparator.compare(
+                    sortKey.keyGetter.apply(item1),
+                    sortKey.keyGetter.apply(item2));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts the given list according to this comparator. The sort keys of
+     * each item are extracted only once. The sort is stable, and the result
+     * is the same as for {@code items.sort(this)}.
+     *
+     * @param <U>
+     *            the type of the sorted items
+     * @param items
+     *            the modifiable list to sort, not {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <U extends T> void sort(List<U> items) {
+        int size = items.size();
+        if (sortKeys.isEmpty() || size < 2) {
+            return;
+        }
+
+        Object[] array = items.toArray();
+        Object[][] keys = new Object[sortKeys.size()][];
+        for (int k = 0; k < keys.length; k++) {
+            ValueProvider<T, ?> keyGetter = sortKeys.get(k).keyGetter;
+            Object[] column = new Object[size];
+            for (int i = 0; i < size; i++) {
+                column[i] = keyGetter.apply((T) array[i]);
+            }
+            keys[k] = column;
+        }
+
+        // Sort the indexes of the items without boxing them
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[size], 0, size, keys);
+
+        ListIterator<U> iterator = items.listIterator();
+        for (int i = 0; i < size; i++) {
+            iterator.next();
+            iterator.set((U) array[order[i]]);
+        }
+    }
+
+    /**
+     * Sorts the given range of item indexes by the extracted sort keys. The
+     * sort is stable, so indexes of equal items keep their order.
+     */
+    private void mergeSort(int[] order, int[] buffer, int from, int to,
+            Object[][] keys) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i;
+                while (j > from
+                        && compareIndexes(keys, order[j - 1], index) > 0) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = index;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(order, buffer, from, middle, keys);
+        mergeSort(order, buffer, middle, to, keys);
+        if (compareIndexes(keys, order[middle - 1], order[middle]) <= 0) {
+            // The halves are already in order
+            return;
+        }
+
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        int target = from;
+        while (left < middle && right < to) {
+            // Prefer the left half for equal items to keep the sort stable
+            if (compareIndexes(keys, buffer[right], buffer[left]) < 0) {
+                order[target++] = buffer[right++];
+            } else {
+                order[target++] = buffer[left++];
+            }
+        }
+        System.arraycopy(buffer, left, order, target, middle - left);
+        target += middle - left;
+        System.arraycopy(buffer, right, order, target, to - right);
+    }
+
+    private int compareIndexes(Object[][] keys, int index1, int index2) {
+        for (int k = 0; k < keys.length; k++) {
+            int result = sortKeys.get(k).keyComparator.compare(keys[k][index1],
+                    keys[k][index2]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
@@ -16,6 +16,7 @@
 package com.vaadin.data.provider;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -45,6 +46,8 @@ public class TreeDataProvider<T>
 
     private SerializableComparator<T> sortOrder = null;
 
+    private int parallelThreshold = 0;
+
     /**
      * Constructs a new TreeDataProvider.
      * <p>
@@ -75,39 +78,85 @@ public class TreeDataProvider<T>
             // The item might be dropped from the tree already
             return false;
         }
-        return !treeData.getChildren(item).isEmpty();
+        return treeData.getChildCount(item) > 0;
     }
 
     @Override
     public int getChildCount(
             HierarchicalQuery<T, SerializablePredicate<T>> query) {
-        return (int) fetchChildren(query).count();
+        if (getCombinedFilter(query.getFilter()) == null) {
+            // Counted without copying the children
+            checkContains(query.getParent());
+            return treeData.getChildCount(query.getParent());
+        }
+        return getFilteredChildren(query, null).size();
     }
 
     @Override
     public Stream<T> fetchChildren(
             HierarchicalQuery<T, SerializablePredicate<T>> query) {
-        if (!treeData.contains(query.getParent())) {
-            throw new IllegalArgumentException("The queried item "
-                    + query.getParent()
-                    + " could not be found in the backing TreeData. "
-                    + "Did you forget to refresh this data provider after item removal?");
-        }
-
-        Stream<T> childStream = getFilteredStream(
-                treeData.getChildren(query.getParent()).stream(),
-                query.getFilter());
-
         Optional<Comparator<T>> comparing = Stream
                 .of(query.getInMemorySorting(), sortOrder)
                 .filter(c -> c != null)
                 .reduce((c1, c2) -> c1.thenComparing(c2));
 
-        if (comparing.isPresent()) {
-            childStream = childStream.sorted(comparing.get());
+        return getFilteredChildren(query, comparing.orElse(null)).stream()
+                .skip(query.getOffset()).limit(query.getLimit());
+    }
+
+    private List<T> getFilteredChildren(
+            HierarchicalQuery<T, SerializablePredicate<T>> query,
+            Comparator<T> comparator) {
+        checkContains(query.getParent());
+
+        return InMemoryDataProviderHelpers.filterAndSort(
+                treeData.getChildren(query.getParent()),
+                getCombinedFilter(query.getFilter()), comparator,
+                parallelThreshold);
+    }
+
+    private void checkContains(T parent) {
+        if (!treeData.contains(parent)) {
+            throw new IllegalArgumentException("The queried item " + parent
+                    + " could not be found in the backing TreeData. "
+                    + "Did you forget to refresh this data provider after item removal?");
         }
+    }
+
+    /**
+     * Gets the number of child items from which on filtering and sorting is
+     * done in parallel.
+     *
+     * @return the parallel processing threshold, or {@code 0} if parallel
+     *         processing is disabled
+     * @see #setParallelThreshold(int)
+     * @since 8.3
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-        return childStream.skip(query.getOffset()).limit(query.getLimit());
+    /**
+     * Sets the number of child items from which on filtering and sorting the
+     * children of a single parent is done in parallel using the common
+     * fork/join pool. The default is {@code 0}, which disables parallel
+     * processing.
+     * <p>
+     * The results are the same as without parallel processing, but the filters
+     * and comparators of this data provider and its queries may be called from
+     * several threads at the same time and must thus be thread safe.
+     *
+     * @param parallelThreshold
+     *            the minimum number of child items for parallel processing, or
+     *            {@code 0} to disable parallel processing
+     * @since 8.3
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Parallel threshold cannot be negative");
+        }
+        this.parallelThreshold = parallelThreshold;
     }
 
     @Override
@@ -170,11 +219,15 @@ public class TreeDataProvider<T>
         };
     }
 
-    private Stream<T> getFilteredStream(Stream<T> stream,
+    private SerializablePredicate<T> getCombinedFilter(
             Optional<SerializablePredicate<T>> queryFilter) {
-        if (filter != null) {
-            stream = stream.filter(filter);
+        if (!queryFilter.isPresent()) {
+            return filter;
+        } else if (filter == null) {
+            return queryFilter.get();
         }
-        return queryFilter.map(stream::filter).orElse(stream);
+        SerializablePredicate<T> ownFilter = filter;
+        SerializablePredicate<T> otherFilter = queryFilter.get();
+        return item -> ownFilter.test(item) && otherFilter.test(item);
     }
 }
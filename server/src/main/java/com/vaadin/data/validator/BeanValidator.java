@@ -146,12 +146,13 @@ public class BeanValidator implements Validator<Object> {
     }
 
     /**
-     * Returns a shared JSR-303 validator instance to use.
+     * Returns a shared JSR-303 validator instance to use. The same instance is
+     * returned on every call, since validators are thread safe.
      *
      * @return the validator to use
      */
     public javax.validation.Validator getJavaxBeanValidator() {
-        return getJavaxBeanValidatorFactory().getValidator();
+        return LazyFactoryInitializer.VALIDATOR;
     }
 
     /**
@@ -185,6 +186,8 @@ public class BeanValidator implements Validator<Object> {
 
     private static class LazyFactoryInitializer implements Serializable {
         private static final ValidatorFactory FACTORY = getFactory();
+        private static final javax.validation.Validator VALIDATOR = FACTORY
+                .getValidator();
 
         private static ValidatorFactory getFactory() {
             return Validation.buildDefaultValidatorFactory();
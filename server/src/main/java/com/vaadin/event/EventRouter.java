@@ -20,9 +20,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EventObject;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import com.vaadin.server.ErrorEvent;
@@ -47,6 +49,12 @@ public class EventRouter implements MethodEventSource {
      */
     private LinkedHashSet<ListenerMethod> listenerList = null;
 
+    /**
+     * The listeners receiving events of each fired event class, in
+     * registration order. Cleared whenever listeners are added or removed.
+     */
+    private transient Map<Class<?>, ListenerMethod[]> listenersByEventClass;
+
     /*
      * Registers a new listener with the specified activation method to listen
      * events generated by this component. Don't add a JavaDoc comment here, we
@@ -61,8 +69,8 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, object,
                 method);
-        listenerList.add(listenerMethod);
-        return () -> listenerList.remove(listenerMethod);
+        addListenerMethod(listenerMethod);
+        return () -> removeListenerMethod(listenerMethod);
     }
 
     /**
@@ -114,13 +122,13 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, target,
                 method);
-        listenerList.add(listenerMethod);
+        addListenerMethod(listenerMethod);
 
         Registration registration = ComponentStateUtil
                 .addRegisteredEventListener(state, eventIdentifier);
 
         return () -> {
-            listenerList.remove(listenerMethod);
+            removeListenerMethod(listenerMethod);
             if (!hasListeners(eventType)) {
                 registration.remove();
             }
@@ -141,8 +149,19 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, object,
                 methodName);
+        addListenerMethod(listenerMethod);
+        return () -> removeListenerMethod(listenerMethod);
+    }
+
+    private void addListenerMethod(ListenerMethod listenerMethod) {
         listenerList.add(listenerMethod);
-        return () -> listenerList.remove(listenerMethod);
+        listenersByEventClass = null;
+    }
+
+    private void removeListenerMethod(ListenerMethod listenerMethod) {
+        if (listenerList != null && listenerList.remove(listenerMethod)) {
+            listenersByEventClass = null;
+        }
     }
 
     /*
@@ -158,6 +177,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target)) {
                     i.remove();
+                    listenersByEventClass = null;
                     return;
                 }
             }
@@ -178,6 +198,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target, method)) {
                     i.remove();
+                    listenersByEventClass = null;
                     return;
                 }
             }
@@ -213,6 +234,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target, method)) {
                     i.remove();
+                    listenersByEventClass = null;
                     return;
                 }
             }
@@ -224,6 +246,7 @@ public class EventRouter implements MethodEventSource {
      */
     public void removeAllListeners() {
         listenerList = null;
+        listenersByEventClass = null;
     }
 
     /**
@@ -256,13 +279,11 @@ public class EventRouter implements MethodEventSource {
         // It is not necessary to send any events if there are no listeners
         if (listenerList != null) {
 
-            // Make a copy of the listener list to allow listeners to be added
-            // inside listener methods. Fixes #3605.
-
-            // Send the event to all listeners. The listeners themselves
-            // will filter out unwanted events.
-            for (Object l : listenerList.toArray()) {
-                ListenerMethod listenerMethod = (ListenerMethod) l;
+            // The listeners are looked up from an array that is replaced, not
+            // modified, when listeners are added or removed inside listener
+            // methods. Fixes #3605.
+            for (ListenerMethod listenerMethod : getListenerMethods(
+                    event.getClass())) {
                 if (null != errorHandler) {
                     try {
                         listenerMethod.receiveEvent(event);
@@ -276,6 +297,21 @@ public class EventRouter implements MethodEventSource {
         }
     }
 
+    private ListenerMethod[] getListenerMethods(Class<?> eventClass) {
+        if (listenersByEventClass == null) {
+            listenersByEventClass = new HashMap<>();
+        }
+        ListenerMethod[] listenerMethods = listenersByEventClass
+                .get(eventClass);
+        if (listenerMethods == null) {
+            listenerMethods = listenerList.stream()
+                    .filter(lm -> lm.receivesEventClass(eventClass))
+                    .toArray(ListenerMethod[]::new);
+            listenersByEventClass.put(eventClass, listenerMethods);
+        }
+        return listenerMethods;
+    }
+
     /**
      * Checks if the given Event type is listened by a listener registered to
      * this router.
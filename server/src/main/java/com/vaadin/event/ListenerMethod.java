@@ -21,14 +21,23 @@ import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.EventObject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.vaadin.util.ReflectTools;
+
 /**
  * <p>
  * One registered event listener. This class contains the listener object
@@ -56,6 +65,26 @@ import java.util.logging.Logger;
 @SuppressWarnings("serial")
 public class ListenerMethod implements EventListener, Serializable {
 
+    // The default value computed before the invokers were added
+    private static final long serialVersionUID = -4473718855823494472L;
+
+    /**
+     * Calls a trigger method that takes the event as its only parameter.
+     */
+    @FunctionalInterface
+    private interface Invoker extends Serializable {
+        void invoke(Object target, Object event) throws Throwable;
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Invokers generated for trigger methods, typically listener interface
+     * methods, that are visible from the class loader of this class. Generating
+     * an invoker defines a new class, so the invokers are shared.
+     */
+    private static final ConcurrentMap<Method, Invoker> GENERATED_INVOKERS = new ConcurrentHashMap<>();
+
     /**
      * Type of the event that should trigger this listener. Also the subclasses
      * of this class are accepted to trigger the listener.
@@ -85,6 +114,12 @@ public class ListenerMethod implements EventListener, Serializable {
      */
     private int eventArgumentIndex;
 
+    /**
+     * Invoker for the trigger method if it only takes the event as its
+     * parameter, created when the first event is received.
+     */
+    private transient Invoker invoker;
+
     /* Special serialization to handle method references */
     private void writeObject(ObjectOutputStream out) throws IOException {
         try {
@@ -493,16 +528,26 @@ public class ListenerMethod implements EventListener, Serializable {
     public void receiveEvent(EventObject event) {
         // Only send events supported by the method
         if (eventType.isAssignableFrom(event.getClass())) {
+            if (eventArgumentIndex == 0 && arguments.length == 1
+                    && getInvoker() != null) {
+                try {
+                    invoker.invoke(target, event);
+                } catch (Throwable e) {
+                    // An exception was thrown by the invocation target. Throw
+                    // it forwards.
+                    throw new MethodException(
+                            "Invocation of method " + method.getName() + " in "
+                                    + target.getClass().getName() + " failed.",
+                            e);
+                }
+                return;
+            }
             try {
                 if (eventArgumentIndex >= 0) {
-                    if (eventArgumentIndex == 0 && arguments.length == 1) {
-                        method.invoke(target, event);
-                    } else {
-                        final Object[] arg = new Object[arguments.length];
-                        System.arraycopy(arguments, 0, arg, 0, arg.length);
-                        arg[eventArgumentIndex] = event;
-                        method.invoke(target, arg);
-                    }
+                    final Object[] arg = new Object[arguments.length];
+                    System.arraycopy(arguments, 0, arg, 0, arg.length);
+                    arg[eventArgumentIndex] = event;
+                    method.invoke(target, arg);
                 } else {
                     method.invoke(target, arguments);
                 }
@@ -521,6 +566,65 @@ public class ListenerMethod implements EventListener, Serializable {
         }
     }
 
+    private Invoker getInvoker() {
+        if (invoker == null) {
+            invoker = createInvoker(method);
+        }
+        return invoker;
+    }
+
+    /**
+     * Creates an invoker for the given trigger method that takes the event as
+     * its only parameter. The invoker calls the method directly if possible,
+     * otherwise through a method handle. Both are considerably faster than
+     * reflection.
+     *
+     * @param method
+     *            the trigger method
+     * @return the invoker, or <code>null</code> if the method is not
+     *         accessible
+     */
+    private static Invoker createInvoker(Method method) {
+        ClassLoader classLoader = ListenerMethod.class.getClassLoader();
+        if (Modifier.isPublic(method.getModifiers())
+                && ReflectTools.isPublicAndVisible(method.getDeclaringClass(),
+                        classLoader)
+                && ReflectTools.isPublicAndVisible(
+                        method.getParameterTypes()[0], classLoader)) {
+            Invoker generated = GENERATED_INVOKERS.computeIfAbsent(method,
+                    ListenerMethod::generateInvoker);
+            if (generated != null) {
+                return generated;
+            }
+        }
+
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method).asType(MethodType
+                    .methodType(void.class, Object.class, Object.class));
+            return (target, event) -> handle.invokeExact(target, event);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Invoker generateInvoker(Method method) {
+        try {
+            return (Invoker) LambdaMetafactory.metafactory(LOOKUP, "invoke",
+                    MethodType.methodType(Invoker.class),
+                    MethodType.methodType(void.class, Object.class,
+                            Object.class),
+                    LOOKUP.unreflect(method),
+                    MethodType.methodType(void.class,
+                            method.getDeclaringClass(),
+                            method.getParameterTypes()[0]))
+                    .getTarget().invoke();
+        } catch (Throwable e) {
+            getLogger().log(Level.FINE,
+                    "Could not generate an invoker for " + method, e);
+            return null;
+        }
+    }
+
     /**
      * Checks if the given object and event match with the ones stored in this
      * listener.
@@ -640,6 +744,18 @@ public class ListenerMethod implements EventListener, Serializable {
         return eventType.isAssignableFrom(this.eventType);
     }
 
+    /**
+     * Checks if events of the given class are sent to the trigger method by
+     * {@link #receiveEvent(EventObject)}.
+     *
+     * @param eventClass
+     *            the class of the event
+     * @return true if events of the given class are received, false otherwise
+     */
+    boolean receivesEventClass(Class<?> eventClass) {
+        return eventType.isAssignableFrom(eventClass);
+    }
+
     /**
      * Returns the target object which contains the trigger method.
      *
@@ -17,6 +17,7 @@ package com.vaadin.event.selection;
 
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,6 +40,9 @@ import com.vaadin.ui.MultiSelect;
 public class MultiSelectionEvent<T> extends ValueChangeEvent<Set<T>>
         implements SelectionEvent<T> {
 
+    private final Set<T> addedSelection;
+    private final Set<T> removedSelection;
+
     /**
      * Creates a new event.
      *
@@ -53,6 +57,8 @@ public class MultiSelectionEvent<T> extends ValueChangeEvent<Set<T>>
     public MultiSelectionEvent(AbstractMultiSelect<T> source,
             Set<T> oldSelection, boolean userOriginated) {
         super(source, oldSelection, userOriginated);
+        addedSelection = null;
+        removedSelection = null;
     }
 
     /**
@@ -71,6 +77,39 @@ public class MultiSelectionEvent<T> extends ValueChangeEvent<Set<T>>
     public MultiSelectionEvent(Component component, MultiSelect<T> source,
             Set<T> oldSelection, boolean userOriginated) {
         super(component, source, oldSelection, userOriginated);
+        addedSelection = null;
+        removedSelection = null;
+    }
+
+    /**
+     * Creates a new selection change event in a multiselect component when
+     * the added and removed items are already known. This avoids comparing
+     * the old and the new selection, which may require fetching all items
+     * when they are not stored in memory.
+     *
+     * @param component
+     *            the component
+     * @param source
+     *            the multiselect source
+     * @param oldSelection
+     *            the old set of selected items
+     * @param addedSelection
+     *            the items added to selection, not {@code null}
+     * @param removedSelection
+     *            the items removed from selection, not {@code null}
+     * @param userOriginated
+     *            {@code true} if this event originates from the client,
+     *            {@code false} otherwise.
+     * @since 8.3
+     */
+    public MultiSelectionEvent(Component component, MultiSelect<T> source,
+            Set<T> oldSelection, Set<T> addedSelection,
+            Set<T> removedSelection, boolean userOriginated) {
+        super(component, source, oldSelection, userOriginated);
+        this.addedSelection = Objects.requireNonNull(addedSelection,
+                "added selection cannot be null");
+        this.removedSelection = Objects.requireNonNull(removedSelection,
+                "removed selection cannot be null");
     }
 
     /**
@@ -107,6 +146,9 @@ public class MultiSelectionEvent<T> extends ValueChangeEvent<Set<T>>
      * @return the items that were removed from selection
      */
     public Set<T> getRemovedSelection() {
+        if (removedSelection != null) {
+            return Collections.unmodifiableSet(removedSelection);
+        }
         LinkedHashSet<T> copy = new LinkedHashSet<>(getOldValue());
         copy.removeAll(getNewSelection());
         return copy;
@@ -122,6 +164,9 @@ public class MultiSelectionEvent<T> extends ValueChangeEvent<Set<T>>
      * @return the items that were removed from selection
      */
     public Set<T> getAddedSelection() {
+        if (addedSelection != null) {
+            return Collections.unmodifiableSet(addedSelection);
+        }
         LinkedHashSet<T> copy = new LinkedHashSet<>(getValue());
         copy.removeAll(getOldValue());
         return copy;
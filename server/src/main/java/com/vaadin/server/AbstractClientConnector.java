@@ -60,15 +60,18 @@ public abstract class AbstractClientConnector
         implements ClientConnector, MethodEventSource {
     /**
      * A map from client to server RPC interface class name to the RPC call
-     * manager that handles incoming RPC calls for that interface.
+     * manager that handles incoming RPC calls for that interface. The shared
+     * empty map is used until the first RPC implementation is registered.
      */
-    private final Map<String, ServerRpcManager<?>> rpcManagerMap = new HashMap<>();
+    private Map<String, ServerRpcManager<?>> rpcManagerMap = Collections
+            .emptyMap();
 
     /**
      * A map from server to client RPC interface class to the RPC proxy that
-     * sends outgoing RPC calls for that interface.
+     * sends outgoing RPC calls for that interface. The shared empty map is used
+     * until the first proxy is created.
      */
-    private final Map<Class<?>, ClientRpc> rpcProxyMap = new HashMap<>();
+    private Map<Class<?>, ClientRpc> rpcProxyMap = Collections.emptyMap();
 
     /**
      * Shared state object to be communicated from the server to the client when
@@ -79,13 +82,19 @@ public abstract class AbstractClientConnector
     private Class<? extends SharedState> stateType;
 
     /**
-     * Pending RPC method invocations to be sent.
+     * Pending RPC method invocations to be sent. The shared empty list is used
+     * when there are no pending invocations.
      */
-    private List<ClientMethodInvocation> pendingInvocations = new ArrayList<>();
+    private List<ClientMethodInvocation> pendingInvocations = Collections
+            .emptyList();
 
     private String connectorId;
 
-    private final List<Extension> extensions = new ArrayList<>();
+    /**
+     * The extensions of this connector. The shared empty list is used until
+     * the first extension is added.
+     */
+    private List<Extension> extensions = Collections.emptyList();
 
     /**
      * The EventRouter used for the event model.
@@ -179,6 +188,9 @@ public abstract class AbstractClientConnector
      */
     protected <T extends ServerRpc> void registerRpc(T implementation,
             Class<T> rpcInterfaceType) {
+        if (rpcManagerMap.isEmpty()) {
+            rpcManagerMap = new HashMap<>();
+        }
         rpcManagerMap.put(rpcInterfaceType.getName(),
                 new ServerRpcManager<>(implementation, rpcInterfaceType));
     }
@@ -368,6 +380,9 @@ public abstract class AbstractClientConnector
                 T rpcProxy = rpcInterface.cast(constructor
                         .newInstance(new RpcInvocationHandler(rpcInterface)));
                 // cache the proxy
+                if (rpcProxyMap.isEmpty()) {
+                    rpcProxyMap = new HashMap<>();
+                }
                 rpcProxyMap.put(rpcInterface, rpcProxy);
             }
             return (T) rpcProxyMap.get(rpcInterface);
@@ -415,6 +430,9 @@ public abstract class AbstractClientConnector
     protected void addMethodInvocationToQueue(String interfaceName,
             Method method, Object[] parameters) {
         // add to queue
+        if (pendingInvocations.isEmpty()) {
+            pendingInvocations = new ArrayList<>();
+        }
         pendingInvocations.add(new ClientMethodInvocation(this, interfaceName,
                 method, parameters));
         // TODO no need to do full repaint if only RPC calls
@@ -432,7 +450,7 @@ public abstract class AbstractClientConnector
             return Collections.emptyList();
         } else {
             List<ClientMethodInvocation> result = pendingInvocations;
-            pendingInvocations = new ArrayList<>();
+            pendingInvocations = Collections.emptyList();
             return Collections.unmodifiableList(result);
         }
     }
@@ -564,6 +582,9 @@ public abstract class AbstractClientConnector
 
     @Override
     public Collection<Extension> getExtensions() {
+        if (extensions.isEmpty()) {
+            return Collections.emptyList();
+        }
         return Collections.unmodifiableCollection(extensions);
     }
 
@@ -584,6 +605,9 @@ public abstract class AbstractClientConnector
                     "Moving an extension from one parent to another is not supported");
         }
 
+        if (extensions.isEmpty()) {
+            extensions = new ArrayList<>(1);
+        }
         extensions.add(extension);
         extension.setParent(this);
         markAsDirty();
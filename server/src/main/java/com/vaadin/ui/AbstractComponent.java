@@ -21,7 +21,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -175,17 +174,10 @@ public abstract class AbstractComponent extends AbstractClientConnector
      */
     @Override
     public String getStyleName() {
-        String s = "";
         if (ComponentStateUtil.hasStyles(getState(false))) {
-            for (final Iterator<String> it = getState(false).styles
-                    .iterator(); it.hasNext();) {
-                s += it.next();
-                if (it.hasNext()) {
-                    s += " ";
-                }
-            }
+            return String.join(" ", getState(false).styles);
         }
-        return s;
+        return "";
     }
 
     /*
@@ -198,15 +190,13 @@ public abstract class AbstractComponent extends AbstractClientConnector
             getState().styles = null;
             return;
         }
-        if (getState().styles == null) {
-            getState().styles = new ArrayList<>();
-        }
-        List<String> styles = getState().styles;
-        styles.clear();
         StringTokenizer tokenizer = new StringTokenizer(style, " ");
+        // Sized for the given style names, most components only have a few
+        List<String> styles = new ArrayList<>(tokenizer.countTokens());
         while (tokenizer.hasMoreTokens()) {
             styles.add(tokenizer.nextToken());
         }
+        getState().styles = styles;
     }
 
     @Override
@@ -234,7 +224,7 @@ public abstract class AbstractComponent extends AbstractClientConnector
         }
 
         if (getState().styles == null) {
-            getState().styles = new ArrayList<>();
+            getState().styles = new ArrayList<>(1);
         }
         List<String> styles = getState().styles;
         if (!styles.contains(style)) {
@@ -15,9 +15,7 @@
  */
 package com.vaadin.ui;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -33,6 +31,7 @@ import com.vaadin.data.SelectionModel;
 import com.vaadin.data.SelectionModel.Multi;
 import com.vaadin.data.provider.DataGenerator;
 import com.vaadin.data.provider.DataProvider;
+import com.vaadin.data.provider.SelectionStore;
 import com.vaadin.event.selection.MultiSelectionEvent;
 import com.vaadin.event.selection.MultiSelectionListener;
 import com.vaadin.server.Resource;
@@ -61,7 +60,13 @@ import elemental.json.JsonObject;
 public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
         implements MultiSelect<T> {
 
-    private List<T> selection = new ArrayList<>();
+    private final SelectionStore<T> selection = new SelectionStore<>(
+            item -> item);
+
+    /**
+     * The data provider that the identifiers of the selected items are from.
+     */
+    private DataProvider<T, ?> selectionDataProvider;
 
     private class MultiSelectServerRpcImpl implements MultiSelectServerRpc {
         @Override
@@ -325,8 +330,9 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
         // discard that and leave things as was before
         addedItems.removeIf(item -> removedItems.remove(item));
 
-        if (selection.containsAll(addedItems)
-                && Collections.disjoint(selection, removedItems)) {
+        SelectionStore<T> store = getSelectionStore();
+        if (addedItems.stream().allMatch(store::contains)
+                && removedItems.stream().noneMatch(store::contains)) {
             return;
         }
 
@@ -339,12 +345,12 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
 
     @Override
     public Set<T> getSelectedItems() {
-        return Collections.unmodifiableSet(new LinkedHashSet<>(selection));
+        return getSelectionStore().getSelectedItems();
     }
 
     @Override
     public void deselectAll() {
-        if (selection.isEmpty()) {
+        if (getSelectionStore().isEmpty()) {
             return;
         }
 
@@ -353,10 +359,7 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
 
     @Override
     public boolean isSelected(T item) {
-        DataProvider<T, ?> dataProvider = internalGetDataProvider();
-        Object id = dataProvider.getId(item);
-        return selection.stream().map(dataProvider::getId).anyMatch(id::equals);
-
+        return getSelectionStore().contains(item);
     }
 
     /**
@@ -369,7 +372,7 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
      *            {@code true} if this was used originated, {@code false} if not
      */
     protected void deselect(T item, boolean userOriginated) {
-        if (!selection.contains(item)) {
+        if (!getSelectionStore().contains(item)) {
             return;
         }
 
@@ -404,7 +407,7 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
      *            {@code true} if this was used originated, {@code false} if not
      */
     protected void select(T item, boolean userOriginated) {
-        if (selection.contains(item)) {
+        if (getSelectionStore().contains(item)) {
             return;
         }
 
@@ -476,8 +479,7 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
 
     private void updateSelection(SerializableConsumer<Collection<T>> handler,
             boolean userOriginated) {
-        LinkedHashSet<T> oldSelection = new LinkedHashSet<>(selection);
-        handler.accept(selection);
+        Set<T> oldSelection = getSelectionStore().update(handler);
 
         fireEvent(new MultiSelectionEvent<>(AbstractMultiSelect.this,
                 oldSelection, userOriginated));
@@ -486,13 +488,22 @@ public abstract class AbstractMultiSelect<T> extends AbstractListing<T>
     }
 
     private final void refreshSelectedItem(T item) {
+        getSelectionStore().refresh(item);
+    }
+
+    /**
+     * Gets the store of the selected items. The selected items are hashed
+     * again if the data provider of the component has been replaced since they
+     * were stored, as their identifiers may have changed.
+     *
+     * @return the selection store, not {@code null}
+     */
+    private SelectionStore<T> getSelectionStore() {
         DataProvider<T, ?> dataProvider = internalGetDataProvider();
-        Object id = dataProvider.getId(item);
-        for (int i = 0; i < selection.size(); ++i) {
-            if (id.equals(dataProvider.getId(selection.get(i)))) {
-                selection.set(i, item);
-                return;
-            }
+        if (dataProvider != selectionDataProvider) {
+            selectionDataProvider = dataProvider;
+            selection.setIdentifierGetter(dataProvider::getId);
         }
+        return selection;
     }
 }
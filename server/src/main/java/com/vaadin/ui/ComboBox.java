@@ -20,9 +20,11 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.jsoup.nodes.Element;
@@ -31,6 +33,8 @@ import com.vaadin.data.HasFilterableDataProvider;
 import com.vaadin.data.HasValue;
 import com.vaadin.data.ValueProvider;
 import com.vaadin.data.provider.CallbackDataProvider;
+import com.vaadin.data.provider.DataChangeEvent;
+import com.vaadin.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.data.provider.DataCommunicator;
 import com.vaadin.data.provider.DataKeyMapper;
 import com.vaadin.data.provider.DataProvider;
@@ -47,6 +51,7 @@ import com.vaadin.server.ResourceReference;
 import com.vaadin.server.SerializableBiPredicate;
 import com.vaadin.server.SerializableConsumer;
 import com.vaadin.server.SerializableFunction;
+import com.vaadin.server.SerializablePredicate;
 import com.vaadin.server.SerializableToIntFunction;
 import com.vaadin.shared.Registration;
 import com.vaadin.shared.data.DataCommunicatorConstants;
@@ -150,6 +155,125 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         }
     }
 
+    /**
+     * Cache of item captions, keyed by the item identifiers of the data
+     * provider. Also keeps track of the items rejected by the latest case
+     * insensitive substring filter so that narrowing the filter text by typing
+     * more characters does not test those items again.
+     * <p>
+     * The filters created by this cache may be run outside of the session lock
+     * and from several threads at the same time, e.g. by a data provider with
+     * parallel filtering, so the cached state uses concurrent collections.
+     */
+    private class ItemCaptionCache implements Serializable {
+
+        private final Map<Object, String> captions = new ConcurrentHashMap<>();
+        private Map<Object, String> lowerCaseCaptions = new ConcurrentHashMap<>();
+        private Locale lowerCaseLocale;
+
+        private String lastFilterText;
+        private Set<Object> rejected = ConcurrentHashMap.newKeySet();
+
+        private Registration dataProviderListener;
+
+        private String getCaption(T item) {
+            ensureListener();
+            return getCachedCaption(item);
+        }
+
+        private String getCachedCaption(T item) {
+            return captions.computeIfAbsent(getId(item),
+                    id -> getItemCaptionGenerator().apply(item));
+        }
+
+        private SerializablePredicate<T> createFilter(
+                CaptionFilter captionFilter, String filterText) {
+            ensureListener();
+            return item -> captionFilter.test(getCachedCaption(item),
+                    filterText);
+        }
+
+        private SerializablePredicate<T> createContainsFilter(
+                String filterText) {
+            ensureListener();
+
+            Locale locale = getLocale();
+            if (!locale.equals(lowerCaseLocale)) {
+                // A new map so that filters still running for the previous
+                // locale cannot add captions to the current one
+                lowerCaseCaptions = new ConcurrentHashMap<>();
+                lowerCaseLocale = locale;
+                lastFilterText = null;
+            }
+
+            String lowerCaseFilter = filterText.toLowerCase(locale);
+            Set<Object> rejectedIds = ConcurrentHashMap.newKeySet();
+            if (lastFilterText != null
+                    && lowerCaseFilter.contains(lastFilterText)) {
+                // Items without the previous text cannot have the new one.
+                // Copy the set since the previous filter might still be used.
+                rejectedIds.addAll(rejected);
+            }
+            rejected = rejectedIds;
+            lastFilterText = lowerCaseFilter;
+
+            Map<Object, String> lowerCase = lowerCaseCaptions;
+            return item -> {
+                Object id = getId(item);
+                if (rejectedIds.contains(id)) {
+                    return false;
+                }
+                String caption = lowerCase.computeIfAbsent(id, key -> {
+                    String generated = getCachedCaption(item);
+                    return generated == null ? null
+                            : generated.toLowerCase(locale);
+                });
+                if (caption != null && caption.contains(lowerCaseFilter)) {
+                    return true;
+                }
+                rejectedIds.add(id);
+                return false;
+            };
+        }
+
+        private Object getId(T item) {
+            return getDataProvider().getId(item);
+        }
+
+        private void ensureListener() {
+            if (dataProviderListener == null) {
+                dataProviderListener = getDataProvider()
+                        .addDataProviderListener(this::onDataChange);
+            }
+        }
+
+        private void onDataChange(DataChangeEvent<T> event) {
+            if (event instanceof DataRefreshEvent) {
+                Object id = getId(((DataRefreshEvent<T>) event).getItem());
+                captions.remove(id);
+                lowerCaseCaptions.remove(id);
+                rejected.remove(id);
+            } else {
+                clearCaptions();
+            }
+        }
+
+        private void clearCaptions() {
+            captions.clear();
+            lowerCaseCaptions.clear();
+            rejected.clear();
+            lastFilterText = null;
+        }
+
+        private void clear() {
+            clearCaptions();
+            if (dataProviderListener != null) {
+                dataProviderListener.remove();
+                dataProviderListener = null;
+            }
+        }
+    }
+
     private ComboBoxServerRpc rpc = new ComboBoxServerRpc() {
         @Override
         public void createNewItem(String itemValue) {
@@ -180,6 +304,8 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         // Just ignore when neither setDataProvider nor setItems has been called
     };
 
+    private ItemCaptionCache captionCache;
+
     /**
      * Constructs an empty combo box without a caption. The content of the combo
      * box can be set with {@link #setDataProvider(DataProvider)} or
@@ -241,7 +367,9 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         registerRpc(new FocusAndBlurServerRpcDecorator(this, this::fireEvent));
 
         addDataGenerator((T data, JsonObject jsonObject) -> {
-            String caption = getItemCaptionGenerator().apply(data);
+            String caption = captionCache != null
+                    ? captionCache.getCaption(data)
+                    : getItemCaptionGenerator().apply(data);
             if (caption == null) {
                 caption = "";
             }
@@ -317,7 +445,7 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
                 .toLowerCase(getLocale())
                 .contains(filterText.toLowerCase(getLocale()));
 
-        setDataProvider(defaultCaptionFilter, listDataProvider);
+        setListDataProvider(defaultCaptionFilter, true, listDataProvider);
     }
 
     /**
@@ -354,13 +482,27 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
      */
     public void setDataProvider(CaptionFilter captionFilter,
             ListDataProvider<T> listDataProvider) {
+        setListDataProvider(captionFilter, false, listDataProvider);
+    }
+
+    private void setListDataProvider(CaptionFilter captionFilter,
+            boolean defaultCaptionFilter,
+            ListDataProvider<T> listDataProvider) {
         Objects.requireNonNull(listDataProvider,
                 "List data provider cannot be null");
 
         // Must do getItemCaptionGenerator() for each operation since it might
         // not be the same as when this method was invoked
-        setDataProvider(listDataProvider, filterText -> item -> captionFilter
-                .test(getItemCaptionGenerator().apply(item), filterText));
+        setDataProvider(listDataProvider, filterText -> {
+            if (captionCache == null) {
+                return item -> captionFilter.test(
+                        getItemCaptionGenerator().apply(item), filterText);
+            } else if (defaultCaptionFilter) {
+                return captionCache.createContainsFilter(filterText);
+            } else {
+                return captionCache.createFilter(captionFilter, filterText);
+            }
+        });
     }
 
     /**
@@ -584,6 +726,63 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         return getState(false).scrollToSelectedItem;
     }
 
+    /**
+     * Sets whether item captions are cached. When enabled, the item caption
+     * generator is called only once per item, and the cached captions are
+     * used both for filtering and for sending the items to the client. The
+     * lower case captions used by the default case insensitive filter are
+     * also cached per locale, and typing more characters to the filter text
+     * only tests the items that matched the shorter text.
+     * <p>
+     * Cached captions are identified by {@link DataProvider#getId(Object)}
+     * and are discarded when the data provider is refreshed, when the item
+     * caption generator or the data provider is changed and when the combo
+     * box is detached. A single item is discarded when it is refreshed using
+     * {@link DataProvider#refreshItem(Object)}.
+     * <p>
+     * Caching is intended for in-memory data with expensive item captions.
+     * It is disabled by default.
+     *
+     * @param itemCaptionCacheEnabled
+     *            {@code true} to cache item captions, {@code false} to
+     *            generate them every time they are needed
+     * @since 8.3
+     */
+    public void setItemCaptionCacheEnabled(boolean itemCaptionCacheEnabled) {
+        if (itemCaptionCacheEnabled == isItemCaptionCacheEnabled()) {
+            return;
+        }
+        if (itemCaptionCacheEnabled) {
+            captionCache = new ItemCaptionCache();
+        } else {
+            captionCache.clear();
+            captionCache = null;
+        }
+        // Update the filter to use or stop using the cache
+        filterSlot.accept(currentFilterText);
+    }
+
+    /**
+     * Gets whether item captions are cached.
+     *
+     * @see #setItemCaptionCacheEnabled(boolean)
+     * @return {@code true} if item captions are cached, {@code false}
+     *         otherwise
+     * @since 8.3
+     */
+    public boolean isItemCaptionCacheEnabled() {
+        return captionCache != null;
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        if (captionCache != null) {
+            // Data change events are not tracked while detached
+            captionCache.clear();
+        }
+    }
+
     @Override
     public ItemCaptionGenerator<T> getItemCaptionGenerator() {
         return super.getItemCaptionGenerator();
@@ -593,6 +792,9 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
     public void setItemCaptionGenerator(
             ItemCaptionGenerator<T> itemCaptionGenerator) {
         super.setItemCaptionGenerator(itemCaptionGenerator);
+        if (captionCache != null) {
+            captionCache.clearCaptions();
+        }
         if (getSelectedItem().isPresent()) {
             updateSelectedItemCaption();
         }
@@ -799,6 +1001,10 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
             return filterConverter.apply(filterText);
         };
 
+        if (captionCache != null) {
+            captionCache.clear();
+        }
+
         SerializableConsumer<C> providerFilterSlot = internalSetDataProvider(
                 dataProvider, convertOrNull.apply(currentFilterText));
 
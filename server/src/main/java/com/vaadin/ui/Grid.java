@@ -18,14 +18,17 @@ package com.vaadin.ui;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +36,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.BinaryOperator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -58,6 +61,7 @@ import com.vaadin.data.provider.GridSortOrder;
 import com.vaadin.data.provider.GridSortOrderBuilder;
 import com.vaadin.data.provider.Query;
 import com.vaadin.data.provider.QuerySortOrder;
+import com.vaadin.data.provider.SortKeyComparator;
 import com.vaadin.event.ConnectorEvent;
 import com.vaadin.event.ContextClickEvent;
 import com.vaadin.event.HasUserOriginated;
@@ -695,6 +699,21 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
                 fireColumnResizeEvent(column, true);
             }
         }
+
+        @Override
+        public void columnViewportChanged(List<String> columnInternalIds) {
+            Set<String> oldViewport = columnViewport;
+            columnViewport = new HashSet<>(columnInternalIds);
+            if (oldViewport != null) {
+                // Rows on the client lack the data of the new columns
+                refreshColumnData(getColumns().stream()
+                        .filter(column -> !oldViewport
+                                .contains(column.getInternalId()))
+                        .filter(column -> columnViewport
+                                .contains(column.getInternalId()))
+                        .collect(Collectors.toList()));
+            }
+        }
     }
 
     /**
@@ -705,8 +724,20 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
      */
     public static class DetailsManager<T> extends AbstractGridExtension<T> {
 
-        private final Set<T> visibleDetails = new HashSet<>();
-        private final Map<T, Component> components = new HashMap<>();
+        /*
+         * Enough for the rows cached around a typical viewport, while keeping
+         * the memory used by the cached components bounded
+         */
+        private static final int DEFAULT_CACHE_SIZE = 50;
+
+        /* Items with visible details, by their data provider ids */
+        private final Map<Object, T> visibleDetails = new HashMap<>();
+        /* Details components of the rows currently on the client */
+        private final Map<Object, Component> components = new HashMap<>();
+        /* Details components of dropped rows, least recently used first */
+        private final LinkedHashMap<Object, Component> cachedComponents = new LinkedHashMap<>(
+                16, 0.75f, true);
+        private int cacheSize = DEFAULT_CACHE_SIZE;
         private DetailsGenerator<T> generator;
 
         /**
@@ -720,7 +751,46 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
                 removeAllComponents();
             }
             this.generator = generator;
-            visibleDetails.forEach(this::refresh);
+            visibleDetails.values().forEach(this::refresh);
+        }
+
+        /**
+         * Sets the maximum number of details components that are kept for
+         * rows that have been scrolled out of view. When such a row is shown
+         * again, its cached details component is reused instead of generating
+         * a new one. If the limit is exceeded, the least recently used
+         * components are removed from the Grid.
+         * <p>
+         * By default at most 50 details components are cached. Use
+         * {@link Integer#MAX_VALUE} to keep the details components until the
+         * details are hidden or the details generator or data provider is
+         * changed.
+         *
+         * @param cacheSize
+         *            the maximum number of cached details components, zero to
+         *            disable caching
+         * @throws IllegalArgumentException
+         *             if the cache size is negative
+         * @since 8.3
+         */
+        public void setCacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException(
+                        "Cache size cannot be negative: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            evictCachedComponents();
+        }
+
+        /**
+         * Gets the maximum number of details components that are kept for
+         * rows that have been scrolled out of view.
+         *
+         * @return the maximum number of cached details components
+         * @since 8.3
+         */
+        public int getCacheSize() {
+            return cacheSize;
         }
 
         @Override
@@ -734,16 +804,45 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             // Clean up old components
             components.values().forEach(this::removeComponentFromGrid);
             components.clear();
+            cachedComponents.values().forEach(this::removeComponentFromGrid);
+            cachedComponents.clear();
+        }
+
+        private void removeComponent(Object id) {
+            Component component = components.remove(id);
+            if (component == null) {
+                component = cachedComponents.remove(id);
+            }
+            if (component != null) {
+                removeComponentFromGrid(component);
+            }
+        }
+
+        private void evictCachedComponents() {
+            Iterator<Component> iterator = cachedComponents.values()
+                    .iterator();
+            while (cachedComponents.size() > cacheSize) {
+                removeComponentFromGrid(iterator.next());
+                iterator.remove();
+            }
         }
 
         @Override
         public void generateData(T item, JsonObject jsonObject) {
-            if (generator == null || !visibleDetails.contains(item)) {
+            if (generator == null) {
+                return;
+            }
+            Object id = getId(item);
+            if (!visibleDetails.containsKey(id)) {
                 return;
             }
 
-            if (!components.containsKey(item)) {
-                Component detailsComponent = generator.apply(item);
+            Component detailsComponent = components.get(id);
+            if (detailsComponent == null) {
+                detailsComponent = cachedComponents.remove(id);
+            }
+            if (detailsComponent == null) {
+                detailsComponent = generator.apply(item);
                 Objects.requireNonNull(detailsComponent,
                         "Details generator can't create null components");
                 if (detailsComponent.getParent() != null) {
@@ -751,17 +850,36 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
                             "Details component was already attached");
                 }
                 addComponentToGrid(detailsComponent);
-                components.put(item, detailsComponent);
             }
+            components.put(id, detailsComponent);
 
             jsonObject.put(GridState.JSONKEY_DETAILS_VISIBLE,
-                    components.get(item).getConnectorId());
+                    detailsComponent.getConnectorId());
         }
 
         @Override
         public void destroyData(T item) {
-            // No clean up needed. Components are removed when hiding details
-            // and/or changing details generator
+            // Keep the component around in case the row is shown again
+            Object id = getId(item);
+            Component detailsComponent = components.remove(id);
+            if (detailsComponent != null) {
+                cachedComponents.put(id, detailsComponent);
+                evictCachedComponents();
+            }
+        }
+
+        @Override
+        public void destroyAllData() {
+            removeAllComponents();
+        }
+
+        @Override
+        public void refreshData(T item) {
+            Object id = getId(item);
+            if (visibleDetails.containsKey(id)) {
+                // The existing details component is kept
+                visibleDetails.put(id, item);
+            }
         }
 
         /**
@@ -774,14 +892,13 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
          *            {@code false} if it should be hidden
          */
         public void setDetailsVisible(T item, boolean visible) {
+            Object id = getId(item);
             boolean refresh = false;
             if (!visible) {
-                refresh = visibleDetails.remove(item);
-                if (components.containsKey(item)) {
-                    removeComponentFromGrid(components.remove(item));
-                }
+                refresh = visibleDetails.remove(id) != null;
+                removeComponent(id);
             } else {
-                refresh = visibleDetails.add(item);
+                refresh = visibleDetails.put(id, item) == null;
             }
 
             if (refresh) {
@@ -799,7 +916,11 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
          *         {@code false} if it should be hidden
          */
         public boolean isDetailsVisible(T item) {
-            return visibleDetails.contains(item);
+            return visibleDetails.containsKey(getId(item));
+        }
+
+        private Object getId(T item) {
+            return getParent().getDataProvider().getId(item);
         }
 
         @Override
@@ -818,6 +939,82 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         }
     }
 
+    /**
+     * A value provider for a component column that reuses the components of
+     * rows that are no longer shown. Components stay attached to the Grid
+     * while they are in the pool, so their connectors are reused as well.
+     * <p>
+     * The pool keeps at most as many components as the column has shown at
+     * once since all of its rows were last dropped, which is roughly the
+     * number of rows cached by the client. Any other released components are
+     * detached.
+     *
+     * @param <T>
+     *            the grid bean type
+     * @param <V>
+     *            the component type
+     */
+    private static class ComponentPool<T, V extends Component>
+            implements ValueProvider<T, V> {
+
+        private final SerializableSupplier<V> componentFactory;
+        private final Setter<V, T> componentUpdater;
+        private final Deque<V> components = new ArrayDeque<>();
+        private Column<T, V> column;
+        private int capacity = 0;
+
+        private ComponentPool(SerializableSupplier<V> componentFactory,
+                Setter<V, T> componentUpdater) {
+            this.componentFactory = componentFactory;
+            this.componentUpdater = componentUpdater;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V apply(T item) {
+            V component = (V) column.activeComponents
+                    .get(column.getGrid().getDataProvider().getId(item));
+            if (component == null) {
+                component = components.isEmpty() ? componentFactory.get()
+                        : components.pop();
+                // The component is about to be shown in addition to others
+                capacity = Math.max(capacity,
+                        column.activeComponents.size() + 1);
+            }
+            componentUpdater.accept(component, item);
+            return component;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void release(Component component) {
+            if (components.size() < capacity) {
+                components.push((V) component);
+            } else {
+                column.getGrid().removeExtensionComponent(component);
+            }
+        }
+
+        /**
+         * Sets the maximum number of components kept for reuse, and detaches
+         * the least recently used ones that no longer fit.
+         *
+         * @param capacity
+         *            the maximum number of pooled components
+         */
+        private void setCapacity(int capacity) {
+            this.capacity = capacity;
+            while (components.size() > capacity) {
+                column.getGrid()
+                        .removeExtensionComponent(components.removeLast());
+            }
+        }
+
+        private void clear(Grid<?> grid) {
+            components.forEach(grid::removeExtensionComponent);
+            components.clear();
+        }
+    }
+
     /**
      * This extension manages the configuration and data communication for a
      * Column inside of a Grid component.
@@ -829,6 +1026,12 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
      */
     public static class Column<T, V> extends AbstractExtension {
 
+        /**
+         * Whether a subclass of Column overrides
+         * {@link #getComparator(SortDirection)}, by class.
+         */
+        private static final Map<Class<?>, Boolean> GET_COMPARATOR_OVERRIDDEN = new ConcurrentHashMap<>();
+
         private final ValueProvider<T, V> valueProvider;
         private ValueProvider<V, ?> presentationProvider;
 
@@ -841,12 +1044,39 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         };
 
         private SerializableComparator<T> comparator;
+        /*
+         * The comparator split into a sort key and a comparator for it, so
+         * that the keys can be extracted once per item when sorting
+         */
+        private ValueProvider<T, ?> sortKeyGetter;
+        private SerializableComparator<Object> sortKeyComparator;
         private StyleGenerator<T> styleGenerator = item -> null;
         private DescriptionGenerator<T> descriptionGenerator;
         private DataGenerator<T> dataGenerator = new DataGenerator<T>() {
 
             @Override
             public void generateData(T item, JsonObject jsonObject) {
+                if (!getGrid().isColumnDataSent(Column.this)) {
+                    return;
+                }
+                ColumnState state = getState(false);
+
+                String communicationId = getConnectorId();
+
+                assert communicationId != null : "No communication ID set for column "
+                        + state.caption;
+
+                generateData(item, jsonObject, communicationId,
+                        state.renderer);
+            }
+
+            @Override
+            public void generateData(List<T> items,
+                    List<JsonObject> jsonObjects) {
+                if (!getGrid().isColumnDataSent(Column.this)) {
+                    return;
+                }
+                // Resolve the column metadata once for the whole page
                 ColumnState state = getState(false);
 
                 String communicationId = getConnectorId();
@@ -854,11 +1084,20 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
                 assert communicationId != null : "No communication ID set for column "
                         + state.caption;
 
+                Connector renderer = state.renderer;
+                for (int i = 0; i < items.size(); i++) {
+                    generateData(items.get(i), jsonObjects.get(i),
+                            communicationId, renderer);
+                }
+            }
+
+            private void generateData(T item, JsonObject jsonObject,
+                    String communicationId, Connector renderer) {
                 JsonObject obj = getDataObject(jsonObject,
                         DataCommunicatorConstants.DATA);
 
                 obj.put(communicationId, generateRendererValue(item,
-                        presentationProvider, state.renderer));
+                        presentationProvider, renderer));
 
                 String style = styleGenerator.apply(item);
                 if (style != null && !style.isEmpty()) {
@@ -883,6 +1122,10 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
 
             @Override
             public void destroyAllData() {
+                if (componentPool != null) {
+                    // Only keep enough components for the rows shown now
+                    componentPool.setCapacity(activeComponents.size());
+                }
                 // Make a defensive copy of keys, as the map gets cleared when
                 // removing components.
                 new HashSet<>(activeComponents.keySet())
@@ -892,6 +1135,7 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
 
         private Binding<T, ?> editorBinding;
         private Map<Object, Component> activeComponents = new HashMap<>();
+        private ComponentPool<T, ?> componentPool;
 
         private String userId;
 
@@ -955,22 +1199,24 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
 
             Class<? super P> valueType = renderer.getPresentationType();
 
+            SerializableComparator<Object> keyComparator;
             if (Comparable.class.isAssignableFrom(valueType)) {
-                comparator = (a, b) -> compareComparables(
-                        valueProvider.apply(a), valueProvider.apply(b));
+                keyComparator = Column::compareComparables;
             } else if (Number.class.isAssignableFrom(valueType)) {
                 /*
                  * Value type will be Number whenever using NumberRenderer.
                  * Provide explicit comparison support in this case even though
                  * Number itself isn't Comparable.
                  */
-                comparator = (a, b) -> compareNumbers(
-                        (Number) valueProvider.apply(a),
-                        (Number) valueProvider.apply(b));
+                keyComparator = (a, b) -> compareNumbers((Number) a,
+                        (Number) b);
             } else {
-                comparator = (a, b) -> compareMaybeComparables(
-                        valueProvider.apply(a), valueProvider.apply(b));
+                keyComparator = Column::compareMaybeComparables;
             }
+            sortKeyGetter = valueProvider;
+            sortKeyComparator = keyComparator;
+            comparator = (a, b) -> keyComparator.compare(valueProvider.apply(a),
+                    valueProvider.apply(b));
         }
 
         private static int compareMaybeComparables(Object a, Object b) {
@@ -1063,7 +1309,12 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         private void removeComponent(Object item) {
             Component component = activeComponents.remove(item);
             if (component != null) {
-                getGrid().removeExtensionComponent(component);
+                if (componentPool != null) {
+                    // Keep the component attached for reuse
+                    componentPool.release(component);
+                } else {
+                    getGrid().removeExtensionComponent(component);
+                }
             }
         }
 
@@ -1277,10 +1528,13 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
          *            the comparator to use when sorting data in this column
          * @return this column
          */
+        @SuppressWarnings("unchecked")
         public Column<T, V> setComparator(
                 SerializableComparator<T> comparator) {
             Objects.requireNonNull(comparator, "Comparator can't be null");
             this.comparator = comparator;
+            sortKeyGetter = ValueProvider.identity();
+            sortKeyComparator = (a, b) -> comparator.compare((T) a, (T) b);
             return this;
         }
 
@@ -1301,6 +1555,52 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
                     : comparator;
         }
 
+        /**
+         * Adds the sort key of this column to the given comparator.
+         *
+         * @param sortComparator
+         *            the comparator for the previously sorted columns
+         * @param sortDirection
+         *            the direction this column is sorted by
+         * @return a comparator that also compares by this column
+         */
+        private SortKeyComparator<T> thenComparingSortKey(
+                SortKeyComparator<T> sortComparator,
+                SortDirection sortDirection) {
+            if (isGetComparatorOverridden(getClass())) {
+                // Compare the items with the overridden comparator
+                return sortComparator.thenComparing(
+                        getComparator(sortDirection));
+            }
+            Objects.requireNonNull(comparator,
+                    "No comparator defined for sorted column.");
+            SerializableComparator<Object> ascending = sortKeyComparator;
+            SerializableComparator<Object> keyComparator = ascending;
+            if (sortDirection != SortDirection.ASCENDING) {
+                keyComparator = (a, b) -> ascending.compare(b, a);
+            }
+            return sortComparator.thenComparingKey(sortKeyGetter,
+                    keyComparator);
+        }
+
+        private static boolean isGetComparatorOverridden(
+                Class<?> columnClass) {
+            return GET_COMPARATOR_OVERRIDDEN.computeIfAbsent(columnClass,
+                    type -> {
+                        for (Class<?> c = type; c != Column.class; c = c
+                                .getSuperclass()) {
+                            try {
+                                c.getDeclaredMethod("getComparator",
+                                        SortDirection.class);
+                                return Boolean.TRUE;
+                            } catch (NoSuchMethodException e) {
+                                // Check the superclass
+                            }
+                        }
+                        return Boolean.FALSE;
+                    }).booleanValue();
+        }
+
         /**
          * Sets strings describing back end properties to be used when sorting
          * this column.
@@ -2281,6 +2581,11 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
     private final Set<Column<T, ?>> columnSet = new LinkedHashSet<>();
     private final Map<String, Column<T, ?>> columnKeys = new HashMap<>();
     private final Map<String, Column<T, ?>> columnIds = new HashMap<>();
+    /*
+     * Internal ids of the columns the client needs data for, or null if the
+     * client has not reported its viewport yet.
+     */
+    private Set<String> columnViewport;
 
     private final List<GridSortOrder<T>> sortOrder = new ArrayList<>();
     private final DetailsManager<T> detailsManager;
@@ -2739,6 +3044,46 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         return addColumn(componentProvider, new ComponentRenderer());
     }
 
+    /**
+     * Adds a column that shows components which are reused between rows.
+     * <p>
+     * Instead of creating a new component for each row, the column keeps the
+     * components of rows that are no longer shown and updates them with the
+     * given updater to show other rows. The reused components stay attached to
+     * the Grid, so only their changed state is sent to the client. New
+     * components are only created with the given factory when there are no
+     * components to reuse. At most as many components are kept for reuse as
+     * the column has shown at once since all of its rows were last dropped,
+     * for instance when the items are replaced, and the rest are detached.
+     * <p>
+     * The updater is called every time the data of a row is generated, and it
+     * should set all the state of the component that depends on the item.
+     *
+     * @param componentFactory
+     *            the factory that creates new components, not {@code null}
+     * @param componentUpdater
+     *            the updater that binds a component to show a given item, not
+     *            {@code null}
+     * @return the new column
+     * @param <V>
+     *            the component type
+     * @since 8.3
+     */
+    public <V extends Component> Column<T, V> addComponentColumn(
+            SerializableSupplier<V> componentFactory,
+            Setter<V, T> componentUpdater) {
+        Objects.requireNonNull(componentFactory,
+                "Component factory cannot be null");
+        Objects.requireNonNull(componentUpdater,
+                "Component updater cannot be null");
+        ComponentPool<T, V> pool = new ComponentPool<>(componentFactory,
+                componentUpdater);
+        Column<T, V> column = addComponentColumn(pool);
+        pool.column = column;
+        column.componentPool = pool;
+        return column;
+    }
+
     /**
      * Creates a column instance from a value provider, presentation provider
      * and a renderer.
@@ -2802,6 +3147,11 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             assert displayIndex != -1 : "Tried to remove a column which is not included in columnOrder. This should not be possible as all columns should be in columnOrder.";
             columnKeys.remove(columnId);
             columnIds.remove(column.getId());
+            if (column.componentPool != null) {
+                // Return the shown components to the pool and detach all
+                column.getDataGenerator().destroyAllData();
+                column.componentPool.clear(this);
+            }
             column.remove();
             removeDataGenerator(column.getDataGenerator());
             getHeader().removeColumn(columnId);
@@ -2890,6 +3240,36 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         return detailsManager.isDetailsVisible(item);
     }
 
+    /**
+     * Sets the maximum number of details components that are kept for rows
+     * that have been scrolled out of view, so that they are not generated
+     * again when the rows are shown. By default at most 50 details components
+     * are cached, and the least recently used ones are removed when the limit
+     * is exceeded. Use {@link Integer#MAX_VALUE} to keep the details
+     * components until the details are hidden.
+     *
+     * @param cacheSize
+     *            the maximum number of cached details components, zero to
+     *            disable caching
+     * @throws IllegalArgumentException
+     *             if the cache size is negative
+     * @since 8.3
+     */
+    public void setDetailsCacheSize(int cacheSize) {
+        detailsManager.setCacheSize(cacheSize);
+    }
+
+    /**
+     * Gets the maximum number of details components that are kept for rows
+     * that have been scrolled out of view.
+     *
+     * @return the maximum number of cached details components
+     * @since 8.3
+     */
+    public int getDetailsCacheSize() {
+        return detailsManager.getCacheSize();
+    }
+
     /**
      * Gets an unmodifiable collection of all columns currently in this
      * {@link Grid}.
@@ -3694,6 +4074,72 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         }
     }
 
+    /**
+     * Sets whether cell data is only sent for the columns that are in or near
+     * the horizontal viewport of the client. When enabled, the client reports
+     * the columns it displays, and scrolling horizontally resends the rows
+     * that lack data for the columns scrolled into view. This reduces the
+     * amount of data generated and transferred for grids with very many
+     * columns. Default value is <code>false</code>.
+     * <p>
+     * Frozen columns are always sent.
+     *
+     * @param columnVirtualizationEnabled
+     *            <code>true</code> to only send the data of the columns in the
+     *            viewport, <code>false</code> to send the data of all columns
+     * @since 8.3
+     */
+    public void setColumnVirtualizationEnabled(
+            boolean columnVirtualizationEnabled) {
+        if (isColumnVirtualizationEnabled() != columnVirtualizationEnabled) {
+            getState().columnVirtualization = columnVirtualizationEnabled;
+            Set<String> oldViewport = columnViewport;
+            columnViewport = null;
+            if (!columnVirtualizationEnabled && oldViewport != null) {
+                refreshColumnData(getColumns().stream()
+                        .filter(column -> !oldViewport
+                                .contains(column.getInternalId()))
+                        .collect(Collectors.toList()));
+            }
+        }
+    }
+
+    /**
+     * Returns whether cell data is only sent for the columns that are in or
+     * near the horizontal viewport of the client. Default value is
+     * <code>false</code>.
+     *
+     * @return <code>true</code> if column virtualization is enabled,
+     *         <code>false</code> otherwise
+     * @since 8.3
+     */
+    public boolean isColumnVirtualizationEnabled() {
+        return getState(false).columnVirtualization;
+    }
+
+    /**
+     * Sends the data of the given columns for the rows on the client, without
+     * generating the rest of the row data again.
+     *
+     * @param columns
+     *            the columns to send the data of
+     */
+    private void refreshColumnData(List<Column<T, ?>> columns) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        List<DataGenerator<T>> generators = columns.stream()
+                .map(Column::getDataGenerator).collect(Collectors.toList());
+        getDataCommunicator().refreshActiveData((item, jsonObject) -> generators
+                .forEach(generator -> generator.generateData(item,
+                        jsonObject)));
+    }
+
+    private boolean isColumnDataSent(Column<T, ?> column) {
+        return columnViewport == null || !isColumnVirtualizationEnabled()
+                || columnViewport.contains(column.getInternalId());
+    }
+
     /**
      * Sets the columns and their order based on their column ids. Columns
      * currently in this grid that are not present in the list of column ids are
@@ -4675,14 +5121,15 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
      */
     protected SerializableComparator<T> createSortingComparator() {
         /*
-         * thenComparing is defined to return a serializable comparator as long
-         * as both original comparators are also serializable
+         * The sort keys of the columns are extracted only once per item when
+         * the comparator is used for in-memory sorting
          */
-        BinaryOperator<SerializableComparator<T>> operator = (comparator1,
-                comparator2) -> comparator1.thenComparing(comparator2)::compare;
-        return sortOrder.stream().map(
-                order -> order.getSorted().getComparator(order.getDirection()))
-                .reduce((x, y) -> 0, operator);
+        SortKeyComparator<T> comparator = new SortKeyComparator<>();
+        for (GridSortOrder<T> order : sortOrder) {
+            comparator = order.getSorted().thenComparingSortKey(comparator,
+                    order.getDirection());
+        }
+        return comparator;
     }
 
     @Override
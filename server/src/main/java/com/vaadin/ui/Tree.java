@@ -441,6 +441,25 @@ public class Tree<T> extends Composite
         treeGrid.expand(items);
     }
 
+    /**
+     * Expands the given items and their children recursively until the given
+     * depth.
+     * <p>
+     * {@code depth} describes the maximum distance between a given item and
+     * its descendant, meaning that {@code expandRecursively(items, 0)} expands
+     * only the given items while {@code expandRecursively(items, 2)} expands
+     * the given items as well as their children and grandchildren.
+     *
+     * @param items
+     *            the items to expand recursively
+     * @param depth
+     *            the maximum depth of recursion
+     * @since 8.3
+     */
+    public void expandRecursively(Collection<T> items, int depth) {
+        treeGrid.expandRecursively(items, depth);
+    }
+
     /**
      * Collapse the given items.
      * <p>
@@ -465,6 +484,26 @@ public class Tree<T> extends Composite
         treeGrid.collapse(items);
     }
 
+    /**
+     * Collapse the given items and their children recursively until the given
+     * depth.
+     * <p>
+     * {@code depth} describes the maximum distance between a given item and
+     * its descendant, meaning that {@code collapseRecursively(items, 0)}
+     * collapses only the given items while
+     * {@code collapseRecursively(items, 2)} collapses the given items as well
+     * as their children and grandchildren.
+     *
+     * @param items
+     *            the items to collapse recursively
+     * @param depth
+     *            the maximum depth of recursion
+     * @since 8.3
+     */
+    public void collapseRecursively(Collection<T> items, int depth) {
+        treeGrid.collapseRecursively(items, depth);
+    }
+
     /**
      * Returns whether a given item is expanded or collapsed.
      *
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jsoup.nodes.Attributes;
@@ -334,14 +335,30 @@ public class TreeGrid<T> extends Grid<T>
      *            the items to expand
      */
     public void expand(Collection<T> items) {
-        HierarchicalDataCommunicator<T> communicator = getDataCommunicator();
-        items.forEach(item -> {
-            if (!communicator.isExpanded(item)
-                    && communicator.hasChildren(item)) {
-                communicator.expand(item);
-                fireExpandEvent(item, false);
-            }
-        });
+        getDataCommunicator().expandItems(items)
+                .forEach(item -> fireExpandEvent(item, false));
+    }
+
+    /**
+     * Expands the given items and their children recursively until the given
+     * depth.
+     * <p>
+     * {@code depth} describes the maximum distance between a given item and
+     * its descendant, meaning that {@code expandRecursively(items, 0)} expands
+     * only the given items while {@code expandRecursively(items, 2)} expands
+     * the given items as well as their children and grandchildren.
+     * <p>
+     * All the items are expanded at once, and an {@link ExpandEvent} is fired
+     * for each item that was expanded.
+     *
+     * @param items
+     *            the items to expand recursively
+     * @param depth
+     *            the maximum depth of recursion
+     * @since 8.3
+     */
+    public void expandRecursively(Collection<T> items, int depth) {
+        expand(getItemsWithChildrenRecursively(items, depth));
     }
 
     /**
@@ -365,13 +382,61 @@ public class TreeGrid<T> extends Grid<T>
      *            the collection of items to collapse
      */
     public void collapse(Collection<T> items) {
-        HierarchicalDataCommunicator<T> communicator = getDataCommunicator();
+        getDataCommunicator().collapseItems(items)
+                .forEach(item -> fireCollapseEvent(item, false));
+    }
+
+    /**
+     * Collapse the given items and their children recursively until the given
+     * depth.
+     * <p>
+     * {@code depth} describes the maximum distance between a given item and
+     * its descendant, meaning that {@code collapseRecursively(items, 0)}
+     * collapses only the given items while
+     * {@code collapseRecursively(items, 2)} collapses the given items as well
+     * as their children and grandchildren.
+     * <p>
+     * All the items are collapsed at once, and a {@link CollapseEvent} is
+     * fired for each item that was collapsed.
+     *
+     * @param items
+     *            the items to collapse recursively
+     * @param depth
+     *            the maximum depth of recursion
+     * @since 8.3
+     */
+    public void collapseRecursively(Collection<T> items, int depth) {
+        collapse(getItemsWithChildrenRecursively(items, depth));
+    }
+
+    /**
+     * Gets the given items and their descendants until the given depth,
+     * leaving out the items without children. Parents precede their children
+     * in the returned list.
+     *
+     * @param items
+     *            the items to start from
+     * @param depth
+     *            the maximum depth of recursion
+     * @return the items with children
+     */
+    private List<T> getItemsWithChildrenRecursively(Collection<T> items,
+            int depth) {
+        List<T> itemsWithChildren = new ArrayList<>();
+        if (depth < 0) {
+            return itemsWithChildren;
+        }
+        HierarchicalDataProvider<T, ?> dataProvider = getDataProvider();
         items.forEach(item -> {
-            if (communicator.isExpanded(item)) {
-                communicator.collapse(item);
-                fireCollapseEvent(item, false);
+            if (dataProvider.hasChildren(item)) {
+                itemsWithChildren.add(item);
+                itemsWithChildren.addAll(getItemsWithChildrenRecursively(
+                        dataProvider.fetch(new HierarchicalQuery<>(null, item))
+                                .collect(Collectors.toList()),
+                        depth - 1));
             }
         });
+        return itemsWithChildren;
     }
 
     /**
@@ -15,10 +15,13 @@
  */
 package com.vaadin.ui.components.grid;
 
-import java.util.ArrayList;
+import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -32,6 +35,7 @@ import com.vaadin.data.provider.DataProvider;
 import com.vaadin.data.provider.HierarchicalDataProvider;
 import com.vaadin.data.provider.HierarchicalQuery;
 import com.vaadin.data.provider.Query;
+import com.vaadin.data.provider.SelectionStore;
 import com.vaadin.event.selection.MultiSelectionEvent;
 import com.vaadin.event.selection.MultiSelectionListener;
 import com.vaadin.shared.Registration;
@@ -91,7 +95,128 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
         }
     }
 
-    private List<T> selection = new ArrayList<>();
+    /**
+     * A set of the items in the data provider that either are or are not
+     * among the given ids. The items are fetched from the data provider only
+     * when the set is iterated or its size is needed.
+     */
+    private class VirtualSelection extends AbstractSet<T>
+            implements Serializable {
+
+        private final DataProvider<T, ?> dataProvider;
+        private final Set<Object> ids;
+        private final boolean excluding;
+
+        /**
+         * Creates a set of the items of the data provider.
+         *
+         * @param dataProvider
+         *            the data provider to fetch the items from
+         * @param ids
+         *            the ids of the items to exclude or include
+         * @param excluding
+         *            {@code true} if the set contains all items except the
+         *            ones with the given ids, {@code false} if it contains
+         *            only the items with the given ids
+         */
+        private VirtualSelection(DataProvider<T, ?> dataProvider,
+                Set<Object> ids, boolean excluding) {
+            this.dataProvider = dataProvider;
+            this.ids = ids;
+            this.excluding = excluding;
+        }
+
+        private Stream<T> streamItems() {
+            if (!excluding && ids.isEmpty()) {
+                return Stream.empty();
+            }
+            return fetchAllItems(dataProvider).filter(item -> excluding != ids
+                    .contains(dataProvider.getId(item)));
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return streamItems().iterator();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object o) {
+            return o != null && excluding != ids
+                    .contains(dataProvider.getId((T) o));
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !iterator().hasNext();
+        }
+
+        @Override
+        public int size() {
+            if (!excluding) {
+                return countItemsWithIds();
+            }
+            if (dataProvider instanceof HierarchicalDataProvider) {
+                return (int) streamItems().count();
+            }
+            int size = dataProvider.size(new Query<>());
+            if (ids.isEmpty()) {
+                return size;
+            }
+            return size - countItemsWithIds();
+        }
+
+        /**
+         * Counts the items with the given ids that the data provider still
+         * contains, since some of them may have been removed after they were
+         * recorded. Fetching stops when all of them have been found.
+         */
+        private int countItemsWithIds() {
+            int count = 0;
+            Iterator<T> items = fetchAllItems(dataProvider).iterator();
+            while (count < ids.size() && items.hasNext()) {
+                if (ids.contains(dataProvider.getId(items.next()))) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof MultiSelectionModelImpl.VirtualSelection) {
+                MultiSelectionModelImpl<?>.VirtualSelection other = (MultiSelectionModelImpl<?>.VirtualSelection) o;
+                if (other.dataProvider == dataProvider
+                        && other.excluding == excluding
+                        && other.ids.equals(ids)) {
+                    return true;
+                }
+            }
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            // The hash code of a set depends on all of its items
+            return super.hashCode();
+        }
+    }
+
+    private final SelectionStore<T> selection = new SelectionStore<>(
+            item -> item);
+
+    /**
+     * The data provider that the identifiers of the selected items are from.
+     */
+    private DataProvider<T, ?> selectionDataProvider;
+
+    /**
+     * Ids of the items deselected after all items were selected, or
+     * {@code null} if the selection is not a virtual select all.
+     */
+    private Set<Object> excludedIds;
+
+    private boolean virtualSelectAll = false;
 
     private SelectAllCheckBoxVisibility selectAllCheckBoxVisibility = SelectAllCheckBoxVisibility.DEFAULT;
 
@@ -143,6 +268,70 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
         return getState(false).allSelected;
     }
 
+    /**
+     * Sets whether selecting all items should avoid fetching every item from
+     * the data provider.
+     * <p>
+     * When enabled, selecting all items only records that everything is
+     * selected, and any items deselected after that are tracked by their id.
+     * The selected items are fetched lazily from the data provider only when
+     * {@link #getSelectedItems()} is iterated or
+     * {@link #streamSelectedItems()} is used. This is useful for large and
+     * lazy loaded data sets. The selected items are then returned in the
+     * order of the data provider.
+     * <p>
+     * By default virtual select all is disabled and selecting all items
+     * fetches and stores every item.
+     *
+     * @param virtualSelectAll
+     *            {@code true} to enable virtual select all, {@code false} to
+     *            disable it
+     * @since 8.3
+     */
+    public void setVirtualSelectAll(boolean virtualSelectAll) {
+        this.virtualSelectAll = virtualSelectAll;
+        if (!virtualSelectAll && excludedIds != null) {
+            // Keep the current selection, but store it explicitly
+            List<T> items = streamSelectedItems()
+                    .collect(Collectors.toList());
+            doUpdateVirtualSelection(() -> {
+                excludedIds = null;
+                getSelectionStore().update(set -> set.addAll(items));
+            }, Collections.emptySet(), Collections.emptySet(), false);
+        }
+    }
+
+    /**
+     * Returns whether selecting all items avoids fetching every item from the
+     * data provider.
+     *
+     * @return {@code true} if virtual select all is enabled, {@code false} if
+     *         not
+     * @see #setVirtualSelectAll(boolean)
+     * @since 8.3
+     */
+    public boolean isVirtualSelectAll() {
+        return virtualSelectAll;
+    }
+
+    /**
+     * Returns a stream of the currently selected items. Unlike
+     * {@link #getSelectedItems()}, this does not collect the items into a
+     * set, which makes it suitable for processing a large selection created
+     * with virtual select all.
+     *
+     * @return a stream of the selected items
+     * @see #setVirtualSelectAll(boolean)
+     * @since 8.3
+     */
+    public Stream<T> streamSelectedItems() {
+        if (excludedIds != null) {
+            return new VirtualSelection(getGrid().getDataProvider(),
+                    excludedIds, true).streamItems();
+        }
+        return getSelectionStore().getSelectedItems().stream();
+    }
+
     @Override
     public boolean isSelected(T item) {
         return isAllSelected()
@@ -157,9 +346,10 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
      * @return {@code true} if id is selected, {@code false} if not
      */
     protected boolean selectionContainsId(Object id) {
-        DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
-        return selection.stream().map(dataProvider::getId)
-                .anyMatch(i -> id.equals(i));
+        if (excludedIds != null) {
+            return !excludedIds.contains(id);
+        }
+        return getSelectionStore().containsId(id);
     }
 
     @Override
@@ -203,7 +393,11 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
 
     @Override
     public Set<T> getSelectedItems() {
-        return Collections.unmodifiableSet(new LinkedHashSet<>(selection));
+        if (excludedIds != null) {
+            return new VirtualSelection(getGrid().getDataProvider(),
+                    new HashSet<>(excludedIds), true);
+        }
+        return getSelectionStore().getSelectedItems();
     }
 
     @Override
@@ -236,6 +430,10 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
                 Set<T> copy = value.stream().map(Objects::requireNonNull)
                         .collect(Collectors.toCollection(LinkedHashSet::new));
 
+                if (excludedIds != null) {
+                    replaceVirtualSelection(copy);
+                    return;
+                }
                 updateSelection(copy, new LinkedHashSet<>(getSelectedItems()));
             }
 
@@ -314,18 +512,53 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
             getState().allSelected = true;
         }
 
-        Stream<T> allItemsStream;
-        DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
+        if (virtualSelectAll) {
+            if (userOriginated && !isUserSelectionAllowed()) {
+                throw new IllegalStateException("Client tried to update"
+                        + " selection although user selection is disallowed");
+            }
+            if (excludedIds == null || !excludedIds.isEmpty()) {
+                DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
+                // Added are the items that were not selected before
+                Set<T> addedItems;
+                if (excludedIds == null) {
+                    addedItems = new VirtualSelection(dataProvider,
+                            getSelectionStore().getSelectedItems().stream()
+                                    .map(dataProvider::getId)
+                                    .collect(Collectors.toSet()),
+                            true);
+                } else {
+                    addedItems = new VirtualSelection(dataProvider,
+                            new HashSet<>(excludedIds), false);
+                }
+                doUpdateVirtualSelection(() -> {
+                    getSelectionStore().update(Collection::clear);
+                    excludedIds = new HashSet<>();
+                }, addedItems, Collections.emptySet(), userOriginated);
+            }
+            return;
+        }
+
         // this will fetch everything from backend
+        LinkedHashSet<T> allItems = new LinkedHashSet<>();
+        fetchAllItems(getGrid().getDataProvider()).forEach(allItems::add);
+        updateSelection(allItems, Collections.emptySet(), userOriginated);
+    }
+
+    /**
+     * Fetch all items from the given data provider, including all
+     * descendants for a hierarchical data provider.
+     *
+     * @param dataProvider
+     *            the data provider to fetch from
+     * @return all items in the data provider
+     */
+    private Stream<T> fetchAllItems(DataProvider<T, ?> dataProvider) {
         if (dataProvider instanceof HierarchicalDataProvider) {
-            allItemsStream = fetchAllHierarchical(
+            return fetchAllHierarchical(
                     (HierarchicalDataProvider<T, ?>) dataProvider);
-        } else {
-            allItemsStream = fetchAll(dataProvider);
         }
-        LinkedHashSet<T> allItems = new LinkedHashSet<>();
-        allItemsStream.forEach(allItems::add);
-        updateSelection(allItems, Collections.emptySet(), userOriginated);
+        return fetchAll(dataProvider);
     }
 
     /**
@@ -394,10 +627,69 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
             getState().allSelected = false;
         }
 
-        updateSelection(Collections.emptySet(), new LinkedHashSet<>(selection),
+        if (excludedIds != null) {
+            if (userOriginated && !isUserSelectionAllowed()) {
+                throw new IllegalStateException("Client tried to update"
+                        + " selection although user selection is disallowed");
+            }
+            doUpdateVirtualSelection(() -> excludedIds = null,
+                    Collections.emptySet(), getSelectedItems(),
+                    userOriginated);
+            return;
+        }
+
+        updateSelection(Collections.emptySet(),
+                new LinkedHashSet<>(getSelectionStore().getSelectedItems()),
                 userOriginated);
     }
 
+    /**
+     * Replaces a virtual select all with the given explicitly selected items.
+     *
+     * @param items
+     *            the items to select
+     */
+    private void replaceVirtualSelection(Set<T> items) {
+        DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
+        Set<T> addedItems = items.stream()
+                .filter(item -> excludedIds
+                        .contains(dataProvider.getId(item)))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Object> keptIds = new HashSet<>(excludedIds);
+        items.stream().map(dataProvider::getId).forEach(keptIds::add);
+        Set<T> removedItems = new VirtualSelection(dataProvider, keptIds,
+                true);
+
+        doUpdateVirtualSelection(() -> {
+            excludedIds = null;
+            getSelectionStore().update(set -> {
+                set.clear();
+                set.addAll(items);
+            });
+        }, addedItems, removedItems, false);
+    }
+
+    /**
+     * Updates the selection when a virtual select all is started or ended.
+     * Since the affected items are not known, all rows on the client are
+     * refreshed. The added and removed items are passed to the event so that
+     * they do not need to be computed by fetching all items.
+     */
+    private void doUpdateVirtualSelection(Runnable update, Set<T> addedItems,
+            Set<T> removedItems, boolean userOriginated) {
+        if (getParent() == null) {
+            throw new IllegalStateException(
+                    "Trying to update selection for grid selection model that has been detached from the grid.");
+        }
+
+        Set<T> oldSelection = getSelectedItems();
+        update.run();
+        getGrid().getDataCommunicator().reset();
+
+        fireEvent(new MultiSelectionEvent<>(getGrid(), asMultiSelect(),
+                oldSelection, addedItems, removedItems, userOriginated));
+    }
+
     private void verifyUserCanSelectAll() {
         if (!getState(false).selectAllCheckBoxVisible) {
             throw new IllegalStateException(
@@ -433,8 +725,14 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
         // discard that and leave things as was before
         addedItems.removeIf(item -> removedItems.remove(item));
 
-        if (selection.containsAll(addedItems)
-                && Collections.disjoint(selection, removedItems)) {
+        if (excludedIds != null) {
+            updateVirtualSelection(addedItems, removedItems, userOriginated);
+            return;
+        }
+
+        SelectionStore<T> store = getSelectionStore();
+        if (addedItems.stream().allMatch(store::contains)
+                && removedItems.stream().noneMatch(store::contains)) {
             return;
         }
 
@@ -457,6 +755,50 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
         }, userOriginated);
     }
 
+    private void updateVirtualSelection(Set<T> addedItems,
+            Set<T> removedItems, boolean userOriginated) {
+        DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
+        if (addedItems.stream().map(dataProvider::getId)
+                .noneMatch(excludedIds::contains)
+                && removedItems.stream().map(dataProvider::getId)
+                        .allMatch(excludedIds::contains)) {
+            return;
+        }
+
+        // update allSelected for server side selection updates
+        if (getState(false).allSelected && !removedItems.isEmpty()
+                && !userOriginated) {
+            getState().allSelected = false;
+        }
+
+        if (getParent() == null) {
+            throw new IllegalStateException(
+                    "Trying to update selection for grid selection model that has been detached from the grid.");
+        }
+
+        Set<T> oldSelection = getSelectedItems();
+        Set<T> added = addedItems.stream()
+                .filter(item -> excludedIds
+                        .contains(dataProvider.getId(item)))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<T> removed = removedItems.stream()
+                .filter(item -> !excludedIds
+                        .contains(dataProvider.getId(item)))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        addedItems.stream().map(dataProvider::getId)
+                .forEach(excludedIds::remove);
+        removedItems.stream().map(dataProvider::getId)
+                .forEach(excludedIds::add);
+
+        // refresh method is NOOP for items that are not present client side
+        DataCommunicator<T> dataCommunicator = getGrid().getDataCommunicator();
+        removedItems.forEach(dataCommunicator::refresh);
+        addedItems.forEach(dataCommunicator::refresh);
+
+        fireEvent(new MultiSelectionEvent<>(getGrid(), asMultiSelect(),
+                oldSelection, added, removed, userOriginated));
+    }
+
     private void doUpdateSelection(Consumer<Collection<T>> handler,
             boolean userOriginated) {
         if (getParent() == null) {
@@ -464,8 +806,7 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
                     "Trying to update selection for grid selection model that has been detached from the grid.");
         }
 
-        LinkedHashSet<T> oldSelection = new LinkedHashSet<>(selection);
-        handler.accept(selection);
+        Set<T> oldSelection = getSelectionStore().update(handler);
 
         fireEvent(new MultiSelectionEvent<>(getGrid(), asMultiSelect(),
                 oldSelection, userOriginated));
@@ -473,13 +814,25 @@ public class MultiSelectionModelImpl<T> extends AbstractSelectionModel<T>
 
     @Override
     public void refreshData(T item) {
+        getSelectionStore().refresh(item);
+    }
+
+    /**
+     * Gets the store of the selected items. The selected items are hashed
+     * again if the data provider of the grid has been replaced since they
+     * were stored, as their identifiers may have changed.
+     *
+     * @return the selection store, not {@code null}
+     */
+    private SelectionStore<T> getSelectionStore() {
+        if (getParent() == null) {
+            return selection;
+        }
         DataProvider<T, ?> dataProvider = getGrid().getDataProvider();
-        Object refreshId = dataProvider.getId(item);
-        for (int i = 0; i < selection.size(); ++i) {
-            if (dataProvider.getId(selection.get(i)).equals(refreshId)) {
-                selection.set(i, item);
-                return;
-            }
+        if (dataProvider != selectionDataProvider) {
+            selectionDataProvider = dataProvider;
+            selection.setIdentifierGetter(dataProvider::getId);
         }
+        return selection;
     }
 }
@@ -23,8 +23,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +44,7 @@ import org.jsoup.parser.Parser;
 import org.jsoup.select.Elements;
 
 import com.vaadin.annotations.DesignRoot;
+import com.vaadin.server.VaadinService;
 import com.vaadin.server.VaadinServiceClassLoaderUtil;
 import com.vaadin.shared.util.SharedUtil;
 import com.vaadin.ui.Component;
@@ -313,6 +320,26 @@ public class Design implements Serializable {
         }
     }
 
+    /**
+     * A design file that has been read for a {@link DesignRoot} annotated
+     * class. The parsed document is only used as a template and must not be
+     * modified.
+     */
+    private static class CompiledDesign implements Serializable {
+        private final Document document;
+        private final long lastModified;
+        // Component classes resolved for the tag names of the design
+        private final Map<String, Class<? extends Component>> componentClasses = new ConcurrentHashMap<>();
+
+        private CompiledDesign(Document document, long lastModified) {
+            this.document = document;
+            this.lastModified = lastModified;
+        }
+    }
+
+    // Design files of DesignRoot annotated classes
+    private static final Map<Class<?>, CompiledDesign> COMPILED_DESIGNS = new ConcurrentHashMap<>();
+
     private static volatile ComponentFactory componentFactory = new DefaultComponentFactory();
     private static volatile ComponentMapper componentMapper = new DefaultComponentMapper();
 
@@ -460,7 +487,32 @@ public class Design implements Serializable {
      */
     private static DesignContext designToComponentTree(Document doc,
             Component componentRoot, Class<?> classWithFields) {
+        return designToComponentTree(doc, componentRoot, classWithFields,
+                null);
+    }
+
+    /**
+     * Constructs a component hierarchy from the design specified as an html
+     * tree, optionally using cached component classes for the tag names in the
+     * design.
+     *
+     * @param doc
+     *            the html tree
+     * @param componentRoot
+     *            optional component root instance
+     * @param classWithFields
+     *            a class (componentRoot class or a super class) with some
+     *            member fields
+     * @param componentClasses
+     *            the component classes for the tag names in the design, or
+     *            {@code null} to not cache the component classes
+     * @see #designToComponentTree(Document, Component, Class)
+     */
+    private static DesignContext designToComponentTree(Document doc,
+            Component componentRoot, Class<?> classWithFields,
+            Map<String, Class<? extends Component>> componentClasses) {
         DesignContext designContext = new DesignContext(doc);
+        designContext.setComponentClassCache(componentClasses);
         designContext.readPackageMappings(doc);
         // No special handling for a document without a body element - should be
         // taken care of by jsoup.
@@ -595,6 +647,28 @@ public class Design implements Serializable {
                     + " or any of its superclasses do not have an @DesignRoot annotation");
         }
 
+        CompiledDesign design = getCompiledDesign(annotatedClass);
+        return designToComponentTree(design.document.clone(), rootComponent,
+                annotatedClass, design.componentClasses);
+    }
+
+    /**
+     * Gets the parsed design file of the given {@link DesignRoot} annotated
+     * class. The design file is parsed only once, unless it is modified while
+     * not running in production mode.
+     *
+     * @param annotatedClass
+     *            the class with the DesignRoot annotation
+     * @return the compiled design
+     */
+    private static CompiledDesign getCompiledDesign(
+            Class<? extends Component> annotatedClass) {
+        CompiledDesign design = COMPILED_DESIGNS.get(annotatedClass);
+        boolean productionMode = isProductionMode();
+        if (design != null && productionMode) {
+            return design;
+        }
+
         DesignRoot designAnnotation = annotatedClass
                 .getAnnotation(DesignRoot.class);
         String filename = designAnnotation.value();
@@ -603,17 +677,27 @@ public class Design implements Serializable {
             filename = annotatedClass.getSimpleName() + ".html";
         }
 
-        InputStream stream = annotatedClass.getResourceAsStream(filename);
-        if (stream == null) {
+        URL resource = annotatedClass.getResource(filename);
+        if (resource == null) {
             throw new DesignException("Unable to find design file " + filename
                     + " in " + annotatedClass.getPackage().getName());
         }
-        try {
-            Document doc = parse(stream);
-            DesignContext context = designToComponentTree(doc, rootComponent,
-                    annotatedClass);
+        long lastModified = productionMode ? 0 : getLastModified(resource);
+        if (design != null && design.lastModified == lastModified) {
+            return design;
+        }
 
-            return context;
+        InputStream stream;
+        try {
+            stream = resource.openStream();
+        } catch (IOException e) {
+            throw new DesignException(
+                    "Unable to read design file " + resource, e);
+        }
+        try {
+            design = new CompiledDesign(parse(stream), lastModified);
+            COMPILED_DESIGNS.put(annotatedClass, design);
+            return design;
         } finally {
             try {
                 stream.close();
@@ -623,6 +707,27 @@ public class Design implements Serializable {
         }
     }
 
+    private static boolean isProductionMode() {
+        VaadinService service = VaadinService.getCurrent();
+        // No service at least in JUnit tests
+        return service != null
+                && service.getDeploymentConfiguration().isProductionMode();
+    }
+
+    private static long getLastModified(URL resource) {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return Files.getLastModifiedTime(Paths.get(resource.toURI()))
+                        .toMillis();
+            }
+            return resource.openConnection().getLastModified();
+        } catch (IOException | URISyntaxException e) {
+            getLogger().log(Level.FINE,
+                    "Unable to get the modification time of " + resource, e);
+            return 0;
+        }
+    }
+
     private static Logger getLogger() {
         return Logger.getLogger(Design.class.getName());
     }
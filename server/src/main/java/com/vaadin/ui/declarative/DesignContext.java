@@ -38,6 +38,9 @@ import com.vaadin.ui.Component;
 import com.vaadin.ui.HasComponents;
 import com.vaadin.ui.declarative.Design.ComponentFactory;
 import com.vaadin.ui.declarative.Design.ComponentMapper;
+import com.vaadin.ui.declarative.Design.DefaultComponentFactory;
+import com.vaadin.ui.declarative.Design.DefaultComponentMapper;
+import com.vaadin.util.ReflectTools;
 
 /**
  * This class contains contextual information that is collected when a component
@@ -97,6 +100,9 @@ public class DesignContext implements Serializable {
 
     private boolean shouldWriteDefaultValues = false;
 
+    // component classes by tag name, shared by the reads of the same design
+    private transient Map<String, Class<? extends Component>> componentClassCache = null;
+
     public DesignContext(Document doc) {
         this.doc = doc;
         // Initialize the mapping between prefixes and package names.
@@ -566,14 +572,60 @@ public class DesignContext implements Serializable {
         String tag = node.nodeName();
 
         ComponentMapper componentMapper = Design.getComponentMapper();
-        Component component = componentMapper.tagToComponent(tag,
-                Design.getComponentFactory(), this);
+        ComponentFactory componentFactory = Design.getComponentFactory();
+        Component component;
+        if (componentClassCache != null
+                && componentMapper.getClass() == DefaultComponentMapper.class
+                && componentFactory
+                        .getClass() == DefaultComponentFactory.class) {
+            // The default mapper and factory always create an instance of
+            // the same class for a tag
+            component = instantiateCachedClass(tag, componentMapper,
+                    componentFactory);
+        } else {
+            component = componentMapper.tagToComponent(tag, componentFactory,
+                    this);
+        }
 
         assert tagEquals(tag, componentMapper.componentToTag(component, this));
 
         return component;
     }
 
+    private Component instantiateCachedClass(String tag,
+            ComponentMapper componentMapper,
+            ComponentFactory componentFactory) {
+        Class<? extends Component> componentClass = componentClassCache
+                .get(tag);
+        if (componentClass == null) {
+            Component component = componentMapper.tagToComponent(tag,
+                    componentFactory, this);
+            componentClassCache.put(tag, component.getClass());
+            return component;
+        }
+        try {
+            return ReflectTools.createInstance(componentClass);
+        } catch (Exception e) {
+            throw new DesignException(
+                    "Could not create component " + componentClass.getName(),
+                    e);
+        }
+    }
+
+    /**
+     * Sets the cache of component classes by tag name to use when
+     * instantiating components. The cache is only used with the default
+     * component mapper and factory.
+     *
+     * @param componentClassCache
+     *            the modifiable cache shared by the reads of the same design,
+     *            or <code>null</code> to not cache component classes
+     */
+    void setComponentClassCache(
+            Map<String, Class<? extends Component>> componentClassCache) {
+        this.componentClassCache = componentClassCache;
+    }
+
     private boolean tagEquals(String tag1, String tag2) {
         return tag1.equals(tag2)
                 || (hasVaadinPrefix(tag1) && hasVaadinPrefix(tag2));
@@ -25,6 +25,7 @@ import com.vaadin.ui.Grid;
 import com.vaadin.ui.Grid.Column;
 import com.vaadin.ui.renderers.ClickableRenderer.RendererClickEvent;
 
+import elemental.json.Json;
 import elemental.json.JsonValue;
 
 /**
@@ -140,6 +141,16 @@ public abstract class AbstractRenderer<T, V> extends AbstractExtension
      * @return a JSON representation of the given value
      */
     protected <U> JsonValue encode(U value, Class<U> type) {
+        // Plain values are encoded directly, like JsonCodec would encode them
+        if (value == null) {
+            return Json.createNull();
+        } else if (value instanceof String) {
+            return Json.create((String) value);
+        } else if (value instanceof Boolean) {
+            return Json.create((Boolean) value);
+        } else if (value instanceof Number) {
+            return Json.create(((Number) value).doubleValue());
+        }
         return JsonCodec
                 .encode(value, null, type, getUI().getConnectorTracker())
                 .getEncodedValue();
@@ -320,6 +320,44 @@ public class ReflectTools implements Serializable {
         }
     }
 
+    /**
+     * Checks whether the given type can be referred to from code defined in
+     * the given class loader, for instance code generated with
+     * {@link java.lang.invoke.LambdaMetafactory}. This is the case when the
+     * type and all its enclosing types are public, and the class loader
+     * resolves the name of the type to the same class. Arrays are checked
+     * based on their component type, and primitive types are always
+     * visible.
+     *
+     * @param type
+     *            the type to check, not <code>null</code>
+     * @param classLoader
+     *            the class loader, or <code>null</code> for the bootstrap
+     *            class loader
+     * @return <code>true</code> if the type is public and visible from the
+     *         class loader, <code>false</code> otherwise
+     * @since 8.3
+     */
+    public static boolean isPublicAndVisible(Class<?> type,
+            ClassLoader classLoader) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, classLoader) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
     /**
      * Returns the first non-synthetic method of the specified
      * {@code listenerClass}, which must have single method in the source-code.
@@ -0,0 +1,103 @@
+package com.vaadin.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.vaadin.data.provider.GridSortOrder;
+import com.vaadin.data.provider.InMemoryDataProviderHelpers;
+import com.vaadin.shared.data.sort.SortDirection;
+import com.vaadin.ui.Grid;
+import com.vaadin.ui.Grid.Column;
+import com.vaadin.ui.renderers.NumberRenderer;
+
+/*
+ * This benchmark sorts 200 000 rows in memory by three derived Grid columns.
+ *
+ * The chained column comparators compute the column values of both rows for
+ * every comparison. The sort keys of Grid's sorting comparator are computed
+ * once per row instead. Your results will vary.
+ */
+public class GridSortingBenchmark {
+
+    private static final int ROWS = 200000;
+
+    private static class Row {
+        private final int id;
+        private final double value;
+
+        private Row(int id, double value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+
+    public static void main(String[] args) {
+        List<Row> rows = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Row(random.nextInt(ROWS), random.nextDouble()));
+        }
+
+        Grid<Row> grid = new Grid<>();
+        Column<Row, String> group = grid
+                .addColumn(row -> "Group " + (row.id % 100));
+        Column<Row, String> formatted = grid.addColumn(
+                row -> String.format(Locale.ENGLISH, "%.1f", row.value * 10));
+        Column<Row, Double> computed = grid.addColumn(
+                row -> Math.sqrt(row.id) * row.value, new NumberRenderer());
+        grid.setSortOrder(GridSortOrder.asc(group).thenDesc(formatted)
+                .thenAsc(computed));
+
+        Comparator<Row> chained = group.getComparator(SortDirection.ASCENDING)
+                .thenComparing(
+                        formatted.getComparator(SortDirection.DESCENDING))
+                .thenComparing(
+                        computed.getComparator(SortDirection.ASCENDING));
+        Comparator<Row> sortKeys = grid.getDataCommunicator()
+                .getInMemorySorting();
+
+        if (!sortChained(rows, chained)
+                .equals(sortWithSortKeys(rows, sortKeys))) {
+            throw new IllegalStateException("Sort results differ");
+        }
+
+        // Warmup
+        runBenchmark(rows, chained, sortKeys, 3);
+
+        runBenchmark(rows, chained, sortKeys, 10);
+    }
+
+    private static void runBenchmark(List<Row> rows, Comparator<Row> chained,
+            Comparator<Row> sortKeys, int rounds) {
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < rounds; i++) {
+            sortChained(rows, chained);
+        }
+        long chainedTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        for (int i = 0; i < rounds; i++) {
+            sortWithSortKeys(rows, sortKeys);
+        }
+        long sortKeysTime = System.currentTimeMillis() - start;
+
+        System.out.println("chained comparators: " + chainedTime + " ms");
+        System.out.println("precomputed sort keys: " + sortKeysTime + " ms");
+    }
+
+    private static List<Row> sortChained(List<Row> rows,
+            Comparator<Row> comparator) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    private static List<Row> sortWithSortKeys(List<Row> rows,
+            Comparator<Row> comparator) {
+        return InMemoryDataProviderHelpers.filterAndSort(rows, null,
+                comparator, 0);
+    }
+}
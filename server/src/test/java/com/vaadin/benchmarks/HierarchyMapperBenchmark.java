@@ -0,0 +1,90 @@
+package com.vaadin.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.data.TreeData;
+import com.vaadin.data.provider.HierarchyMapper;
+import com.vaadin.data.provider.TreeDataProvider;
+import com.vaadin.server.SerializablePredicate;
+
+/*
+ * This benchmark measures expanding and collapsing every node of deep and wide
+ * hierarchies through HierarchyMapper, the way TreeGrid does it.
+ *
+ * Collapsing a node should only take time relative to the size of the
+ * collapsed subtree, not the size of the whole expanded hierarchy.
+ *
+ * The deep tree is a chain of 2000 nodes, each with 10 leaves. The wide tree
+ * has 200 nodes with 100 leaves each. Your results will vary.
+ */
+public class HierarchyMapperBenchmark {
+
+    public static void main(String[] args) {
+        TreeData<String> deep = createDeepTree(2000, 10);
+        TreeData<String> wide = createWideTree(200, 100);
+
+        // Warmup
+        runBenchmark(deep, 3);
+        runBenchmark(wide, 3);
+
+        System.out.println("deep tree: " + runBenchmark(deep, 10) + " ms");
+        System.out.println("wide tree: " + runBenchmark(wide, 10) + " ms");
+    }
+
+    private static long runBenchmark(TreeData<String> data, int rounds) {
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < rounds; i++) {
+            HierarchyMapper<String, SerializablePredicate<String>> mapper = new HierarchyMapper<>(
+                    new TreeDataProvider<>(data));
+            List<String> parents = new ArrayList<>();
+            collectParents(data, null, parents);
+
+            parents.forEach(
+                    item -> mapper.doExpand(item, mapper.getIndexOf(item)));
+            // Collapse the deepest nodes first
+            for (int j = parents.size() - 1; j >= 0; j--) {
+                String item = parents.get(j);
+                mapper.doCollapse(item, mapper.getIndexOf(item));
+            }
+            mapper.destroyAllData();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static void collectParents(TreeData<String> data, String parent,
+            List<String> parents) {
+        for (String child : data.getChildren(parent)) {
+            if (!data.getChildren(child).isEmpty()) {
+                parents.add(child);
+                collectParents(data, child, parents);
+            }
+        }
+    }
+
+    private static TreeData<String> createDeepTree(int depth, int leaves) {
+        TreeData<String> data = new TreeData<>();
+        String parent = null;
+        for (int level = 0; level < depth; level++) {
+            String item = "Level " + level;
+            data.addItem(parent, item);
+            for (int leaf = 0; leaf < leaves; leaf++) {
+                data.addItem(item, item + " leaf " + leaf);
+            }
+            parent = item;
+        }
+        return data;
+    }
+
+    private static TreeData<String> createWideTree(int parents, int leaves) {
+        TreeData<String> data = new TreeData<>();
+        for (int i = 0; i < parents; i++) {
+            String item = "Parent " + i;
+            data.addItem(null, item);
+            for (int leaf = 0; leaf < leaves; leaf++) {
+                data.addItem(item, item + " leaf " + leaf);
+            }
+        }
+        return data;
+    }
+}
@@ -415,6 +415,26 @@ public class BeanBinderTest
         testSerialization(binder);
     }
 
+    @Test
+    public void requiredConfigurator_appliedToSharedConstraintMetadata() {
+        BeanValidationBinder<RequiredConstraints> binder = new BeanValidationBinder<>(
+                RequiredConstraints.class);
+        TextField firstNameField = new TextField();
+        binder.bind(firstNameField, "firstname");
+
+        BeanValidationBinder<RequiredConstraints> sizeBinder = new BeanValidationBinder<>(
+                RequiredConstraints.class);
+        sizeBinder.setRequiredConfigurator(RequiredFieldConfigurator.SIZE);
+        TextField sizeFirstNameField = new TextField();
+        TextField sizeAgeField = new TextField();
+        sizeBinder.bind(sizeFirstNameField, "firstname");
+        sizeBinder.bind(sizeAgeField, "age");
+
+        assertTrue(firstNameField.isRequiredIndicatorVisible());
+        assertFalse(sizeFirstNameField.isRequiredIndicatorVisible());
+        assertTrue(sizeAgeField.isRequiredIndicatorVisible());
+    }
+
     @Test
     public void age_minSizeConstraint_fieldIsRequired() {
         BeanValidationBinder<RequiredConstraints> binder = new BeanValidationBinder<>(
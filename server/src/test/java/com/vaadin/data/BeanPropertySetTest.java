@@ -40,6 +40,19 @@ import com.vaadin.tests.data.bean.Sex;
 import com.vaadin.tests.server.ClassesSerializableTest;
 
 public class BeanPropertySetTest {
+
+    private static class NonPublicBean {
+        private int number;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+    }
+
     @Test
     public void testSerializeDeserialize_propertySet() throws Exception {
         PropertySet<Person> originalPropertySet = BeanPropertySet
@@ -178,6 +191,30 @@ public class BeanPropertySetTest {
         BeanPropertySet.get(FatherAndSon.class).getProperty("father.age");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getterAndSetter_publicAndNonPublicBeans() {
+        PropertyDefinition<FatherAndSon, String> nameDefinition = (PropertyDefinition<FatherAndSon, String>) BeanPropertySet
+                .get(FatherAndSon.class).getProperty("father.firstName")
+                .orElseThrow(RuntimeException::new);
+        FatherAndSon father = new FatherAndSon("Old Jon", "Doe", null, null);
+        FatherAndSon son = new FatherAndSon("Jon", "Doe", father, null);
+
+        nameDefinition.getSetter().get().accept(son, "Old Joe");
+        assertEquals("Old Joe", father.getFirstName());
+        assertEquals("Old Joe", nameDefinition.getGetter().apply(son));
+
+        PropertyDefinition<NonPublicBean, Integer> numberDefinition = (PropertyDefinition<NonPublicBean, Integer>) BeanPropertySet
+                .get(NonPublicBean.class).getProperty("number")
+                .orElseThrow(RuntimeException::new);
+        NonPublicBean bean = new NonPublicBean();
+
+        numberDefinition.getSetter().get().accept(bean, 42);
+        assertEquals(42, bean.getNumber());
+        assertEquals(Integer.valueOf(42),
+                numberDefinition.getGetter().apply(bean));
+    }
+
     @Test
     public void properties() {
         PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
@@ -0,0 +1,210 @@
+package com.vaadin.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.data.BindingValidationStatus.Status;
+import com.vaadin.tests.data.bean.Person;
+
+public class BinderAsyncValidationTest
+        extends BinderTestBase<Binder<Person>, Person> {
+
+    private static final String NAME_TAKEN_ERROR_MESSAGE = "Name is already taken";
+
+    @Before
+    public void setUp() {
+        binder = new Binder<>();
+        item = new Person();
+        item.setFirstName("Johannes");
+        item.setAge(32);
+    }
+
+    @Test
+    public void asyncValidator_pendingUntilValidationCompletes() {
+        List<Runnable> tasks = new ArrayList<>();
+        binder.setAsyncValidationExecutor(tasks::add);
+        binder.setAsyncValidationDelay(0);
+        binder.forField(nameField).withValidator(notEmpty)
+                .withAsyncValidator(BinderAsyncValidationTest::checkAvailable)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Taken");
+        nameField.setValue("Free");
+
+        BinderValidationStatus<Person> status = binder.validate();
+        assertTrue(status.isPending());
+        assertFalse(status.isOk());
+        assertEquals(Status.PENDING,
+                status.getFieldValidationStatuses().get(0).getStatus());
+        assertEquals("Johannes", item.getFirstName());
+        // Validating the same value again does not start a new validation
+        assertEquals(2, tasks.size());
+
+        // The validation of the outdated value is skipped
+        tasks.forEach(Runnable::run);
+        assertEquals("Free", item.getFirstName());
+        assertTrue(binder.validate().isOk());
+
+        tasks.clear();
+        nameField.setValue("Taken");
+        tasks.forEach(Runnable::run);
+
+        assertEquals("Free", item.getFirstName());
+        assertNotNull(nameField.getComponentError());
+        assertEquals(NAME_TAKEN_ERROR_MESSAGE, binder.validate()
+                .getFieldValidationErrors().get(0).getMessage().get());
+    }
+
+    @Test
+    public void syncValidatorFails_asyncValidatorNotRun() {
+        List<Runnable> tasks = new ArrayList<>();
+        binder.setAsyncValidationExecutor(tasks::add);
+        binder.setAsyncValidationDelay(0);
+        binder.forField(nameField).withValidator(notEmpty)
+                .withAsyncValidator(BinderAsyncValidationTest::checkAvailable)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("");
+
+        assertTrue(tasks.isEmpty());
+        assertTrue(binder.validate().hasErrors());
+        assertFalse(binder.validate().isPending());
+    }
+
+    @Test
+    public void writeBeanIfValid_waitsForAsyncValidation() {
+        binder.setAsyncValidationTimeout(10000);
+        binder.forField(nameField)
+                .withAsyncValidator(
+                        (name, context) -> CompletableFuture.supplyAsync(
+                                () -> checkAvailable(name, context).join()))
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        Person person = new Person();
+        nameField.setValue("Taken");
+        assertFalse(binder.writeBeanIfValid(person));
+        assertNull(person.getFirstName());
+        assertNotNull(nameField.getComponentError());
+
+        nameField.setValue("Free");
+        assertTrue(binder.writeBeanIfValid(person));
+        assertEquals("Free", person.getFirstName());
+        assertNull(nameField.getComponentError());
+    }
+
+    @Test
+    public void asyncValidatorFails_errorMessageShown() {
+        binder.setAsyncValidationExecutor(Runnable::run);
+        binder.setAsyncValidationErrorMessage("Cannot check the name");
+        binder.forField(nameField).withAsyncValidator((name, context) -> {
+            throw new IllegalStateException("Service unavailable");
+        }).bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        Person person = new Person();
+        nameField.setValue("Free");
+        assertFalse(binder.writeBeanIfValid(person));
+        assertNull(person.getFirstName());
+        assertEquals("Cannot check the name", binder.validate()
+                .getFieldValidationErrors().get(0).getMessage().get());
+    }
+
+    @Test
+    public void asyncValidationTimesOut_leftPending() {
+        CompletableFuture<ValidationResult> result = new CompletableFuture<>();
+        binder.setAsyncValidationExecutor(Runnable::run);
+        binder.setAsyncValidationDelay(0);
+        binder.setAsyncValidationTimeout(0);
+        binder.forField(nameField)
+                .withAsyncValidator((name, context) -> result)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        Person person = new Person();
+        nameField.setValue("Free");
+        assertFalse(binder.writeBeanIfValid(person));
+        assertNull(person.getFirstName());
+        assertTrue(binder.validate().isPending());
+
+        result.complete(ValidationResult.ok());
+        assertTrue(binder.validate().isOk());
+        assertTrue(binder.writeBeanIfValid(person));
+        assertEquals("Free", person.getFirstName());
+    }
+
+    @Test
+    public void writeBean_pendingValidationNotWaitedFor()
+            throws ValidationException {
+        CompletableFuture<ValidationResult> result = new CompletableFuture<>();
+        binder.setAsyncValidationExecutor(Runnable::run);
+        binder.forField(nameField)
+                .withAsyncValidator((name, context) -> result)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        Person person = new Person();
+        nameField.setValue("Free");
+        try {
+            binder.writeBean(person);
+            fail("Pending validation should fail the write");
+        } catch (ValidationException e) {
+            assertTrue(e.getFieldValidationErrors().isEmpty());
+            assertEquals(1, e.getPendingFieldValidations().size());
+            assertTrue(e.getValidationErrors().isEmpty());
+        }
+        assertNull(person.getFirstName());
+
+        result.complete(ValidationResult.ok());
+        binder.writeBean(person);
+        assertEquals("Free", person.getFirstName());
+    }
+
+    @Test
+    public void converterAfterAsyncValidator_validatorGetsPresentationValue() {
+        List<String> validated = new ArrayList<>();
+        binder.setAsyncValidationExecutor(Runnable::run);
+        binder.forField(ageField).withAsyncValidator((age, context) -> {
+            validated.add(age);
+            return CompletableFuture.completedFuture(ValidationResult.ok());
+        }).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.readBean(item);
+
+        Person person = new Person();
+        ageField.setValue("42");
+        assertTrue(binder.writeBeanIfValid(person));
+        assertEquals(42, person.getAge());
+        assertEquals("42", validated.get(validated.size() - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setNegativeAsyncValidationDelay_throws() {
+        binder.setAsyncValidationDelay(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setNegativeAsyncValidationTimeout_throws() {
+        binder.setAsyncValidationTimeout(-1);
+    }
+
+    private static CompletableFuture<ValidationResult> checkAvailable(
+            String name, ValueContext context) {
+        return CompletableFuture.completedFuture("Taken".equals(name)
+                ? ValidationResult.error(NAME_TAKEN_ERROR_MESSAGE)
+                : ValidationResult.ok());
+    }
+}
@@ -255,6 +255,52 @@ public class BinderTest extends BinderTestBase<Binder<Person>, Person> {
         assertEquals(fieldValue, person.getFirstName());
     }
 
+    @Test
+    public void save_afterLoad_onlyChangedValuesWritten()
+            throws ValidationException {
+        binder.bind(nameField, Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField)
+                .withConverter(new StringToIntegerConverter(""))
+                .bind(Person::getAge, Person::setAge);
+        binder.readBean(item);
+
+        // Changed elsewhere after the bean was read
+        item.setAge(33);
+        nameField.setValue("Jane");
+        binder.writeBean(item);
+
+        assertEquals("Jane", item.getFirstName());
+        assertEquals(33, item.getAge());
+
+        // All values are written to other beans
+        Person person = new Person();
+        binder.writeBean(person);
+
+        assertEquals("Jane", person.getFirstName());
+        assertEquals(32, person.getAge());
+    }
+
+    @Test
+    public void save_afterLoad_bindingAddedAfterLoadWritten()
+            throws ValidationException {
+        binder.bind(nameField, Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        ageField.setValue("40");
+        binder.forField(ageField)
+                .withConverter(new StringToIntegerConverter(""))
+                .bind(Person::getAge, Person::setAge);
+        binder.writeBean(item);
+
+        assertEquals(40, item.getAge());
+
+        // Written once, the value is no longer rewritten
+        item.setAge(33);
+        binder.writeBean(item);
+
+        assertEquals(33, item.getAge());
+    }
+
     @Test
     public void load_bound_fieldValueIsUpdated() {
         binder.bind(nameField, Person::getFirstName, Person::setFirstName);
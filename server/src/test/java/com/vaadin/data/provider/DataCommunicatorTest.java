@@ -17,19 +17,26 @@ package com.vaadin.data.provider;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.server.ClientMethodInvocation;
 import com.vaadin.server.MockVaadinSession;
 import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinService;
 import com.vaadin.server.VaadinSession;
 import com.vaadin.shared.Registration;
+import com.vaadin.shared.data.DataCommunicatorConstants;
 import com.vaadin.ui.UI;
 
 import elemental.json.Json;
@@ -222,4 +229,231 @@ public class DataCommunicatorTest {
         assertFalse("Stalled object in KeyMapper",
                 communicator.getKeyMapper().has(TEST_OBJECT));
     }
+
+    @Test
+    public void pushData_droppedRowsCleanedUpOnNextPush() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Object());
+        }
+        communicator.setDataProvider(new ListDataProvider<>(items), null);
+        communicator.pushData(0, items.subList(0, 5));
+        communicator.pushData(5, items.subList(5, 10));
+        assertEquals(10, communicator.getActiveDataCount());
+
+        JsonArray keys = Json.createArray();
+        keys.set(0, communicator.getKeyMapper().key(items.get(0)));
+        keys.set(1, communicator.getKeyMapper().key(items.get(1)));
+        communicator.onDropRows(keys);
+        assertEquals(2, communicator.getActiveDataHandler()
+                .getDroppedDataCount());
+
+        // Re-pushed rows stay active, the rest of the dropped rows go away
+        communicator.pushData(1, items.subList(1, 2));
+        assertEquals(9, communicator.getActiveDataCount());
+        assertEquals(0, communicator.getActiveDataHandler()
+                .getDroppedDataCount());
+        assertFalse(communicator.getKeyMapper().has(items.get(0)));
+        assertTrue(communicator.getKeyMapper().has(items.get(1)));
+    }
+
+    @Test
+    public void pushData_generatorsCalledOncePerPage() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Object());
+        }
+        communicator.setDataProvider(new ListDataProvider<>(items), null);
+
+        List<Integer> pageSizes = new ArrayList<>();
+        communicator.addDataGenerator(new DataGenerator<Object>() {
+            @Override
+            public void generateData(Object item, JsonObject jsonObject) {
+                pageSizes.add(1);
+                jsonObject.put("index", items.indexOf(item));
+            }
+
+            @Override
+            public void generateData(List<Object> page,
+                    List<JsonObject> jsonObjects) {
+                pageSizes.add(page.size());
+                for (int i = 0; i < page.size(); i++) {
+                    jsonObjects.get(i).put("index", items.indexOf(page.get(i)));
+                }
+            }
+        });
+
+        List<JsonObject> dataObjects = communicator
+                .getDataObjects(items.subList(2, 7));
+
+        assertEquals(Collections.singletonList(5), pageSizes);
+        assertEquals(5, dataObjects.size());
+        for (int i = 0; i < dataObjects.size(); i++) {
+            assertEquals(i + 2, (int) dataObjects.get(i).getNumber("index"));
+            assertEquals(communicator.getKeyMapper().key(items.get(i + 2)),
+                    dataObjects.get(i)
+                            .getString(DataCommunicatorConstants.KEY));
+        }
+    }
+
+    @Test
+    public void getDataObjects_getDataObjectOverridden_calledForEachItem() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator() {
+            @Override
+            protected JsonObject getDataObject(Object data) {
+                JsonObject dataObject = super.getDataObject(data);
+                dataObject.put("custom", true);
+                return dataObject;
+            }
+        };
+        communicator.extend(ui);
+
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(new Object());
+        }
+        communicator.setDataProvider(new ListDataProvider<>(items), null);
+
+        List<JsonObject> dataObjects = communicator.getDataObjects(items);
+
+        assertEquals(3, dataObjects.size());
+        for (int i = 0; i < dataObjects.size(); i++) {
+            assertTrue(dataObjects.get(i).getBoolean("custom"));
+            assertEquals(communicator.getKeyMapper().key(items.get(i)),
+                    dataObjects.get(i)
+                            .getString(DataCommunicatorConstants.KEY));
+        }
+    }
+
+    @Test
+    public void asyncDataProvider_dataSentAfterFetchCompletes() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Runnable> tasks = new ArrayList<>();
+        communicator.setDataProvider(AsyncDataProvider.ofDataProvider(
+                new ListDataProvider<>(Collections.singleton(TEST_OBJECT)),
+                tasks::add), null);
+        TestDataGenerator generator = new TestDataGenerator();
+        communicator.addDataGenerator(generator);
+
+        communicator.beforeClientResponse(true);
+        assertNull("Data should not be generated before the fetch completes",
+                generator.generated);
+        assertEquals("Size and fetch should be requested", 2, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        communicator.beforeClientResponse(false);
+        assertEquals("DataGenerator generate was not called", TEST_OBJECT,
+                generator.generated);
+    }
+
+    @Test
+    public void asyncDataProvider_staleResultsDiscarded() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Runnable> tasks = new ArrayList<>();
+        ListDataProvider<Object> dataProvider = new ListDataProvider<>(
+                Collections.singleton(TEST_OBJECT));
+        communicator.setDataProvider(
+                AsyncDataProvider.ofDataProvider(dataProvider, tasks::add),
+                null);
+        TestDataGenerator generator = new TestDataGenerator();
+        communicator.addDataGenerator(generator);
+
+        communicator.beforeClientResponse(true);
+        List<Runnable> staleTasks = new ArrayList<>(tasks);
+        tasks.clear();
+
+        // Data changes before the pending requests complete
+        dataProvider.refreshAll();
+        staleTasks.forEach(Runnable::run);
+        communicator.beforeClientResponse(false);
+
+        assertNull("Stale data should not be sent", generator.generated);
+        assertEquals("A new size request should be made", 1, tasks.size());
+    }
+
+    @Test
+    public void asyncDataProvider_fetchFails_errorReportedAndClientReset() {
+        session.lock();
+        UI ui = new TestUI(session);
+        List<Throwable> errors = new ArrayList<>();
+        ui.setErrorHandler(event -> errors.add(event.getThrowable()));
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Runnable> tasks = new ArrayList<>();
+        IllegalStateException failure = new IllegalStateException();
+        communicator.setDataProvider(AsyncDataProvider.ofDataProvider(
+                new CallbackDataProvider<Object, Object>(query -> {
+                    throw failure;
+                }, query -> 1), tasks::add), null);
+
+        communicator.beforeClientResponse(true);
+        communicator.retrievePendingRpcCalls();
+        tasks.forEach(Runnable::run);
+        assertEquals("The failure should be reported", 1, errors.size());
+        assertSame(failure, errors.get(0).getCause().getCause());
+
+        communicator.beforeClientResponse(false);
+        List<ClientMethodInvocation> calls = communicator
+                .retrievePendingRpcCalls();
+        assertEquals(1, calls.size());
+        assertEquals("The client should not wait for the rows", "reset",
+                calls.get(0).getMethodName());
+        assertEquals(0, calls.get(0).getParameters()[0]);
+    }
+
+    @Test
+    public void asyncDataProvider_withConvertedFilter_fetchedAsynchronously() {
+        session.lock();
+        UI ui = new TestUI(session);
+        TestDataCommunicator communicator = new TestDataCommunicator();
+        communicator.extend(ui);
+
+        List<Runnable> tasks = new ArrayList<>();
+        List<Object> filters = new ArrayList<>();
+        DataProvider<Object, Object> asyncProvider = AsyncDataProvider
+                .ofDataProvider(new CallbackDataProvider<Object, Object>(
+                        query -> {
+                            filters.add(query.getFilter().orElse(null));
+                            return Stream.of(TEST_OBJECT);
+                        }, query -> 1), tasks::add);
+        ConfigurableFilterDataProvider<Object, Void, String> wrapped = asyncProvider
+                .<String> withConvertedFilter(String::toUpperCase)
+                .withConfigurableFilter();
+        wrapped.setFilter("foo");
+        communicator.setDataProvider(wrapped, null);
+        TestDataGenerator generator = new TestDataGenerator();
+        communicator.addDataGenerator(generator);
+
+        communicator.beforeClientResponse(true);
+        assertNull("Data should not be generated before the fetch completes",
+                generator.generated);
+        assertEquals("Size and fetch should be requested", 2, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        communicator.beforeClientResponse(false);
+        assertEquals("DataGenerator generate was not called", TEST_OBJECT,
+                generator.generated);
+        assertEquals(Collections.singletonList("FOO"), filters);
+    }
 }
@@ -0,0 +1,205 @@
+package com.vaadin.data.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializableComparator;
+import com.vaadin.server.SerializablePredicate;
+
+public class IndexedListDataProviderTest
+        extends DataProviderTestBase<IndexedListDataProvider<StrBean>> {
+
+    private static final ValueProvider<StrBean, String> VALUE = StrBean::getValue;
+    private static final ValueProvider<StrBean, Integer> ID = StrBean::getId;
+
+    @Override
+    protected IndexedListDataProvider<StrBean> createDataProvider() {
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                data);
+        provider.addEqualityIndex(VALUE);
+        provider.addRangeIndex(ID);
+        provider.addPrefixIndex(VALUE, Locale.ENGLISH);
+        return provider;
+    }
+
+    @Test
+    public void setFilterByValue_indexed() {
+        dataProvider.setFilterByValue(VALUE, "Foo");
+        assertEquals(36, sizeWithUnfilteredQuery());
+
+        dataProvider.setFilterByValue(VALUE, "Bar");
+        assertEquals(23, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void addFilter_onlyTestedForIndexedMatches() {
+        AtomicInteger calls = new AtomicInteger();
+        dataProvider.setFilterByValue(VALUE, "Foo");
+        dataProvider.addFilter(item -> {
+            calls.incrementAndGet();
+            return item.getId() > 50;
+        });
+
+        assertEquals(17, sizeWithUnfilteredQuery());
+        assertEquals("Only the items found through the index should be tested",
+                36, calls.get());
+    }
+
+    @Test
+    public void filterByRange() {
+        dataProvider.setFilterByRange(ID, 10, 19);
+        // Ids 10 to 19 and the Xyz bean, which also has id 10
+        assertEquals(11, sizeWithUnfilteredQuery());
+
+        dataProvider.setFilterByRange(ID, null, 4);
+        assertEquals(5, sizeWithUnfilteredQuery());
+
+        dataProvider.addFilterByValue(VALUE, "Xyz");
+        assertEquals(0, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void filterByRange_noIndex_testedForEachItem() {
+        dataProvider.setFilterByRange(StrBean::getRandomNumber, 2, 5);
+        assertEquals(
+                data.stream().filter(item -> item.getRandomNumber() >= 2
+                        && item.getRandomNumber() <= 5).count(),
+                sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void refreshAll_itemReplaced_indexesRebuilt() {
+        dataProvider.setFilterByValue(VALUE, "Xyz");
+        assertEquals(1, sizeWithUnfilteredQuery());
+
+        data.set(1, new StrBean("Xyz", 1000, 0));
+        dataProvider.refreshAll();
+
+        assertEquals(2, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void filterByPrefix_noIndex_testedForEachItem() {
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                data);
+        provider.setFilterByPrefix(VALUE, "BA");
+        assertEquals(63, provider.size(new Query<>()));
+    }
+
+    @Test
+    public void filterByPrefix() {
+        dataProvider.setFilterByPrefix(VALUE, "BA");
+        assertEquals(63, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void filteringByPrefix_indexed() {
+        DataProvider<StrBean, String> filteringBy = dataProvider
+                .filteringByPrefix(VALUE, Locale.ENGLISH);
+
+        assertSizeWithFilter(36, filteringBy, "Fo");
+        assertSizeWithFilter(36, filteringBy, "fo");
+        assertSizeWithFilter(63, filteringBy, "b");
+        assertSizeWithFilter(0, filteringBy, "oo");
+        assertSizeWithFilter(100, filteringBy, "");
+    }
+
+    @Test
+    public void filteringByPrefix_equalPrefix_snapshotReused() {
+        AtomicInteger filterings = new AtomicInteger();
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<StrBean>(
+                data) {
+            @Override
+            List<StrBean> filterItems(
+                    SerializablePredicate<StrBean> queryFilter) {
+                filterings.incrementAndGet();
+                return super.filterItems(queryFilter);
+            }
+        };
+        provider.setSnapshotEnabled(true);
+        provider.addPrefixIndex(VALUE, Locale.ENGLISH);
+        DataProvider<StrBean, String> filteringBy = provider
+                .filteringByPrefix(VALUE, Locale.ENGLISH);
+
+        assertSizeWithFilter(36, filteringBy, "Fo");
+        assertSizeWithFilter(36, filteringBy, "Fo");
+        assertEquals(1, filterings.get());
+
+        assertSizeWithFilter(63, filteringBy, "b");
+        assertEquals(2, filterings.get());
+    }
+
+    @Test
+    public void refreshItem_prefixChanged_oldPrefixNotFound() {
+        StrBean xyz = data.stream().filter(item -> "Xyz".equals(item.getValue()))
+                .findFirst().get();
+        dataProvider.setFilterByPrefix(VALUE, "Xy");
+        assertEquals(1, sizeWithUnfilteredQuery());
+
+        xyz.setValue("Foo");
+        dataProvider.refreshItem(xyz);
+
+        assertEquals(0, sizeWithUnfilteredQuery());
+        dataProvider.setFilterByPrefix(VALUE, "Fo");
+        assertEquals(37, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void indexedResult_keepsOrderAndSorting() {
+        dataProvider.setFilterByValue(VALUE, "Foo");
+        List<StrBean> expected = data.stream()
+                .filter(item -> item.getValue().equals("Foo"))
+                .collect(Collectors.toList());
+        assertEquals(expected, dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList()));
+
+        SerializableComparator<StrBean> comparator = (a, b) -> Integer
+                .compare(b.getId(), a.getId());
+        dataProvider.setSortComparator(comparator);
+        expected.sort(comparator);
+        assertEquals(expected, dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void refreshItem_updatesIndex() {
+        dataProvider.setFilterByValue(VALUE, "Foo");
+        assertEquals(36, sizeWithUnfilteredQuery());
+
+        StrBean bar = data.stream().filter(item -> "Bar".equals(item.getValue()))
+                .findFirst().get();
+        bar.setValue("Foo");
+        dataProvider.refreshItem(bar);
+
+        assertEquals(37, sizeWithUnfilteredQuery());
+        assertTrue(dataProvider.fetch(new Query<>())
+                .anyMatch(item -> item == bar));
+    }
+
+    @Test
+    public void refreshAll_rebuildsIndex() {
+        dataProvider.setFilterByValue(VALUE, "Foo");
+        assertEquals(36, sizeWithUnfilteredQuery());
+
+        data.add(new StrBean("Foo", 1000, 0));
+        dataProvider.refreshAll();
+
+        assertEquals(37, sizeWithUnfilteredQuery());
+    }
+
+    @Override
+    protected void setSortOrder(List<QuerySortOrder> sortOrder,
+            Comparator<StrBean> comp) {
+        SerializableComparator<StrBean> serializableComp = comp::compare;
+        getDataProvider().setSortComparator(serializableComp);
+    }
+}
@@ -0,0 +1,125 @@
+package com.vaadin.data.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntKeyMapperTest {
+
+    private static class Bean {
+        private final int id;
+
+        public Bean(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @Test
+    public void testAdd() {
+        IntKeyMapper<Object> mapper = new IntKeyMapper<>();
+        Object o1 = new Object();
+        Object o2 = new Object();
+
+        String key1 = mapper.key(o1);
+        String key2 = mapper.key(o2);
+
+        assertSame(o1, mapper.get(key1));
+        assertSame(o2, mapper.get(key2));
+        assertNotEquals(key1, key2);
+        assertEquals(key1, mapper.key(o1));
+        assertEquals(2, mapper.size());
+        assertEquals(Integer.parseInt(key1), mapper.intKey(o1));
+        assertSame(o1, mapper.get(mapper.intKey(o1)));
+    }
+
+    @Test
+    public void testRemove_keysAreNotReused() {
+        IntKeyMapper<Object> mapper = new IntKeyMapper<>();
+        Object o1 = new Object();
+        String key1 = mapper.key(o1);
+
+        mapper.remove(o1);
+        assertEquals(0, mapper.size());
+        assertFalse(mapper.has(o1));
+        assertNull(mapper.get(key1));
+
+        String newKey1 = mapper.key(o1);
+        assertNotEquals(key1, newKey1);
+        assertNull(mapper.get(key1));
+        assertSame(o1, mapper.get(newKey1));
+
+        mapper.removeAll();
+        assertEquals(0, mapper.size());
+        assertNotEquals(newKey1, mapper.key(o1));
+    }
+
+    @Test
+    public void testManyMappings() {
+        IntKeyMapper<Bean> mapper = new IntKeyMapper<>(Bean::getId);
+        List<Bean> beans = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            Bean bean = new Bean(i);
+            beans.add(bean);
+            assertTrue(keys.add(mapper.key(bean)));
+        }
+        // Remove every other bean and add them back with new keys
+        for (int i = 0; i < beans.size(); i += 2) {
+            mapper.remove(beans.get(i));
+        }
+        assertEquals(500, mapper.size());
+        for (int i = 0; i < beans.size(); i += 2) {
+            assertTrue(keys.add(mapper.key(beans.get(i))));
+        }
+        assertEquals(1000, mapper.size());
+        for (Bean bean : beans) {
+            assertSame(bean, mapper.get(mapper.key(bean)));
+        }
+    }
+
+    @Test
+    public void testRefreshAndIdentifierGetter() {
+        IntKeyMapper<Bean> mapper = new IntKeyMapper<>(Bean::getId);
+        Bean bean = new Bean(1);
+        String key = mapper.key(bean);
+
+        Bean updated = new Bean(1);
+        mapper.refresh(updated);
+        assertSame(updated, mapper.get(key));
+        assertTrue(mapper.has(new Bean(1)));
+
+        mapper.setIdentifierGetter(b -> b);
+        assertFalse(mapper.has(new Bean(1)));
+        assertTrue(mapper.has(updated));
+        assertEquals(key, mapper.key(updated));
+    }
+
+    @Test
+    public void testInvalidKeys() {
+        IntKeyMapper<Object> mapper = new IntKeyMapper<>();
+        mapper.key(new Object());
+
+        assertNull(mapper.get(null));
+        assertNull(mapper.get(""));
+        assertNull(mapper.get("01"));
+        assertNull(mapper.get("-1"));
+        assertNull(mapper.get("a"));
+        assertNull(mapper.get("99999999999"));
+        assertTrue(mapper.containsKey("1"));
+        assertFalse(mapper.containsKey("2"));
+    }
+}
@@ -5,15 +5,18 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.server.SerializableComparator;
+import com.vaadin.server.SerializablePredicate;
 import com.vaadin.shared.data.sort.SortDirection;
 
 public class ListDataProviderTest
@@ -233,6 +236,137 @@ public class ListDataProviderTest
         assertSizeWithFilter(0, filteringBy, "oo");
     }
 
+    @Test
+    public void fetchPages_filterAndSortingEvaluatedOnce() {
+        dataProvider.setSnapshotEnabled(true);
+        AtomicInteger filterCalls = new AtomicInteger();
+        dataProvider.setFilter(item -> {
+            filterCalls.incrementAndGet();
+            return item.getValue().equals("Foo");
+        });
+        SerializableComparator<StrBean> comparator = (a, b) -> Integer
+                .compare(b.getId(), a.getId());
+
+        assertEquals(36, sizeWithUnfilteredQuery());
+        List<StrBean> firstPage = dataProvider
+                .fetch(new Query<>(0, 10, null, comparator, null))
+                .collect(Collectors.toList());
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, null, comparator, null))
+                .collect(Collectors.toList());
+        List<StrBean> lastPage = dataProvider
+                .fetch(new Query<>(30, 10, null, comparator, null))
+                .collect(Collectors.toList());
+
+        assertEquals("Filter should only be run once for all queries", 100,
+                filterCalls.get());
+        assertEquals(10, firstPage.size());
+        assertEquals(10, secondPage.size());
+        assertEquals(6, lastPage.size());
+        assertEquals(new StrBean("Foo", 93, 2), firstPage.get(0));
+        Assert.assertTrue(firstPage.get(9).getId() > secondPage.get(0)
+                .getId());
+    }
+
+    @Test
+    public void fetch_offsetBeyondSize_emptyResult() {
+        assertEquals(0, dataProvider
+                .fetch(new Query<>(200, 10, null, null, null)).count());
+    }
+
+    @Test
+    public void refreshAll_backendChangesVisible() {
+        assertEquals(100, sizeWithUnfilteredQuery());
+
+        dataProvider.getItems().remove(data.get(0));
+        dataProvider.getItems().add(new StrBean("Baz", 1000, 0));
+        dataProvider.refreshAll();
+
+        assertEquals(100, sizeWithUnfilteredQuery());
+        assertEquals(1, dataProvider.fetch(new Query<>())
+                .filter(item -> item.getId() == 1000).count());
+    }
+
+    @Test
+    public void backendItemReplaced_changeVisibleWithoutRefresh() {
+        dataProvider.setSortOrder(StrBean::getId, SortDirection.ASCENDING);
+        assertEquals(0, dataProvider.fetch(new Query<>()).findFirst().get()
+                .getId());
+
+        List<StrBean> items = (List<StrBean>) dataProvider.getItems();
+        int index = items.indexOf(dataProvider.fetch(new Query<>())
+                .findFirst().get());
+        items.set(index, new StrBean("Baz", 1000, 0));
+
+        assertEquals(100, sizeWithUnfilteredQuery());
+        assertEquals(1, dataProvider.fetch(new Query<>()).findFirst().get()
+                .getId());
+    }
+
+    @Test
+    public void snapshotEnabled_changeVisibleAfterRefresh() {
+        dataProvider.setSnapshotEnabled(true);
+        dataProvider.setSortOrder(StrBean::getId, SortDirection.ASCENDING);
+        dataProvider.fetch(new Query<>()).count();
+
+        List<StrBean> items = (List<StrBean>) dataProvider.getItems();
+        items.set(items.indexOf(dataProvider.fetch(new Query<>())
+                .findFirst().get()), new StrBean("Baz", 1000, 0));
+        dataProvider.refreshAll();
+
+        assertEquals(1, dataProvider.fetch(new Query<>()).findFirst().get()
+                .getId());
+    }
+
+    @Test
+    public void differentQueryFilters_notMixedUp() {
+        SerializablePredicate<StrBean> queryFilter = item -> item
+                .getId() > 50;
+
+        assertEquals(48, dataProvider.size(new Query<>(queryFilter)));
+        assertEquals(100, sizeWithUnfilteredQuery());
+        assertEquals(36, dataProvider.size(new Query<>(fooFilter)));
+        assertEquals(48, dataProvider.size(new Query<>(queryFilter)));
+    }
+
+    @Test
+    public void setSortComparator_invalidatesSortedResult() {
+        dataProvider.setSortOrder(StrBean::getId, SortDirection.ASCENDING);
+        assertEquals(0, dataProvider.fetch(new Query<>()).findFirst().get()
+                .getId());
+
+        dataProvider.setSortOrder(StrBean::getId, SortDirection.DESCENDING);
+        assertEquals(98, dataProvider.fetch(new Query<>()).findFirst().get()
+                .getId());
+    }
+
+    @Test
+    public void parallelThreshold_sameResultAsSequential() {
+        List<StrBean> items = StrBean.generateRandomBeans(10000);
+        ListDataProvider<StrBean> sequential = DataProvider
+                .ofCollection(items);
+        ListDataProvider<StrBean> parallel = DataProvider.ofCollection(items);
+        parallel.setParallelThreshold(100);
+
+        for (ListDataProvider<StrBean> provider : Arrays.asList(sequential,
+                parallel)) {
+            provider.setFilter(item -> item.getRandomNumber() > 2);
+            provider.setSortOrder(StrBean::getValue,
+                    SortDirection.ASCENDING);
+        }
+
+        assertEquals(sequential.size(new Query<>()),
+                parallel.size(new Query<>()));
+        assertEquals(sequential.fetch(new Query<>())
+                .collect(Collectors.toList()),
+                parallel.fetch(new Query<>()).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setParallelThreshold_negative_throws() {
+        dataProvider.setParallelThreshold(-1);
+    }
+
     @Override
     protected void setSortOrder(List<QuerySortOrder> sortOrder,
             Comparator<StrBean> comp) {
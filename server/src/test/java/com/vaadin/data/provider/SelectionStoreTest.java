@@ -0,0 +1,138 @@
+package com.vaadin.data.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.vaadin.tests.data.bean.Person;
+
+public class SelectionStoreTest {
+
+    private final SelectionStore<Person> store = new SelectionStore<>(
+            Person::getFirstName);
+
+    private final Person john = createPerson("John");
+    private final Person jane = createPerson("Jane");
+    private final Person joe = createPerson("Joe");
+
+    @Test
+    public void update_keepsSelectionOrderAndIgnoresDuplicates() {
+        store.update(set -> set.addAll(Arrays.asList(jane, john)));
+        store.update(set -> set.addAll(Arrays.asList(joe, jane)));
+
+        assertEquals(Arrays.asList(jane, john, joe),
+                new ArrayList<>(store.getSelectedItems()));
+        assertTrue(store.contains(createPerson("John")));
+        assertTrue(store.containsId("Joe"));
+
+        store.update(set -> set.remove(createPerson("John")));
+        assertEquals(Arrays.asList(jane, joe),
+                new ArrayList<>(store.getSelectedItems()));
+    }
+
+    @Test
+    public void update_returnsUnchangedOldSelection() {
+        store.update(set -> set.add(john));
+        Set<Person> selected = store.getSelectedItems();
+
+        Set<Person> oldSelection = store.update(Collection::clear);
+
+        assertSame(selected, oldSelection);
+        assertEquals(1, selected.size());
+        assertTrue(selected.contains(john));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getSelectedItems_unmodifiable() {
+        store.update(set -> set.add(john));
+        store.getSelectedItems().remove(john);
+    }
+
+    @Test
+    public void iterateWhileModifying() {
+        store.update(set -> set.addAll(Arrays.asList(john, jane, joe)));
+        for (Person person : store.getSelectedItems()) {
+            store.update(set -> set.remove(person));
+        }
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void update_removeAllComparesIdentifiers() {
+        store.update(set -> set.addAll(Arrays.asList(john, jane)));
+
+        store.update(set -> set.removeAll(Arrays.asList(createPerson("John"),
+                createPerson("Jack"), createPerson("Jill"))));
+
+        assertEquals(Arrays.asList(jane),
+                new ArrayList<>(store.getSelectedItems()));
+    }
+
+    @Test
+    public void update_earlierSelectionsUnchanged() {
+        store.update(set -> set.addAll(Arrays.asList(john, jane)));
+        Set<Person> first = store.getSelectedItems();
+        store.update(set -> set.remove(john));
+        Set<Person> second = store.getSelectedItems();
+        store.update(set -> set.addAll(Arrays.asList(joe, john)));
+        store.update(Collection::clear);
+
+        assertTrue(first.contains(john));
+        assertFalse(second.contains(john));
+        assertEquals(Arrays.asList(john, jane), new ArrayList<>(first));
+        assertEquals(Arrays.asList(jane), new ArrayList<>(second));
+        assertTrue(store.getSelectedItems().isEmpty());
+    }
+
+    @Test
+    public void refresh_replacesItemInPlace() {
+        store.update(set -> set.addAll(Arrays.asList(john, jane, joe)));
+        Person updatedJane = createPerson("Jane");
+        updatedJane.setAge(30);
+
+        store.refresh(updatedJane);
+        store.refresh(createPerson("Jack"));
+
+        assertEquals(Arrays.asList(john, updatedJane, joe),
+                new ArrayList<>(store.getSelectedItems()));
+        assertSame(updatedJane,
+                new ArrayList<>(store.getSelectedItems()).get(1));
+        assertFalse(store.containsId("Jack"));
+    }
+
+    @Test
+    public void setIdentifierGetter_selectionHashedAgain() {
+        john.setLastName("Doe");
+        jane.setLastName("Doe");
+        joe.setLastName("Smith");
+        store.update(set -> set.addAll(Arrays.asList(john, jane, joe)));
+        Set<Person> oldSelection = store.getSelectedItems();
+
+        store.setIdentifierGetter(Person::getLastName);
+
+        assertTrue(store.containsId("Smith"));
+        assertFalse(store.containsId("Joe"));
+        assertEquals("Items with the same new id should be merged",
+                Arrays.asList(john, joe),
+                new ArrayList<>(store.getSelectedItems()));
+
+        assertTrue("Earlier selections should keep their ids",
+                oldSelection.contains(createPerson("Jane")));
+        assertEquals(3, oldSelection.size());
+    }
+
+    private static Person createPerson(String firstName) {
+        Person person = new Person();
+        person.setFirstName(firstName);
+        return person;
+    }
+}
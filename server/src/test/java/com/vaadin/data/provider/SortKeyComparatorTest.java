@@ -0,0 +1,85 @@
+package com.vaadin.data.provider;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.vaadin.server.SerializableComparator;
+
+public class SortKeyComparatorTest {
+
+    private static final SerializableComparator<String> NULLS_LAST = Comparator
+            .nullsLast(Comparator.<String> naturalOrder())::compare;
+
+    private final List<StrBean> data = StrBean.generateRandomBeans(100);
+
+    @Test
+    public void sort_sameResultAsComparator() {
+        SortKeyComparator<StrBean> comparator = new SortKeyComparator<StrBean>()
+                .thenComparingKey(StrBean::getValue, NULLS_LAST)
+                .thenComparingKey(StrBean::getId,
+                        (id1, id2) -> Integer.compare(id2, id1));
+
+        List<StrBean> expected = new ArrayList<>(data);
+        expected.sort((item1, item2) -> comparator.compare(item1, item2));
+        List<StrBean> sorted = new LinkedList<>(data);
+        comparator.sort(sorted);
+
+        assertEquals(expected, sorted);
+    }
+
+    @Test
+    public void sort_stableWithNullsLast() {
+        StrBean first = new StrBean(null, 1, 0);
+        StrBean second = new StrBean("Foo", 2, 0);
+        StrBean third = new StrBean(null, 3, 0);
+        StrBean fourth = new StrBean("Bar", 4, 0);
+        List<StrBean> items = new ArrayList<>(
+                Arrays.asList(first, second, third, fourth));
+
+        new SortKeyComparator<StrBean>()
+                .thenComparingKey(StrBean::getValue, NULLS_LAST).sort(items);
+
+        assertEquals(Arrays.asList(fourth, second, first, third), items);
+    }
+
+    @Test
+    public void sort_keysExtractedOncePerItem() {
+        AtomicInteger calls = new AtomicInteger();
+        SortKeyComparator<StrBean> comparator = new SortKeyComparator<StrBean>()
+                .thenComparingKey(item -> {
+                    calls.incrementAndGet();
+                    return item.getValue();
+                }, NULLS_LAST)
+                .thenComparing(Comparator.comparing(StrBean::getRandomNumber));
+
+        List<StrBean> sorted = new ArrayList<>(data);
+        comparator.sort(sorted);
+
+        assertEquals(data.size(), calls.get());
+    }
+
+    @Test
+    public void listDataProvider_usesSortKeys() {
+        AtomicInteger calls = new AtomicInteger();
+        SortKeyComparator<StrBean> comparator = new SortKeyComparator<StrBean>()
+                .thenComparingKey(item -> {
+                    calls.incrementAndGet();
+                    return item.getId();
+                }, Integer::compare);
+
+        ListDataProvider<StrBean> dataProvider = new ListDataProvider<>(data);
+        dataProvider.fetch(new Query<>(0, data.size(),
+                Collections.emptyList(), comparator, null));
+
+        assertEquals(data.size(), calls.get());
+    }
+}
@@ -1,9 +1,11 @@
 package com.vaadin.data.provider;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -203,6 +205,61 @@ public class TreeDataProviderTest
         assertEquals(stringData.getChildren("a/b"), Arrays.asList());
     }
 
+    @Test
+    public void populate_treeData_with_parent_provider() {
+        TreeData<String> stringData = new TreeData<>();
+        stringData.addItem(null, "a");
+        // Children before their parents
+        stringData.addItemsWithParents(
+                Stream.of("b/b", "a/a", "b", "b/a", "a/a/a", "c"), item -> {
+                    int separator = item.lastIndexOf('/');
+                    return separator < 0 ? null
+                            : item.substring(0, separator);
+                });
+        assertEquals(Arrays.asList("a", "b", "c"), stringData.getRootItems());
+        assertEquals(Arrays.asList("b/b", "b/a"), stringData.getChildren("b"));
+        assertEquals(Arrays.asList("a/a/a"), stringData.getChildren("a/a"));
+        assertEquals("a/a", stringData.getParent("a/a/a"));
+        assertEquals(2, stringData.getChildCount("b"));
+        assertEquals(0, stringData.getChildCount("c"));
+    }
+
+    @Test
+    public void populate_treeData_with_parent_provider_invalid_parents() {
+        TreeData<String> stringData = new TreeData<>();
+        try {
+            stringData.addItemsWithParents(Stream.of("a", "b", "c"),
+                    item -> item.equals("c") ? null
+                            : item.equals("a") ? "b" : "a");
+            fail("Cycle should not be accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            stringData.addItemsWithParents(Stream.of("a", "b"),
+                    item -> item.equals("a") ? null : "x");
+            fail("Missing parent should not be accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertTrue("Nothing should be added",
+                stringData.getRootItems().isEmpty());
+    }
+
+    @Test
+    public void treeData_remove_and_reuse_positions() {
+        StrBean root0 = rootData.get(0);
+        StrBean child0 = data.getChildren(root0).get(0);
+        data.removeItem(root0);
+        assertFalse(data.contains(child0));
+        assertEquals(9, data.getRootItems().size());
+
+        data.addItem(null, root0).addItem(root0, child0);
+        assertEquals(root0, data.getRootItems().get(9));
+        assertEquals(Arrays.asList(child0), data.getChildren(root0));
+        assertTrue(data.getChildren(child0).isEmpty());
+    }
+
     @Test
     public void setFilter() {
         getDataProvider().setFilter(item -> item.getValue().equals("Xyz")
@@ -230,6 +287,32 @@ public class TreeDataProviderTest
         assertEquals(5, sizeWithUnfilteredQuery());
     }
 
+    @Test
+    public void parallelThreshold_sameChildrenAsSequential() {
+        TreeData<StrBean> wideData = new TreeData<>();
+        wideData.addItems(null, StrBean.generateRandomBeans(5000));
+        TreeDataProvider<StrBean> sequential = new TreeDataProvider<>(
+                wideData);
+        TreeDataProvider<StrBean> parallel = new TreeDataProvider<>(wideData);
+        parallel.setParallelThreshold(100);
+
+        for (TreeDataProvider<StrBean> provider : Arrays.asList(sequential,
+                parallel)) {
+            provider.setFilter(item -> item.getRandomNumber() < 7);
+            provider.setSortComparator((a, b) -> a.getValue()
+                    .compareTo(b.getValue()));
+        }
+
+        assertEquals(sequential.getChildCount(new HierarchicalQuery<>(null,
+                null)),
+                parallel.getChildCount(new HierarchicalQuery<>(null, null)));
+        assertEquals(
+                sequential.fetchChildren(new HierarchicalQuery<>(null, null))
+                        .collect(Collectors.toList()),
+                parallel.fetchChildren(new HierarchicalQuery<>(null, null))
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     public void filteringListDataProvider_convertFilter() {
         DataProvider<StrBean, String> strFilterDataProvider = getDataProvider()
@@ -5,8 +5,12 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -15,6 +19,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.vaadin.data.TreeData;
+import com.vaadin.data.provider.HierarchicalQuery;
 import com.vaadin.data.provider.HierarchyMapper;
 import com.vaadin.data.provider.TreeDataProvider;
 import com.vaadin.server.SerializablePredicate;
@@ -208,6 +213,136 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void indexLookupsMatchFlattenedHierarchy() {
+        Set<Node> expanded = new HashSet<>();
+        // Hidden node expanded before its parent
+        expanded.add(testData.get(1));
+        expand(testData.get(1));
+        for (Node root : roots.subList(0, 3)) {
+            expanded.add(root);
+            expand(root);
+        }
+        Node parent = testData.get(2 + LEAF_COUNT);
+        expanded.add(parent);
+        expand(parent);
+        verifyIndex(flatten(null, expanded));
+
+        expanded.remove(roots.get(1));
+        collapse(roots.get(1));
+        verifyIndex(flatten(null, expanded));
+
+        expanded.remove(roots.get(0));
+        collapse(roots.get(0));
+        verifyIndex(flatten(null, expanded));
+
+        // Previously expanded children are shown again
+        expanded.add(roots.get(0));
+        expand(roots.get(0));
+        verifyIndex(flatten(null, expanded));
+        checkMapSize();
+    }
+
+    @Test
+    public void indexLookupsDoNotFetchHierarchyAgain() {
+        AtomicInteger fetches = new AtomicInteger();
+        mapper = new HierarchyMapper<>(new TreeDataProvider<Node>(data) {
+            @Override
+            public Stream<Node> fetchChildren(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                fetches.incrementAndGet();
+                return super.fetchChildren(query);
+            }
+        });
+        expand(testData.get(0));
+        expand(testData.get(1));
+        int fetchesAfterExpand = fetches.get();
+
+        Node leaf = testData.get(2);
+        int index = mapper.getIndexOf(leaf).get();
+        assertEquals(leaf, mapper.fetchItems(Range.withLength(index, 1))
+                .findFirst().get());
+        assertEquals(Integer.valueOf(index - 1), mapper.getParentIndex(leaf));
+        assertEquals(ROOT_COUNT + PARENT_COUNT + LEAF_COUNT,
+                mapper.getTreeSize());
+        assertEquals("Index lookups should not fetch children",
+                fetchesAfterExpand, fetches.get());
+
+        // Changing the sorting rebuilds the index
+        Comparator<Node> comparator = Comparator.comparing(Node::getNumber)
+                .reversed();
+        mapper.setInMemorySorting(comparator::compare);
+        assertEquals(ROOT_COUNT + PARENT_COUNT + LEAF_COUNT,
+                mapper.getTreeSize());
+        assertTrue(fetches.get() > fetchesAfterExpand);
+    }
+
+    @Test
+    public void refreshData_updatesCachedChildCount() {
+        TreeData<String> treeData = new TreeData<>();
+        treeData.addItems(null, "Foo", "Bar");
+        treeData.addItems("Foo", "Foo 1", "Foo 2");
+        HierarchyMapper<String, SerializablePredicate<String>> stringMapper = new HierarchyMapper<>(
+                new TreeDataProvider<>(treeData));
+        stringMapper.doExpand("Foo", Optional.empty());
+        assertEquals(4, stringMapper.getTreeSize());
+
+        treeData.addItem("Foo", "Foo 3");
+        stringMapper.refreshData("Foo");
+        assertEquals(5, stringMapper.getTreeSize());
+        assertEquals(Optional.of(4), stringMapper.getIndexOf("Bar"));
+    }
+
+    @Test
+    public void childCountTooLarge_countCorrectedWhenFetched() {
+        TreeData<String> treeData = new TreeData<>();
+        treeData.addItems(null, "Foo", "Bar");
+        treeData.addItems("Foo", "Foo 1", "Foo 2");
+        HierarchyMapper<String, SerializablePredicate<String>> stringMapper = new HierarchyMapper<>(
+                new TreeDataProvider<String>(treeData) {
+                    @Override
+                    public int getChildCount(
+                            HierarchicalQuery<String, SerializablePredicate<String>> query) {
+                        // An approximate count from the backend
+                        return super.getChildCount(query) + 3;
+                    }
+                });
+        stringMapper.doExpand("Foo", Optional.empty());
+
+        assertEquals(4, stringMapper.getTreeSize());
+        assertEquals(Optional.of(3), stringMapper.getIndexOf("Bar"));
+        assertEquals(Stream.of("Foo", "Foo 1", "Foo 2", "Bar")
+                .collect(Collectors.toList()),
+                stringMapper.fetchItems(Range.withLength(0, 10))
+                        .collect(Collectors.toList()));
+    }
+
+    private void verifyIndex(List<Node> expectedResult) {
+        assertEquals(expectedResult.size(), mapper.getTreeSize());
+        for (int i = 0; i < expectedResult.size(); ++i) {
+            Node node = expectedResult.get(i);
+            assertEquals(node, mapper.fetchItems(Range.withLength(i, 1))
+                    .findFirst().get());
+            assertEquals(Integer.valueOf(i), mapper.getIndexOf(node).get());
+            assertEquals(Integer.valueOf(expectedResult.indexOf(node.getParent())),
+                    mapper.getParentIndex(node));
+        }
+        verifyFetchIsCorrect(expectedResult,
+                Range.between(1, expectedResult.size()));
+    }
+
+    private static List<Node> flatten(Node parent, Set<Node> expanded) {
+        List<Node> result = new ArrayList<>();
+        testData.stream().filter(n -> Objects.equals(n.getParent(), parent))
+                .forEach(n -> {
+                    result.add(n);
+                    if (expanded.contains(n)) {
+                        result.addAll(flatten(n, expanded));
+                    }
+                });
+        return result;
+    }
+
     private void expand(Node node) {
         insertRows(mapper.doExpand(node, mapper.getIndexOf(node)));
     }
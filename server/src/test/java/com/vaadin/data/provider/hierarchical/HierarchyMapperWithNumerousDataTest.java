@@ -3,15 +3,20 @@ package com.vaadin.data.provider.hierarchical;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.vaadin.data.TreeData;
+import com.vaadin.data.provider.HierarchicalQuery;
 import com.vaadin.data.provider.HierarchyMapper;
 import com.vaadin.data.provider.TreeDataProvider;
 import com.vaadin.server.SerializablePredicate;
@@ -62,6 +67,157 @@ public class HierarchyMapperWithNumerousDataTest {
         checkMapSize();
     }
 
+    @Test
+    public void expandFetchesOnlyRequestedChildren() {
+        AtomicInteger fetchedItems = new AtomicInteger();
+        AtomicInteger childCountQueries = new AtomicInteger();
+        mapper = new HierarchyMapper<>(new TreeDataProvider<Node>(data) {
+            @Override
+            public int getChildCount(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                childCountQueries.incrementAndGet();
+                return super.getChildCount(query);
+            }
+
+            @Override
+            public Stream<Node> fetchChildren(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                return super.fetchChildren(query)
+                        .peek(item -> fetchedItems.incrementAndGet());
+            }
+        });
+        expand(testData.get(0));
+        checkMapSize();
+        assertEquals("Child count should be queried once for each level", 2,
+                childCountQueries.get());
+
+        int index = PARENT_COUNT / 2;
+        assertEquals(testData.subList(index, index + 50),
+                mapper.fetchItems(Range.withLength(index, 50))
+                        .collect(Collectors.toList()));
+        assertEquals(Optional.of(index), mapper.getIndexOf(testData.get(index)));
+        assertTrue("Only the requested pages of children should be fetched",
+                fetchedItems.get() < 1000);
+        assertEquals(2, childCountQueries.get());
+    }
+
+    /**
+     * Collapsing and expanding a node in a deep hierarchy should not depend on
+     * the size of the whole expanded hierarchy for each removed descendant.
+     */
+    @Test(timeout = 2000)
+    public void collapseAndExpandDeepHierarchy() {
+        int depth = 1000;
+        TreeData<String> deepData = new TreeData<>();
+        List<String> chain = new ArrayList<>();
+        String parent = null;
+        for (int level = 0; level < depth; ++level) {
+            String item = "Level " + level;
+            deepData.addItem(parent, item);
+            for (int leaf = 0; leaf < 10; ++leaf) {
+                deepData.addItem(item, item + " leaf " + leaf);
+            }
+            chain.add(item);
+            parent = item;
+        }
+        HierarchyMapper<String, SerializablePredicate<String>> deepMapper = new HierarchyMapper<>(
+                new TreeDataProvider<>(deepData));
+        chain.forEach(item -> deepMapper.doExpand(item,
+                deepMapper.getIndexOf(item)));
+        assertEquals(depth * 11, deepMapper.getTreeSize());
+
+        Range removed = deepMapper.doCollapse(chain.get(1),
+                deepMapper.getIndexOf(chain.get(1)));
+        assertEquals(12, deepMapper.getTreeSize());
+        assertEquals(depth * 11 - 12, removed.length());
+
+        // Expanded descendants are shown again
+        deepMapper.doExpand(chain.get(1), deepMapper.getIndexOf(chain.get(1)));
+        assertEquals(depth * 11, deepMapper.getTreeSize());
+        assertEquals(Optional.of(depth * 11 - 1), deepMapper
+                .getIndexOf(chain.get(depth - 1) + " leaf 9"));
+    }
+
+    @Test
+    public void invalidateHierarchy_onlyPagesWithExpandedItemsFetched() {
+        TreeData<String> treeData = new TreeData<>();
+        treeData.addRootItems("A", "B", "Hidden");
+        for (int i = 0; i < 10000; ++i) {
+            treeData.addItem("A", "A " + i);
+            treeData.addItem("A " + i, "A " + i + " leaf");
+            treeData.addItem("B", "B " + i);
+        }
+        treeData.addItem("Hidden", "Hidden child");
+        treeData.addItem("Hidden child", "Hidden leaf");
+
+        AtomicInteger fetchedItems = new AtomicInteger();
+        HierarchyMapper<String, SerializablePredicate<String>> treeMapper = new HierarchyMapper<>(
+                new TreeDataProvider<String>(treeData) {
+                    @Override
+                    public Stream<String> fetchChildren(
+                            HierarchicalQuery<String, SerializablePredicate<String>> query) {
+                        return super.fetchChildren(query)
+                                .peek(item -> fetchedItems.incrementAndGet());
+                    }
+                });
+        Stream.of("Hidden", "Hidden child", "A", "B", "A 5000")
+                .forEach(item -> treeMapper.doExpand(item,
+                        treeMapper.getIndexOf(item)));
+        treeMapper.doCollapse("Hidden", treeMapper.getIndexOf("Hidden"));
+
+        treeMapper.invalidateHierarchy();
+        fetchedItems.set(0);
+
+        assertEquals(3 + 10000 + 1 + 10000, treeMapper.getTreeSize());
+        assertEquals(Optional.of(5002), treeMapper.getIndexOf("A 5000 leaf"));
+        assertTrue(
+                "Only the pages up to the expanded item should be fetched, "
+                        + "but " + fetchedItems.get() + " items were",
+                fetchedItems.get() < 6000);
+    }
+
+    @Test
+    public void destroyAllData_removedExpandedItemSearchedOnlyOnce() {
+        TreeData<String> treeData = new TreeData<>();
+        treeData.addRootItems("A", "B");
+        for (int i = 0; i < 10000; ++i) {
+            treeData.addItem("A", "A " + i);
+            treeData.addItem("A " + i, "A " + i + " leaf");
+            treeData.addItem("B", "B " + i);
+        }
+
+        AtomicInteger fetchedItems = new AtomicInteger();
+        HierarchyMapper<String, SerializablePredicate<String>> treeMapper = new HierarchyMapper<>(
+                new TreeDataProvider<String>(treeData) {
+                    @Override
+                    public Stream<String> fetchChildren(
+                            HierarchicalQuery<String, SerializablePredicate<String>> query) {
+                        return super.fetchChildren(query)
+                                .peek(item -> fetchedItems.incrementAndGet());
+                    }
+                });
+        Stream.of("A", "B", "A 5000").forEach(item -> treeMapper
+                .doExpand(item, treeMapper.getIndexOf(item)));
+
+        treeMapper.destroyAllData();
+        fetchedItems.set(0);
+        assertEquals(2 + 10000 + 1 + 10000, treeMapper.getTreeSize());
+        assertTrue("Expanded items should be found through their parents, "
+                + "but " + fetchedItems.get() + " items were fetched",
+                fetchedItems.get() < 6000);
+
+        treeData.removeItem("A 5000");
+        treeMapper.destroyAllData();
+        assertEquals(2 + 9999 + 10000, treeMapper.getTreeSize());
+
+        treeMapper.destroyAllData();
+        fetchedItems.set(0);
+        assertEquals(2 + 9999 + 10000, treeMapper.getTreeSize());
+        assertTrue("A removed expanded item should not be searched for again, "
+                + "but " + fetchedItems.get() + " items were fetched",
+                fetchedItems.get() < 1000);
+    }
+
     private void expand(Node node) {
         insertRows(mapper.doExpand(node, mapper.getIndexOf(node)));
     }
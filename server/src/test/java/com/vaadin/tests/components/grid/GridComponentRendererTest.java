@@ -76,6 +76,69 @@ public class GridComponentRendererTest {
                 null, testComponent.getParent());
     }
 
+    @Test
+    public void pooledComponentColumn_componentsReused() {
+        List<Label> createdComponents = new ArrayList<>();
+        Grid<Person> pooledGrid = new Grid<>();
+        pooledGrid.setItems(PERSON);
+        pooledGrid.addComponentColumn(() -> {
+            Label label = new Label();
+            createdComponents.add(label);
+            return label;
+        }, (label, person) -> label.setValue(person.getFirstName()));
+        new MockUI().setContent(pooledGrid);
+
+        pooledGrid.getDataCommunicator().beforeClientResponse(true);
+        assertEquals(1, createdComponents.size());
+        Label label = createdComponents.get(0);
+        assertEquals(pooledGrid, label.getParent());
+        assertEquals(PERSON.getFirstName(), label.getValue());
+
+        Person otherPerson = Person.createTestPerson2();
+        pooledGrid.setItems(otherPerson);
+        assertEquals("Pooled component should stay attached", pooledGrid,
+                label.getParent());
+
+        pooledGrid.getDataCommunicator().beforeClientResponse(false);
+        assertEquals("No new components should be created", 1,
+                createdComponents.size());
+        assertEquals(otherPerson.getFirstName(), label.getValue());
+
+        pooledGrid.removeColumn(pooledGrid.getColumns().get(0));
+        pooledGrid.setItems(PERSON);
+        assertEquals("Pooled component should be detached with its column",
+                null, label.getParent());
+    }
+
+    @Test
+    public void pooledComponentColumn_poolLimitedToShownRows() {
+        List<Label> createdComponents = new ArrayList<>();
+        Grid<Person> pooledGrid = new Grid<>();
+        pooledGrid.setItems(PERSON, Person.createTestPerson2(),
+                new Person());
+        pooledGrid.addComponentColumn(() -> {
+            Label label = new Label();
+            createdComponents.add(label);
+            return label;
+        }, (label, person) -> label.setValue(person.getFirstName()));
+        new MockUI().setContent(pooledGrid);
+
+        pooledGrid.getDataCommunicator().beforeClientResponse(true);
+        assertEquals(3, createdComponents.size());
+
+        pooledGrid.setItems(PERSON);
+        pooledGrid.getDataCommunicator().beforeClientResponse(false);
+        pooledGrid.setItems(Person.createTestPerson2());
+        pooledGrid.getDataCommunicator().beforeClientResponse(false);
+
+        assertEquals("No new components should be created", 3,
+                createdComponents.size());
+        assertEquals("Only the component for the shown row should be kept",
+                1, createdComponents.stream()
+                        .filter(label -> label.getParent() == pooledGrid)
+                        .count());
+    }
+
     private void generateDataForClient(boolean initial) {
         grid.getDataCommunicator().beforeClientResponse(initial);
         if (testComponent != null) {
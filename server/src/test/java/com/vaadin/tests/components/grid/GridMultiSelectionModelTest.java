@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.easymock.Capture;
@@ -25,6 +26,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.vaadin.data.provider.DataProvider;
+import com.vaadin.data.provider.ListDataProvider;
 import com.vaadin.data.provider.bov.Person;
 import com.vaadin.event.selection.MultiSelectionEvent;
 import com.vaadin.event.selection.MultiSelectionListener;
@@ -456,6 +458,120 @@ public class GridMultiSelectionModelTest {
         assertEquals(3, events.get());
     }
 
+    @Test
+    public void virtualSelectAll_itemsFetchedOnlyWhenRequested() {
+        AtomicInteger fetches = new AtomicInteger();
+        Grid<String> grid = new Grid<>();
+        grid.setDataProvider(DataProvider.fromCallbacks(query -> {
+            fetches.incrementAndGet();
+            return IntStream
+                    .range(query.getOffset(),
+                            Math.min(query.getOffset() + query.getLimit(),
+                                    1000))
+                    .mapToObj(i -> "Item " + i);
+        }, query -> 1000));
+        MultiSelectionModelImpl<String> model = (MultiSelectionModelImpl<String>) grid
+                .setSelectionMode(SelectionMode.MULTI);
+        model.setVirtualSelectAll(true);
+        List<MultiSelectionEvent<String>> selectionEvents = new ArrayList<>();
+        model.addMultiSelectionListener(selectionEvents::add);
+
+        model.selectAll();
+        model.deselect("Item 5");
+
+        assertEquals(2, selectionEvents.size());
+        assertFalse(model.isAllSelected());
+        assertTrue(model.isSelected("Item 0"));
+        assertFalse(model.isSelected("Item 5"));
+        assertTrue(model.getSelectedItems().contains("Item 999"));
+        assertEquals("Selection should not fetch any items", 0,
+                fetches.get());
+
+        assertEquals(999, model.getSelectedItems().size());
+        assertEquals(999, model.streamSelectedItems().count());
+        assertFalse(model.streamSelectedItems().anyMatch("Item 5"::equals));
+
+        model.select("Item 5");
+        assertEquals(1000, model.streamSelectedItems().count());
+
+        model.deselectAll();
+        assertFalse(model.isSelected("Item 0"));
+        assertEquals(0, model.streamSelectedItems().count());
+        assertEquals(4, selectionEvents.size());
+    }
+
+    @Test
+    public void virtualSelectAll_eventsDoNotFetchItems() {
+        AtomicInteger fetches = new AtomicInteger();
+        Grid<String> grid = new Grid<>();
+        grid.setDataProvider(DataProvider.fromCallbacks(query -> {
+            fetches.incrementAndGet();
+            return IntStream
+                    .range(query.getOffset(),
+                            Math.min(query.getOffset() + query.getLimit(),
+                                    1000))
+                    .mapToObj(i -> "Item " + i);
+        }, query -> 1000));
+        MultiSelectionModelImpl<String> model = (MultiSelectionModelImpl<String>) grid
+                .setSelectionMode(SelectionMode.MULTI);
+        model.setVirtualSelectAll(true);
+        model.select("Item 1");
+        List<MultiSelectionEvent<String>> selectionEvents = new ArrayList<>();
+        model.addMultiSelectionListener(selectionEvents::add);
+
+        model.selectAll();
+        model.deselect("Item 5");
+        model.deselect("Item 5");
+        model.select("Item 5");
+
+        assertEquals(3, selectionEvents.size());
+        Set<String> added = selectionEvents.get(0).getAddedSelection();
+        assertTrue(added.contains("Item 0"));
+        assertFalse(added.contains("Item 1"));
+        assertTrue(selectionEvents.get(0).getRemovedSelection().isEmpty());
+        assertEquals(Collections.singleton("Item 5"),
+                selectionEvents.get(1).getRemovedSelection());
+        assertTrue(selectionEvents.get(1).getAddedSelection().isEmpty());
+        assertEquals(Collections.singleton("Item 5"),
+                selectionEvents.get(2).getAddedSelection());
+        assertEquals("Selection events should not fetch any items", 0,
+                fetches.get());
+
+        model.deselect("Item 7");
+        model.setVirtualSelectAll(false);
+
+        assertEquals(5, selectionEvents.size());
+        MultiSelectionEvent<String> event = selectionEvents.get(4);
+        assertTrue(event.getAddedSelection().isEmpty());
+        assertTrue(event.getRemovedSelection().isEmpty());
+        assertEquals(999, event.getNewSelection().size());
+        assertFalse(event.getNewSelection().contains("Item 7"));
+    }
+
+    @Test
+    public void virtualSelectAll_excludedItemRemoved_sizeCorrect() {
+        List<String> items = IntStream.range(0, 10).mapToObj(i -> "Item " + i)
+                .collect(Collectors.toList());
+        ListDataProvider<String> dataProvider = DataProvider
+                .ofCollection(items);
+        Grid<String> grid = new Grid<>();
+        grid.setDataProvider(dataProvider);
+        MultiSelectionModelImpl<String> model = (MultiSelectionModelImpl<String>) grid
+                .setSelectionMode(SelectionMode.MULTI);
+        model.setVirtualSelectAll(true);
+
+        model.selectAll();
+        model.deselect("Item 3");
+        model.deselect("Item 4");
+        assertEquals(8, model.getSelectedItems().size());
+
+        items.remove("Item 3");
+        dataProvider.refreshAll();
+
+        assertEquals(8, model.getSelectedItems().size());
+        assertEquals(8, model.streamSelectedItems().count());
+    }
+
     @Test
     public void updateSelection() {
         selectionModel.updateSelection(asSet(PERSON_A), Collections.emptySet());
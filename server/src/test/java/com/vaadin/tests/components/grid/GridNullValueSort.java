@@ -9,6 +9,7 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.data.ValueProvider;
 import com.vaadin.server.SerializableComparator;
 import com.vaadin.server.VaadinSession;
 import com.vaadin.shared.data.sort.SortDirection;
@@ -30,6 +31,27 @@ public class GridNullValueSort {
         }
     }
 
+    private static class LastDigitGrid extends TestGrid {
+        @Override
+        protected <V, P> Column<Integer, V> createColumn(
+                ValueProvider<Integer, V> valueProvider,
+                ValueProvider<V, P> presentationProvider,
+                AbstractRenderer<? super Integer, ? super P> renderer) {
+            return new Column<Integer, V>(valueProvider, presentationProvider,
+                    renderer) {
+                @Override
+                public SerializableComparator<Integer> getComparator(
+                        SortDirection sortDirection) {
+                    SerializableComparator<Integer> comparator = (a,
+                            b) -> Integer.compare(a % 10, b % 10);
+                    return sortDirection == SortDirection.ASCENDING
+                            ? comparator
+                            : (a, b) -> comparator.compare(b, a);
+                }
+            };
+        }
+    }
+
     private TestGrid grid;
 
     @Before
@@ -144,6 +166,17 @@ public class GridNullValueSort {
                 Arrays.asList(null, null, null, 2, 1));
     }
 
+    @Test
+    public void testOverriddenColumnComparator() {
+        TestGrid lastDigitGrid = new LastDigitGrid();
+        lastDigitGrid.addColumn(i -> i).setId("int").setSortable(true);
+        lastDigitGrid.sort("int");
+
+        List<Integer> data = new ArrayList<>(Arrays.asList(3, 12, 21));
+        data.sort(lastDigitGrid.createSortingComparator());
+        assertEquals(Arrays.asList(21, 12, 3), data);
+    }
+
     private void performSort(List<Integer> source, List<Integer> expected) {
         SerializableComparator<Integer> sortingComparator = grid
                 .createSortingComparator();
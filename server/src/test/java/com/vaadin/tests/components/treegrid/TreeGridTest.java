@@ -4,6 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 
 import com.vaadin.data.TreeData;
@@ -51,6 +56,36 @@ public class TreeGridTest {
         assertTrue("Collapse event not fired", collapseEventFired);
     }
 
+    @Test
+    public void testExpandAndCollapseRecursively() {
+        TreeData<String> treeData = new TreeData<>();
+        treeData.addItem(null, "Foo");
+        treeData.addItem("Foo", "Bar");
+        treeData.addItem("Bar", "Baz");
+        treeData.addItem("Baz", "Qux");
+        treeData.addItem(null, "Quux");
+        treeGrid.setDataProvider(new TreeDataProvider<>(treeData));
+
+        List<String> expanded = new ArrayList<>();
+        List<String> collapsed = new ArrayList<>();
+        treeGrid.addExpandListener(
+                event -> expanded.add(event.getExpandedItem()));
+        treeGrid.addCollapseListener(
+                event -> collapsed.add(event.getCollapsedItem()));
+
+        treeGrid.expandRecursively(Arrays.asList("Foo", "Quux"), 1);
+        assertEquals(Arrays.asList("Foo", "Bar"), expanded);
+        assertTrue(treeGrid.isExpanded("Bar"));
+        assertFalse(treeGrid.isExpanded("Baz"));
+        assertEquals("Foo, Bar, Baz and Quux should be visible", 4,
+                treeGrid.getDataCommunicator().getDataProviderSize());
+
+        treeGrid.collapseRecursively(Collections.singleton("Foo"), 2);
+        assertEquals(Arrays.asList("Foo", "Bar"), collapsed);
+        assertFalse(treeGrid.isExpanded("Bar"));
+        assertEquals(2, treeGrid.getDataCommunicator().getDataProviderSize());
+    }
+
     @Test
     public void testSetAndGetHierarchyColumn() {
         Column<String, String> column = treeGrid.addColumn(Object::toString)
@@ -17,6 +17,7 @@ package com.vaadin.tests.design.designroot;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 
 import org.junit.Test;
 
@@ -53,4 +54,15 @@ public class DesignRootTest {
         assertEquals("original", d.preInitializedField.getValue());
     }
 
+    @Test
+    public void designReadTwice_newComponentsCreated() {
+        DesignWithAnnotation first = new DesignWithAnnotation();
+        DesignWithAnnotation second = new DesignWithAnnotation();
+        assertNotSame(first.ok, second.ok);
+        assertNotSame(first.cancel, second.cancel);
+        assertEquals(first.getComponentCount(), second.getComponentCount());
+        assertEquals("OK", second.ok.getCaption());
+        assertEquals(second, second.cancel.getParent());
+    }
+
 }
@@ -21,6 +21,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.easymock.EasyMock;
 import org.junit.Before;
@@ -44,6 +47,12 @@ public class EventRouterTest {
             .findMethod(Component.Listener.class, "componentEvent",
                     Component.Event.class);
 
+    private static class SubEvent extends Component.Event {
+        public SubEvent(Component source) {
+            super(source);
+        }
+    }
+
     private EventRouter router;
     private Component component;
     private ErrorHandler errorHandler;
@@ -125,4 +134,45 @@ public class EventRouterTest {
         registration.remove();
         assertNull(state.registeredEventListeners);
     }
+
+    @Test
+    public void fireEvent_listenersForSubclassAndSuperclass_calledInRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        router = new EventRouter();
+        router.addListener(SubEvent.class,
+                (Listener) event -> calls.add("sub"), COMPONENT_EVENT_METHOD);
+        router.addListener(Component.Event.class,
+                (Listener) event -> calls.add("super"),
+                COMPONENT_EVENT_METHOD);
+
+        router.fireEvent(new Component.Event(component));
+        router.fireEvent(new SubEvent(component));
+
+        assertEquals(Arrays.asList("super", "sub", "super"), calls);
+    }
+
+    @Test
+    public void fireEvent_listenersChangedDuringEvent_changesAppliedToNextEvent() {
+        List<String> calls = new ArrayList<>();
+        router = new EventRouter();
+        Registration[] registration = new Registration[1];
+        registration[0] = router.addListener(Component.Event.class,
+                (Listener) event -> {
+                    calls.add("first");
+                    registration[0].remove();
+                    router.addListener(Component.Event.class,
+                            (Listener) e -> calls.add("added"),
+                            COMPONENT_EVENT_METHOD);
+                }, COMPONENT_EVENT_METHOD);
+        router.addListener(Component.Event.class,
+                (Listener) event -> calls.add("second"),
+                COMPONENT_EVENT_METHOD);
+
+        router.fireEvent(new Component.Event(component));
+        assertEquals(Arrays.asList("first", "second"), calls);
+
+        calls.clear();
+        router.fireEvent(new Component.Event(component));
+        assertEquals(Arrays.asList("second", "added"), calls);
+    }
 }
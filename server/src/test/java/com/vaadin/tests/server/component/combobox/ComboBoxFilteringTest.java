@@ -21,7 +21,9 @@ import static org.junit.Assert.assertSame;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.Before;
@@ -209,6 +211,97 @@ public class ComboBoxFilteringTest {
                 comboBox.getDataProvider().getClass());
     }
 
+    @Test
+    public void captionCache_defaultFiltering() {
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(Person::getFirstName);
+        comboBox.setItems(getPersonCollection());
+
+        checkFiltering("en", "ennen", 3, 2);
+        checkFiltering("EN", "ennen", 3, 2);
+    }
+
+    @Test
+    public void captionCache_customFiltering() {
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(Person::getFirstName);
+        comboBox.setItems(String::startsWith, getPersonCollection());
+
+        checkFiltering("En", "en", 3, 1);
+    }
+
+    @Test
+    public void captionCache_captionGeneratedOncePerItem() {
+        AtomicInteger captionCalls = new AtomicInteger();
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(person -> {
+            captionCalls.incrementAndGet();
+            return person.getFirstName();
+        });
+        comboBox.setItems(getPersonCollection());
+
+        assertEquals(3, comboBoxSizeWithFilter("e"));
+        assertEquals(2, comboBoxSizeWithFilter("en"));
+        assertEquals(1, comboBoxSizeWithFilter("enr"));
+        assertEquals(3, comboBoxSizeWithFilter("r"));
+
+        assertEquals(3, captionCalls.get());
+    }
+
+    @Test
+    public void captionCache_refreshItem_updatesCaption() {
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(Person::getFirstName);
+        List<Person> persons = getPersonCollection();
+        ListDataProvider<Person> provider = DataProvider
+                .ofCollection(persons);
+        comboBox.setDataProvider(provider);
+
+        assertEquals(2, comboBoxSizeWithFilter("en"));
+        assertEquals(0, comboBoxSizeWithFilter("enw"));
+
+        persons.get(2).setFirstName("Enwin");
+        provider.refreshItem(persons.get(2));
+
+        assertEquals(1, comboBoxSizeWithFilter("enw"));
+    }
+
+    @Test
+    public void captionCache_setItemCaptionGenerator_clearsCache() {
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(Person::getFirstName);
+        comboBox.setItems(getPersonCollection());
+
+        assertEquals(2, comboBoxSizeWithFilter("en"));
+
+        comboBox.setItemCaptionGenerator(Person::getLastName);
+
+        assertEquals(1, comboBoxSizeWithFilter("en"));
+    }
+
+    @Test
+    public void captionCache_parallelFiltering() {
+        comboBox.setItemCaptionCacheEnabled(true);
+        comboBox.setItemCaptionGenerator(Person::getFirstName);
+        List<Person> persons = IntStream.range(0, 20000)
+                .mapToObj(i -> new Person("Name " + i, "Last", null, 0,
+                        Sex.MALE, null))
+                .collect(Collectors.toList());
+        ListDataProvider<Person> provider = DataProvider
+                .ofCollection(persons);
+        provider.setParallelThreshold(1);
+        comboBox.setDataProvider(provider);
+
+        for (String filter : new String[] { "1", "12", "123", "1", "9",
+                "99" }) {
+            long expected = persons.stream()
+                    .filter(person -> person.getFirstName().contains(filter))
+                    .count();
+            assertEquals("Wrong size for filter " + filter, expected,
+                    comboBoxSizeWithFilter(filter));
+        }
+    }
+
     private void checkFiltering(String filterText, String nonMatchingFilterText,
             int totalMatches, int matchingResults) {
         assertEquals("ComboBox filtered out results with no filter applied",
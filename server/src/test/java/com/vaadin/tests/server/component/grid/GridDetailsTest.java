@@ -1,5 +1,6 @@
 package com.vaadin.tests.server.component.grid;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -12,10 +13,16 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.data.provider.DataCommunicator;
+import com.vaadin.server.ServerRpcManager;
+import com.vaadin.shared.data.DataRequestRpc;
 import com.vaadin.ui.Component;
 import com.vaadin.ui.Grid;
 import com.vaadin.ui.Label;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
 public class GridDetailsTest {
 
     private final class DummyLabel extends Label {
@@ -84,4 +91,58 @@ public class GridDetailsTest {
         assertFalse("Component iterator should not have components.",
                 grid.iterator().hasNext());
     }
+
+    @Test
+    public void detailsComponentReusedWhenRowShownAgain() {
+        List<String> generated = new ArrayList<>();
+        grid.setDetailsGenerator(s -> {
+            generated.add(s);
+            return new DummyLabel(s);
+        });
+        grid.runDataGeneration();
+        assertEquals(Arrays.asList("Foo", "Bar"), generated);
+
+        dropAndShowAgain("Foo");
+        assertEquals("Cached details component should be reused",
+                Arrays.asList("Foo", "Bar"), generated);
+
+        grid.setDetailsCacheSize(0);
+        dropAndShowAgain("Foo");
+        assertEquals("Details component should be generated again",
+                Arrays.asList("Foo", "Bar", "Foo"), generated);
+    }
+
+    @Test
+    public void detailsComponentKeptWhenItemRefreshed() {
+        List<String> generated = new ArrayList<>();
+        grid.setDetailsGenerator(s -> {
+            generated.add(s);
+            return new DummyLabel(s);
+        });
+        grid.runDataGeneration();
+        assertEquals(50, grid.getDetailsCacheSize());
+
+        grid.getDataProvider().refreshItem("Foo");
+        grid.getDataCommunicator().beforeClientResponse(false);
+
+        assertEquals("Details component should not be generated again",
+                Arrays.asList("Foo", "Bar"), generated);
+    }
+
+    private void dropAndShowAgain(String item) {
+        DataCommunicator<String> communicator = grid.getDataCommunicator();
+        DataRequestRpc rpc = ServerRpcManager.getRpcProxy(communicator,
+                DataRequestRpc.class);
+        JsonArray keys = Json.createArray();
+        keys.set(0, communicator.getKeyMapper().key(item));
+        rpc.dropRows(keys);
+
+        // Dropped rows are cleaned up when other rows are pushed
+        int index = data.indexOf(item);
+        rpc.requestRows(1 - index, 1, 0, 0);
+        communicator.beforeClientResponse(false);
+
+        rpc.requestRows(index, 1, 0, 0);
+        communicator.beforeClientResponse(false);
+    }
 }
@@ -44,8 +44,10 @@ import com.vaadin.data.provider.bov.Person;
 import com.vaadin.event.selection.SelectionEvent;
 import com.vaadin.server.SerializableComparator;
 import com.vaadin.shared.data.sort.SortDirection;
+import com.vaadin.shared.ui.grid.GridServerRpc;
 import com.vaadin.shared.ui.grid.HeightMode;
 import com.vaadin.tests.util.MockUI;
+import com.vaadin.ui.ComponentTest;
 import com.vaadin.ui.Grid;
 import com.vaadin.ui.Grid.Column;
 import com.vaadin.ui.Grid.SelectionMode;
@@ -732,4 +734,46 @@ public class GridTest {
         Column<Person, ?> column1 = grid1.addColumn(ValueProvider.identity());
         grid2.removeColumn(column1);
     }
+
+    private static class ViewportGrid extends Grid<String> {
+        private String getColumnInternalId(Column<String, ?> column) {
+            return getInternalIdForColumn(column);
+        }
+    }
+
+    @Test
+    public void columnVirtualization_onlyViewportColumnsGenerated() {
+        ViewportGrid grid = new ViewportGrid();
+        AtomicInteger firstCalls = new AtomicInteger();
+        AtomicInteger secondCalls = new AtomicInteger();
+        Column<String, String> first = grid.addColumn(item -> {
+            firstCalls.incrementAndGet();
+            return item;
+        });
+        Column<String, String> second = grid.addColumn(item -> {
+            secondCalls.incrementAndGet();
+            return item;
+        });
+        grid.setItems("a", "b", "c");
+        grid.setColumnVirtualizationEnabled(true);
+        new MockUI().setContent(grid);
+
+        GridServerRpc rpc = ComponentTest.getRpcProxy(grid,
+                GridServerRpc.class);
+        rpc.columnViewportChanged(
+                Collections.singletonList(grid.getColumnInternalId(first)));
+        grid.getDataCommunicator().beforeClientResponse(true);
+        assertEquals(3, firstCalls.get());
+        assertEquals("Column outside the viewport should not be generated", 0,
+                secondCalls.get());
+
+        rpc.columnViewportChanged(
+                Arrays.asList(grid.getColumnInternalId(first),
+                        grid.getColumnInternalId(second)));
+        grid.getDataCommunicator().beforeClientResponse(false);
+        assertEquals("Active rows should be resent with the new column", 3,
+                secondCalls.get());
+        assertEquals("Columns already sent should not be generated again", 3,
+                firstCalls.get());
+    }
 }
@@ -28,4 +28,11 @@ public final class DataCommunicatorConstants implements Serializable {
     public static final String SELECTED = "s";
     public static final String NAME = "n";
     public static final String DATA = "d";
+    /**
+     * Marks an updated row that only contains some of its data, which should
+     * be merged into the data the client already has for the row.
+     *
+     * @since 8.3
+     */
+    public static final String PARTIAL = "p";
 }
@@ -97,4 +97,15 @@ public interface GridServerRpc extends ServerRpc {
      *            the new width of the column in pixels
      */
     void columnResized(String columnInternalId, double pixels);
+
+    /**
+     * Informs the server about the columns that are currently in or near the
+     * horizontal viewport. Only used when column virtualization is enabled.
+     *
+     * @since 8.3
+     * @param columnInternalIds
+     *            the internal ids of the columns whose cell data the client
+     *            needs
+     */
+    void columnViewportChanged(List<String> columnInternalIds);
 }
@@ -181,4 +181,12 @@ public class GridState extends AbstractSingleSelectState {
      * @since 8.2
      */
     public ContentMode rowDescriptionContentMode;
+
+    /**
+     * Whether cell data is only sent for the columns in or near the horizontal
+     * viewport.
+     *
+     * @since 8.3
+     */
+    public boolean columnVirtualization = false;
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2016 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.tests.performance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.servlet.annotation.WebServlet;
+
+import com.vaadin.annotations.VaadinServletConfiguration;
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.server.VaadinServlet;
+import com.vaadin.ui.Button;
+import com.vaadin.ui.CheckBox;
+import com.vaadin.ui.ComboBox;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.DateField;
+import com.vaadin.ui.HorizontalLayout;
+import com.vaadin.ui.Label;
+import com.vaadin.ui.TextField;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.VerticalLayout;
+
+import jdk.nashorn.internal.ir.debug.ObjectSizeCalculator;
+
+/**
+ * Shows the memory used per component when a large number of idle components
+ * of the same type are created, like in big forms.
+ *
+ * @author Vaadin Ltd
+ */
+public class ComponentsMemory extends UI {
+
+    public static final String PATH = "/components-memory/";
+
+    public static final int COMPONENTS = 5000;
+
+    /**
+     * The component types to measure, by the value of the {@code component}
+     * parameter.
+     */
+    public static final Map<String, Supplier<Component>> COMPONENT_TYPES = new LinkedHashMap<>();
+
+    static {
+        COMPONENT_TYPES.put("label", () -> new Label("Label"));
+        COMPONENT_TYPES.put("text-field", () -> {
+            TextField field = new TextField("Text field");
+            field.addValueChangeListener(event -> {
+            });
+            return field;
+        });
+        COMPONENT_TYPES.put("check-box", () -> new CheckBox("Check box"));
+        COMPONENT_TYPES.put("date-field", () -> new DateField("Date field"));
+        COMPONENT_TYPES.put("combo-box",
+                () -> new ComboBox<String>("Combo box"));
+        COMPONENT_TYPES.put("button", () -> new Button("Button", event -> {
+        }));
+        COMPONENT_TYPES.put("horizontal-layout", HorizontalLayout::new);
+    }
+
+    /**
+     * The main servlet for the application.
+     */
+    @WebServlet(urlPatterns = PATH
+            + "*", name = "ComponentsServlet", asyncSupported = true)
+    @VaadinServletConfiguration(ui = ComponentsMemory.class, productionMode = false)
+    public static class Servlet extends VaadinServlet {
+    }
+
+    @SuppressWarnings("restriction")
+    @Override
+    protected void init(VaadinRequest request) {
+        String type = request.getParameter("component");
+        Supplier<Component> factory = COMPONENT_TYPES.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException(
+                    "Unknown component type: " + type);
+        }
+
+        VerticalLayout layout = new VerticalLayout();
+        layout.setId("components-memory");
+        setContent(layout);
+        layout.addComponent(new Label(type));
+
+        // The components are not attached, so only the memory used by the
+        // components themselves is measured
+        List<Component> components = new ArrayList<>(COMPONENTS);
+        for (int i = 0; i < COMPONENTS; i++) {
+            components.add(factory.get());
+        }
+        Label memoryLabel = new Label(String.valueOf(
+                ObjectSizeCalculator.getObjectSize(components) / COMPONENTS));
+        memoryLabel.setId("memory");
+        layout.addComponent(memoryLabel);
+
+        Button close = new Button("Close UI", event -> close());
+        close.setId("close");
+        layout.addComponent(close);
+    }
+}
@@ -58,6 +58,14 @@ public class MemoryIT extends SingleBrowserTest {
                 "tree-table-100thousand-items-");
     }
 
+    @Test
+    public void measureComponentsMemory() {
+        for (String type : ComponentsMemory.COMPONENT_TYPES.keySet()) {
+            performTest(ComponentsMemory.PATH + "?component=" + type,
+                    "components-memory-" + type + "-");
+        }
+    }
+
     @Override
     protected void closeApplication() {
     }
@@ -115,7 +123,8 @@ public class MemoryIT extends SingleBrowserTest {
         getDriver().get(StringUtils.strip(getBaseURL(), "/") + path);
         assertTrue(isElementPresent(By.className("v-grid"))
                 || isElementPresent(By.className("v-treegrid"))
-                || isElementPresent(By.className("v-table")));
+                || isElementPresent(By.className("v-table"))
+                || isElementPresent(By.id("components-memory")));
     }
 
     private void close() {